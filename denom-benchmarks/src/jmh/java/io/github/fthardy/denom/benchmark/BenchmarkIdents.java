@@ -0,0 +1,118 @@
+package io.github.fthardy.denom.benchmark;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The domain identifier types and the test data generators shared by the benchmarks.
+ */
+final class BenchmarkIdents {
+
+    private static final String SAFE_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-._~";
+    private static final String ESCAPED_CHARS = " %(),/#?äöü€";
+
+    private BenchmarkIdents() {}
+
+    /** An atomic identifier with a string identity value. */
+    static final class ValueIdent extends AtomicIdent<String> {
+        ValueIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class ValueIdentConverter implements AtomicIdentCanonicalConverter<ValueIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<ValueIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(ValueIdent.class, "value");
+        }
+
+        @Override
+        public ValueIdent fromCanonical(String canonical) {
+            return new ValueIdent(canonical);
+        }
+    }
+
+    /** A composite identifier with an arbitrary number of components which also allows to nest itself. */
+    static final class NodeIdent extends CompositeIdent {
+        NodeIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class NodeIdentFactory implements CompositeIdentFactory<NodeIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<NodeIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(NodeIdent.class, "node");
+        }
+
+        @Override
+        public NodeIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new NodeIdent(first, second, further);
+        }
+    }
+
+    /**
+     * @return a new registry containing the supports for the benchmark identifier types.
+     */
+    static DomainIdentCanonicalConverterSupportRegistry newRegistry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(new ValueIdentConverter());
+        registry.addSupport(new NodeIdentFactory());
+        return registry;
+    }
+
+    /**
+     * Creates a random identity value.
+     *
+     * @param random the random source.
+     * @param length the length of the value in characters.
+     * @param escapeShare the share (0.0 - 1.0) of characters which need to be percent-encoded.
+     *
+     * @return the new value.
+     */
+    static String randomValue(SplittableRandom random, int length, double escapeShare) {
+        StringBuilder value = new StringBuilder(length);
+        while (value.length() < length) {
+            String chars = random.nextDouble() < escapeShare ? ESCAPED_CHARS : SAFE_CHARS;
+            value.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return value.toString();
+    }
+
+    /**
+     * Creates a domain identifier tree. All leaves are distinct, so each composite is valid.
+     *
+     * @param random the random source.
+     * @param depth the nesting depth; 0 creates a single atomic identifier.
+     * @param width the number of components of each composite (at least 2).
+     * @param length the length of the leaf identity values.
+     * @param escapeShare the share of leaf value characters which need to be percent-encoded.
+     *
+     * @return the root of the identifier tree.
+     */
+    static DomainIdent randomIdent(SplittableRandom random, int depth, int width, int length, double escapeShare) {
+        return randomIdent(random, depth, width, length, escapeShare, new int[1]);
+    }
+
+    private static DomainIdent randomIdent(SplittableRandom random, int depth, int width, int length, double escapeShare, int[] counter) {
+        if (depth == 0) {
+            String prefix = Integer.toString(counter[0]++) + '-';
+            return new ValueIdent(prefix + randomValue(random, Math.max(0, length - prefix.length()), escapeShare));
+        }
+        DomainIdent[] components = new DomainIdent[width];
+        for (int i = 0; i < width; i++) {
+            components[i] = randomIdent(random, depth - 1, width, length, escapeShare, counter);
+        }
+        return new NodeIdent(components[0], components[1], Arrays.copyOfRange(components, 2, width));
+    }
+}
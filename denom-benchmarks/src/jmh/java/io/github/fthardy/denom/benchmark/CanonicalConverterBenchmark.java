@@ -0,0 +1,56 @@
+package io.github.fthardy.denom.benchmark;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full canonicalization path of {@link DefaultDomainIdentCanonicalConverter} in both directions.
+ * <p>
+ * A nesting depth of 0 measures a single atomic identifier. Otherwise, each composite has {@code width} components and the leaves are atomic identifiers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalConverterBenchmark {
+
+    @Param({"16", "128"})
+    int valueLength;
+
+    @Param({"0.0", "0.1"})
+    double escapeShare;
+
+    @Param({"0", "1", "3"})
+    int depth;
+
+    @Param({"2", "4"})
+    int width;
+
+    private DefaultDomainIdentCanonicalConverter converter;
+    private DomainIdent domainIdent;
+    private String canonical;
+
+    @Setup
+    public void setUp() {
+        converter = new DefaultDomainIdentCanonicalConverter(BenchmarkIdents.newRegistry());
+        domainIdent = BenchmarkIdents.randomIdent(new SplittableRandom(42), depth, width, valueLength, escapeShare);
+        canonical = converter.toCanonical(domainIdent);
+    }
+
+    @Benchmark
+    public String toCanonical() {
+        return converter.toCanonical(domainIdent);
+    }
+
+    @Benchmark
+    public DomainIdent fromCanonical() {
+        return converter.fromCanonical(canonical);
+    }
+}
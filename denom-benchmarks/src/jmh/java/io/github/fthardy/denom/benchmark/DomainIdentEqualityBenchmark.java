@@ -0,0 +1,58 @@
+package io.github.fthardy.denom.benchmark;
+
+import io.github.fthardy.denom.DomainIdent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code equals} and {@code hashCode} of atomic and composite identifiers.
+ * <p>
+ * The compared identifiers are equal but distinct instances, so {@code equals} has to compare the complete identifier tree. A nesting depth of 0 measures
+ * atomic identifiers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainIdentEqualityBenchmark {
+
+    @Param({"16", "128"})
+    int valueLength;
+
+    @Param({"0", "1", "3"})
+    int depth;
+
+    @Param({"2", "4"})
+    int width;
+
+    private DomainIdent domainIdent;
+    private DomainIdent equalIdent;
+    private DomainIdent otherIdent;
+
+    @Setup
+    public void setUp() {
+        domainIdent = BenchmarkIdents.randomIdent(new SplittableRandom(42), depth, width, valueLength, 0.0);
+        equalIdent = BenchmarkIdents.randomIdent(new SplittableRandom(42), depth, width, valueLength, 0.0);
+        otherIdent = BenchmarkIdents.randomIdent(new SplittableRandom(4711), depth, width, valueLength, 0.0);
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return domainIdent.equals(equalIdent);
+    }
+
+    @Benchmark
+    public boolean equalsNotEqual() {
+        return domainIdent.equals(otherIdent);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return domainIdent.hashCode();
+    }
+}
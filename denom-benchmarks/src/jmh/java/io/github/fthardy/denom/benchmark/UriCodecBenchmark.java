@@ -0,0 +1,46 @@
+package io.github.fthardy.denom.benchmark;
+
+import io.github.fthardy.denom.convert.impl.UriCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the percent-encoding and -decoding of identity values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriCodecBenchmark {
+
+    private static final String NON_SAFE_CHARS = ",()";
+
+    @Param({"16", "128", "512"})
+    int valueLength;
+
+    @Param({"0.0", "0.1", "0.5"})
+    double escapeShare;
+
+    private String decoded;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        decoded = BenchmarkIdents.randomValue(new SplittableRandom(42), valueLength, escapeShare);
+        encoded = UriCodec.encodeUriConform(decoded, NON_SAFE_CHARS);
+    }
+
+    @Benchmark
+    public String encodeUriConform() {
+        return UriCodec.encodeUriConform(decoded, NON_SAFE_CHARS);
+    }
+
+    @Benchmark
+    public String decodeUriConform() {
+        return UriCodec.decodeUriConform(encoded);
+    }
+}
@@ -1,5 +1,6 @@
 plugins {
     id("java-library")
+    id("java-test-fixtures")
 }
 
 java {
@@ -21,6 +22,29 @@ dependencies {
     testImplementation("org.assertj:assertj-core:3.26.3")
 }
 
+// the scanners using the incubating Vector API, which is optional at runtime, are compiled in a source set of their own, so that only they need the
+// incubator module and the rest of the module compiles without its warnings
+val vector: SourceSet by sourceSets.creating
+
+sourceSets {
+    main {
+        compileClasspath += vector.output
+        runtimeClasspath += vector.output
+    }
+    test {
+        runtimeClasspath += vector.output
+    }
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
+tasks.jar {
+    from(vector.output)
+}
+
 tasks.test {
     useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
 }
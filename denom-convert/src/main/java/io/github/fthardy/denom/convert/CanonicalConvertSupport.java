@@ -0,0 +1,50 @@
+package io.github.fthardy.denom.convert;
+
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a concrete domain identifier type class for which the {@code denom-processor} annotation processor generates the registration of a convert support.
+ * <p>
+ * The processor validates the type alias name, the finality of the class and the uniqueness of the type alias names and alias IDs at compile time and
+ * generates a class which adds the supports of all marked type classes to a pre-sized registry, without any classpath scanning at runtime.
+ * </p>
+ * <p>
+ * Without an explicit {@link #support()}, the processor derives the support from the type class:
+ * </p>
+ * <ul>
+ *     <li>for an atomic identifier with a {@code Long}, {@code Integer}, {@code UUID}, {@code String}, {@code BigInteger} or {@code LocalDate} identity
+ *     value, the corresponding standard converter of the {@code convert.atomic} package is used with a constructor of the type class which takes the
+ *     identity value,</li>
+ *     <li>for a composite identifier, a factory is generated which calls the only constructor of the type class whose parameters are all domain identifier
+ *     types.</li>
+ * </ul>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CanonicalConvertSupport {
+
+    /**
+     * @return the type alias name of the type class. When an explicit {@link #support()} is given, it must be the alias of its binding.
+     */
+    String alias();
+
+    /**
+     * @return the alias ID of the type class or {@link DomainIdentConvertSupportSnapshot#NO_ALIAS_ID} when none is assigned.
+     */
+    int aliasId() default DomainIdentConvertSupportSnapshot.NO_ALIAS_ID;
+
+    /**
+     * @return the support class for the type class. It must have a public no-argument constructor. The default {@code DomainIdentConvertSupport.class}
+     * means that the support is derived from the type class.
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends DomainIdentConvertSupport> support() default DomainIdentConvertSupport.class;
+}
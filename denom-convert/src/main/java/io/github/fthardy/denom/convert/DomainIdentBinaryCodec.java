@@ -0,0 +1,82 @@
+package io.github.fthardy.denom.convert;
+
+import io.github.fthardy.denom.DomainIdent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a codec which can encode a domain identifier into a compact binary representation and decode it from this representation.
+ * <p>
+ * Unlike a canonical string representation, the binary representation is not human-readable. It is intended for storage keys and message payloads.
+ * </p>
+ */
+public interface DomainIdentBinaryCodec {
+
+    /**
+     * Encodes a domain identifier into its binary representation.
+     *
+     * @param domainIdent the domain identifier instance to be encoded.
+     *
+     * @return the bytes of the binary representation.
+     */
+    byte[] encode(DomainIdent domainIdent);
+
+    /**
+     * Encodes a domain identifier into its binary representation and writes it into a given byte buffer.
+     * <p>
+     * The bytes are written at the current position of the buffer which is advanced accordingly.
+     * </p>
+     *
+     * @param domainIdent the domain identifier instance to be encoded.
+     * @param target the buffer to write the binary representation into.
+     *
+     * @throws java.nio.BufferOverflowException when the remaining space of the buffer is too small. The position of the buffer is not modified in this case.
+     */
+    void encode(DomainIdent domainIdent, ByteBuffer target);
+
+    /**
+     * Decodes a domain identifier from its binary representation.
+     *
+     * @param bytes the bytes of the binary representation. All bytes must belong to the representation.
+     *
+     * @return a new domain identifier instance.
+     */
+    DomainIdent decode(byte[] bytes);
+
+    /**
+     * Decodes a domain identifier from a binary representation which starts at the current position of a given byte buffer.
+     * <p>
+     * On success, the position of the buffer is advanced to the first byte after the representation, so several representations can be read one after
+     * another from the same buffer.
+     * </p>
+     *
+     * @param source the buffer to read the binary representation from.
+     *
+     * @return a new domain identifier instance.
+     */
+    DomainIdent decode(ByteBuffer source);
+
+    /**
+     * Transcodes a binary representation into the canonical string representation of a given converter.
+     *
+     * @param bytes the bytes of the binary representation.
+     * @param converter the converter for the canonical string representation.
+     *
+     * @return the canonical string representation.
+     */
+    default String toCanonical(byte[] bytes, DomainIdentCanonicalConverter converter) {
+        return converter.toCanonical(decode(bytes));
+    }
+
+    /**
+     * Transcodes a canonical string representation of a given converter into the binary representation.
+     *
+     * @param canonical the canonical string representation.
+     * @param converter the converter for the canonical string representation.
+     *
+     * @return the bytes of the binary representation.
+     */
+    default byte[] fromCanonical(String canonical, DomainIdentCanonicalConverter converter) {
+        return encode(converter.fromCanonical(canonical));
+    }
+}
@@ -2,6 +2,13 @@ package io.github.fthardy.denom.convert;
 
 import io.github.fthardy.denom.DomainIdent;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Represents a converter which can convert a domain identifier to and from a canonical string representation.
  */
@@ -16,6 +23,58 @@ public interface DomainIdentCanonicalConverter {
      */
     DomainIdent fromCanonical(String canonical);
 
+    /**
+     * Converts a canonical string representation of a domain identifier, which is a range of a given character sequence, into the identifier model
+     * representation.
+     * <p>
+     * The default implementation creates a string from the range and calls {@link #fromCanonical(String)}.
+     * </p>
+     *
+     * @param canonical the character sequence containing the canonical.
+     * @param offset the index of the first character of the canonical.
+     * @param length the number of characters of the canonical.
+     *
+     * @return a new domain identifier instance.
+     */
+    default DomainIdent fromCanonical(CharSequence canonical, int offset, int length) {
+        return fromCanonical(canonical.subSequence(offset, offset + length).toString());
+    }
+
+    /**
+     * Converts the UTF-8 bytes of a canonical string representation of a domain identifier into the identifier model representation.
+     * <p>
+     * The default implementation decodes the bytes into a string and calls {@link #fromCanonical(String)}.
+     * </p>
+     *
+     * @param bytes the byte array containing the canonical.
+     * @param offset the index of the first byte of the canonical.
+     * @param length the number of bytes of the canonical.
+     *
+     * @return a new domain identifier instance.
+     */
+    default DomainIdent fromCanonical(byte[] bytes, int offset, int length) {
+        return fromCanonical(new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts the UTF-8 bytes of a canonical string representation of a domain identifier into the identifier model representation.
+     * <p>
+     * The canonical is read from the position up to the limit of the given buffer. On success, the position of the buffer is set to its limit.
+     * </p>
+     * <p>
+     * The default implementation decodes the bytes into a string and calls {@link #fromCanonical(String)}.
+     * </p>
+     *
+     * @param buffer the byte buffer containing the canonical.
+     *
+     * @return a new domain identifier instance.
+     */
+    default DomainIdent fromCanonical(ByteBuffer buffer) {
+        DomainIdent domainIdent = fromCanonical(StandardCharsets.UTF_8.decode(buffer.duplicate()).toString());
+        buffer.position(buffer.limit());
+        return domainIdent;
+    }
+
     /**
      * Converts a domain identifier instance into a canonical string representation.
      *
@@ -24,4 +83,90 @@ public interface DomainIdentCanonicalConverter {
      * @return the canonical string representation of the given domain identifier.
      */
     String toCanonical(DomainIdent domainIdent);
+
+    /**
+     * Appends the canonical string representation of a domain identifier to a given appendable.
+     * <p>
+     * The default implementation appends the result of {@link #toCanonical(DomainIdent)}. Implementations should override this to write directly into the
+     * given appendable.
+     * </p>
+     *
+     * @param domainIdent the domain identifier instance to be converted.
+     * @param appendable the target to append the canonical string representation to.
+     *
+     * @throws IOException when appending to the given appendable fails.
+     */
+    default void appendCanonical(DomainIdent domainIdent, Appendable appendable) throws IOException {
+        appendable.append(toCanonical(domainIdent));
+    }
+
+    /**
+     * Appends the canonical string representation of a domain identifier to a given string builder.
+     * <p>
+     * The default implementation appends the result of {@link #toCanonical(DomainIdent)}. Implementations should override this to write directly into the
+     * given builder.
+     * </p>
+     *
+     * @param domainIdent the domain identifier instance to be converted.
+     * @param builder the target to append the canonical string representation to.
+     */
+    default void appendCanonical(DomainIdent domainIdent, StringBuilder builder) {
+        builder.append(toCanonical(domainIdent));
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the canonical string representation of a domain identifier into a given byte buffer.
+     * <p>
+     * The bytes are written at the current position of the buffer which is advanced accordingly.
+     * </p>
+     * <p>
+     * The default implementation encodes the result of {@link #toCanonical(DomainIdent)}.
+     * </p>
+     *
+     * @param domainIdent the domain identifier instance to be converted.
+     * @param target the buffer to write the canonical into.
+     *
+     * @throws java.nio.BufferOverflowException when the remaining space of the buffer is too small. The position of the buffer is not modified in this case.
+     */
+    default void writeCanonical(DomainIdent domainIdent, ByteBuffer target) {
+        target.put(toCanonical(domainIdent).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts a batch of domain identifier instances into their canonical string representations.
+     * <p>
+     * The default implementation calls {@link #toCanonical(DomainIdent)} for each identifier. Implementations may override this to convert large batches in
+     * parallel.
+     * </p>
+     *
+     * @param domainIdents the domain identifier instances to be converted.
+     *
+     * @return the canonical string representations in the iteration order of the given collection. The list is not necessarily modifiable.
+     */
+    default List<String> toCanonicalAll(Collection<? extends DomainIdent> domainIdents) {
+        List<String> canonicals = new ArrayList<>(domainIdents.size());
+        for (DomainIdent domainIdent : domainIdents) {
+            canonicals.add(toCanonical(domainIdent));
+        }
+        return canonicals;
+    }
+
+    /**
+     * Converts a batch of canonical string representations into domain identifier instances.
+     * <p>
+     * The default implementation calls {@link #fromCanonical(CharSequence, int, int)} for each canonical. Implementations may override this to convert
+     * large batches in parallel.
+     * </p>
+     *
+     * @param canonicals the canonical string representations to be converted.
+     *
+     * @return the domain identifier instances in the order of the given list. The list is not necessarily modifiable.
+     */
+    default List<DomainIdent> fromCanonicalAll(List<? extends CharSequence> canonicals) {
+        List<DomainIdent> domainIdents = new ArrayList<>(canonicals.size());
+        for (CharSequence canonical : canonicals) {
+            domainIdents.add(fromCanonical(canonical, 0, canonical.length()));
+        }
+        return domainIdents;
+    }
 }
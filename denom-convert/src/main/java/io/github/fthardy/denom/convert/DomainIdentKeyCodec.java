@@ -0,0 +1,67 @@
+package io.github.fthardy.denom.convert;
+
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+
+import java.util.Arrays;
+
+/**
+ * Represents a codec which encodes domain identifiers into order-preserving keys.
+ * <p>
+ * The unsigned lexicographic order of the encoded keys reflects the logical order of the identifiers, so the keys can be stored in sorted key-value stores
+ * and compared without decoding them. The key of a composite identifier is made of the keys of its components in their order, so all composite identifiers
+ * of a type class with the same leading components share a key prefix which can be used for range scans.
+ * </p>
+ */
+public interface DomainIdentKeyCodec {
+
+    /**
+     * Encodes a domain identifier into its key.
+     *
+     * @param domainIdent the domain identifier instance to be encoded.
+     *
+     * @return the bytes of the key.
+     */
+    byte[] encode(DomainIdent domainIdent);
+
+    /**
+     * Encodes the prefix of the keys of all composite identifiers of a type class which start with the given components.
+     * <p>
+     * Without any component, the prefix covers all composite identifiers of the type class.
+     * </p>
+     *
+     * @param compositeIdentClass the composite identifier type class.
+     * @param leadingComponents the leading components of the composite identifiers.
+     *
+     * @return the bytes of the key prefix.
+     */
+    byte[] encodePrefix(Class<? extends CompositeIdent> compositeIdentClass, DomainIdent... leadingComponents);
+
+    /**
+     * Decodes a domain identifier from its key.
+     *
+     * @param key the bytes of the key. All bytes must belong to the key.
+     *
+     * @return a new domain identifier instance.
+     */
+    DomainIdent decode(byte[] key);
+
+    /**
+     * Determines the exclusive upper bound of a range scan over all keys which start with a given prefix.
+     *
+     * @param prefix the bytes of a key prefix.
+     *
+     * @return the smallest byte sequence which is greater than all keys which start with the prefix or {@code null} when there is no such sequence because the
+     * prefix consists of {@code 0xFF} bytes only.
+     */
+    static byte[] upperBoundOf(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+                upperBound[i]++;
+                return upperBound;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+/**
+ * The base class of the standard atomic identifier converters.
+ * <p>
+ * A subclass only implements the range based {@link #fromCanonical(CharSequence, int, int)} and the buffer based
+ * {@link #appendCanonical(AtomicIdent, StringBuilder)}. The string based methods are derived from them.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public abstract class AbstractAtomicIdentCanonicalConverter<T extends AtomicIdent<?>> implements AtomicIdentCanonicalConverter<T> {
+
+    private final IdentTypeClass2AliasBinding<T> binding;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     */
+    protected AbstractAtomicIdentCanonicalConverter(Class<T> identClass, String typeAlias) {
+        this.binding = new IdentTypeClass2AliasBinding<>(identClass, typeAlias);
+    }
+
+    @Override
+    public IdentTypeClass2AliasBinding<T> typeClass2AliasBinding() {
+        return binding;
+    }
+
+    @Override
+    public String toCanonical(AtomicIdent<?> atomicIdent) {
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(atomicIdent, canonical);
+        return canonical.toString();
+    }
+
+    @Override
+    public T fromCanonical(String canonical) {
+        return fromCanonical(canonical, 0, canonical.length());
+    }
+
+    @Override
+    public abstract void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target);
+
+    @Override
+    public abstract T fromCanonical(CharSequence canonical, int offset, int length);
+
+    @Override
+    public String toString() {
+        return "%s[%s]".formatted(getClass().getSimpleName(), binding);
+    }
+
+    /**
+     * Checks that a range of a canonical is an integer in its only canonical decimal form: an optional minus sign followed by ASCII digits without leading
+     * zeros, where zero has no sign. The range is not checked for overflow.
+     *
+     * @param canonical the character sequence containing the canonical.
+     * @param offset the index of the first character of the canonical.
+     * @param length the number of characters of the canonical.
+     *
+     * @throws NumberFormatException when the range is no integer in canonical decimal form.
+     */
+    static void checkCanonicalInteger(CharSequence canonical, int offset, int length) {
+        final int end = offset + length;
+        final int digitsBegin = length > 0 && canonical.charAt(offset) == '-' ? offset + 1 : offset;
+        boolean valid = digitsBegin < end && (canonical.charAt(digitsBegin) != '0' || end - offset == 1);
+        for (int i = digitsBegin; valid && i < end; i++) {
+            final char c = canonical.charAt(i);
+            valid = c >= '0' && c <= '9';
+        }
+        if (!valid) {
+            throw new NumberFormatException(Messages.noCanonicalInteger(canonical.subSequence(offset, end)));
+        }
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String noCanonicalInteger(CharSequence value) {
+            return "'%s' is no integer in canonical decimal form without sign, leading zeros or non-ASCII digits!".formatted(value);
+        }
+    }
+}
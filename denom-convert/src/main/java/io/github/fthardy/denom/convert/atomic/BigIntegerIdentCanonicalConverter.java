@@ -0,0 +1,64 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+
+import java.math.BigInteger;
+import java.util.function.Function;
+
+/**
+ * A converter for atomic identifiers with a {@link BigInteger} identity value.
+ * <p>
+ * Values which fit into a {@code long} are parsed and written like {@code long} values without an intermediate string. Larger values take the way via their
+ * decimal string. Like {@link LongIdentCanonicalConverter}, only the decimal form which is written is parsed.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class BigIntegerIdentCanonicalConverter<T extends AtomicIdent<BigInteger>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private static final int MAX_LONG_SAFE_LENGTH = 18; // any sign and 17 digits or 18 digits always fit into a long
+
+    private final Function<BigInteger, T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from an identity value.
+     */
+    public BigIntegerIdentCanonicalConverter(Class<T> identClass, String typeAlias, Function<BigInteger, T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        BigInteger value = (BigInteger) atomicIdent.getIdentityValue();
+        if (value.bitLength() < Long.SIZE) {
+            target.append(value.longValue());
+        } else {
+            target.append(value);
+        }
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        checkCanonicalInteger(canonical, offset, length);
+        if (length <= MAX_LONG_SAFE_LENGTH) {
+            return fromBigInteger(BigInteger.valueOf(Long.parseLong(canonical, offset, offset + length, 10)));
+        }
+        return fromBigInteger(new BigInteger(canonical.subSequence(offset, offset + length).toString()));
+    }
+
+    /**
+     * Creates an atomic identifier instance from an identity value.
+     *
+     * @param identityValue the identity value.
+     *
+     * @return the atomic identifier instance.
+     */
+    public T fromBigInteger(BigInteger identityValue) {
+        return factory.apply(identityValue);
+    }
+}
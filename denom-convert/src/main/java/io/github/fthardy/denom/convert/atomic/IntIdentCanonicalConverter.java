@@ -0,0 +1,54 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.IntIdent;
+
+import java.util.function.IntFunction;
+
+/**
+ * A converter for atomic identifiers with an {@code int} identity value.
+ * <p>
+ * Works like {@link LongIdentCanonicalConverter}; identifiers which extend {@link IntIdent} are converted without boxing.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class IntIdentCanonicalConverter<T extends AtomicIdent<Integer>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private final IntFunction<T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from an identity value.
+     */
+    public IntIdentCanonicalConverter(Class<T> identClass, String typeAlias, IntFunction<T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        int value = atomicIdent instanceof IntIdent intIdent ? intIdent.intValue() : (Integer) atomicIdent.getIdentityValue();
+        target.append(value);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        checkCanonicalInteger(canonical, offset, length);
+        return fromInt(Integer.parseInt(canonical, offset, offset + length, 10));
+    }
+
+    /**
+     * Creates an atomic identifier instance from a raw identity value.
+     *
+     * @param identityValue the identity value.
+     *
+     * @return the atomic identifier instance.
+     */
+    public T fromInt(int identityValue) {
+        return factory.apply(identityValue);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * A converter for atomic identifiers with a {@link LocalDate} identity value.
+ * <p>
+ * The canonical representation is the ISO-8601 format {@code yyyy-MM-dd}, as produced by {@link LocalDate#toString()}. Dates with a four-digit year are
+ * parsed from the canonical range and written to the target digit by digit. Any other representation is delegated to {@link LocalDate#parse(CharSequence)}.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class LocalDateIdentCanonicalConverter<T extends AtomicIdent<LocalDate>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private static final int ISO_DATE_LENGTH = 10;
+
+    private final Function<LocalDate, T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from an identity value.
+     */
+    public LocalDateIdentCanonicalConverter(Class<T> identClass, String typeAlias, Function<LocalDate, T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        LocalDate date = (LocalDate) atomicIdent.getIdentityValue();
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            target.append(date);
+            return;
+        }
+        appendDigits(target, year, 4);
+        appendDigits(target.append('-'), date.getMonthValue(), 2);
+        appendDigits(target.append('-'), date.getDayOfMonth(), 2);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        if (length == ISO_DATE_LENGTH && canonical.charAt(offset + 4) == '-' && canonical.charAt(offset + 7) == '-') {
+            int year = parseDigits(canonical, offset, 4);
+            int month = parseDigits(canonical, offset + 5, 2);
+            int day = parseDigits(canonical, offset + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return fromLocalDate(LocalDate.of(year, month, day));
+            }
+        }
+        return fromLocalDate(LocalDate.parse(canonical.subSequence(offset, offset + length)));
+    }
+
+    /**
+     * Creates an atomic identifier instance from an identity value.
+     *
+     * @param identityValue the identity value.
+     *
+     * @return the atomic identifier instance.
+     */
+    public T fromLocalDate(LocalDate identityValue) {
+        return factory.apply(identityValue);
+    }
+
+    private static void appendDigits(StringBuilder target, int value, int digits) {
+        for (int divisor = digits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            target.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    /** @return the parsed value or -1 when the range contains a character which is not an ASCII digit. */
+    private static int parseDigits(CharSequence sequence, int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            char c = sequence.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
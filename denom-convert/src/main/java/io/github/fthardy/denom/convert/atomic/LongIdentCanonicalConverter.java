@@ -0,0 +1,59 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.LongIdent;
+
+import java.util.function.LongFunction;
+
+/**
+ * A converter for atomic identifiers with a {@code long} identity value.
+ * <p>
+ * The value is parsed from the canonical range and its decimal digits are appended to the target without an intermediate string. Identifiers which extend
+ * {@link LongIdent} are converted without boxing.
+ * </p>
+ * <p>
+ * Only the decimal form which is written is parsed, i.e. a plus sign, leading zeros, {@code -0} and non-ASCII digits are rejected. So each identifier has
+ * exactly one canonical.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class LongIdentCanonicalConverter<T extends AtomicIdent<Long>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private final LongFunction<T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from an identity value.
+     */
+    public LongIdentCanonicalConverter(Class<T> identClass, String typeAlias, LongFunction<T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        long value = atomicIdent instanceof LongIdent longIdent ? longIdent.longValue() : (Long) atomicIdent.getIdentityValue();
+        target.append(value);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        checkCanonicalInteger(canonical, offset, length);
+        return fromLong(Long.parseLong(canonical, offset, offset + length, 10));
+    }
+
+    /**
+     * Creates an atomic identifier instance from a raw identity value.
+     *
+     * @param identityValue the identity value.
+     *
+     * @return the atomic identifier instance.
+     */
+    public T fromLong(long identityValue) {
+        return factory.apply(identityValue);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+
+import java.util.function.Function;
+
+/**
+ * A converter for atomic identifiers with a string identity value.
+ * <p>
+ * The value is taken as is. Parsing from a range creates exactly one string, the identity value itself.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class StringIdentCanonicalConverter<T extends AtomicIdent<String>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private final Function<String, T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from an identity value.
+     */
+    public StringIdentCanonicalConverter(Class<T> identClass, String typeAlias, Function<String, T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public String toCanonical(AtomicIdent<?> atomicIdent) {
+        return (String) atomicIdent.getIdentityValue();
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        target.append((String) atomicIdent.getIdentityValue());
+    }
+
+    @Override
+    public T fromCanonical(String canonical) {
+        return factory.apply(canonical);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        return factory.apply(canonical.subSequence(offset, offset + length).toString());
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.UuidIdent;
+
+import java.util.UUID;
+
+/**
+ * A converter for atomic identifiers with a {@link UUID} identity value.
+ * <p>
+ * The canonical representation is the 36 characters long standard representation of a UUID with lower case hex digits. Parsing requires exactly this format
+ * and rejects upper case hex digits, so that each identifier has exactly one canonical. The hex digits are parsed from the canonical range and written to
+ * the target directly. Identifiers which extend
+ * {@link UuidIdent} are converted without creating a {@code UUID} instance.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class UuidIdentCanonicalConverter<T extends AtomicIdent<UUID>> extends AbstractAtomicIdentCanonicalConverter<T> {
+
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final UuidIdentFactory<T> factory;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param factory the function to create an identifier instance from the bits of an identity value.
+     */
+    public UuidIdentCanonicalConverter(Class<T> identClass, String typeAlias, UuidIdentFactory<T> factory) {
+        super(identClass, typeAlias);
+        this.factory = factory;
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        long mostSignificantBits;
+        long leastSignificantBits;
+        if (atomicIdent instanceof UuidIdent uuidIdent) {
+            mostSignificantBits = uuidIdent.getMostSignificantBits();
+            leastSignificantBits = uuidIdent.getLeastSignificantBits();
+        } else {
+            UUID uuid = (UUID) atomicIdent.getIdentityValue();
+            mostSignificantBits = uuid.getMostSignificantBits();
+            leastSignificantBits = uuid.getLeastSignificantBits();
+        }
+        appendHex(target, mostSignificantBits >>> 32, 8);
+        appendHex(target.append('-'), mostSignificantBits >>> 16, 4);
+        appendHex(target.append('-'), mostSignificantBits, 4);
+        appendHex(target.append('-'), leastSignificantBits >>> 48, 4);
+        appendHex(target.append('-'), leastSignificantBits, 12);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        if (length != UUID_LENGTH || canonical.charAt(offset + 8) != '-' || canonical.charAt(offset + 13) != '-' || canonical.charAt(offset + 18) != '-'
+                || canonical.charAt(offset + 23) != '-') {
+            throw new IllegalArgumentException(Messages.invalidUuid(canonical.subSequence(offset, offset + length)));
+        }
+        final long timeLow = parseHex(canonical, offset, offset + 8);
+        final long timeMid = parseHex(canonical, offset + 9, offset + 13);
+        final long timeHigh = parseHex(canonical, offset + 14, offset + 18);
+        final long clockSequence = parseHex(canonical, offset + 19, offset + 23);
+        final long node = parseHex(canonical, offset + 24, offset + 36);
+        if ((timeLow | timeMid | timeHigh | clockSequence | node) < 0) {
+            throw new IllegalArgumentException(Messages.invalidUuid(canonical.subSequence(offset, offset + length)));
+        }
+        return fromBits(timeLow << 32 | timeMid << 16 | timeHigh, clockSequence << 48 | node);
+    }
+
+    /**
+     * Creates an atomic identifier instance from the bits of a UUID.
+     *
+     * @param mostSignificantBits the most significant 64 bits of the UUID.
+     * @param leastSignificantBits the least significant 64 bits of the UUID.
+     *
+     * @return the atomic identifier instance.
+     */
+    public T fromBits(long mostSignificantBits, long leastSignificantBits) {
+        return factory.create(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * @return the value of a range of lower case hex digits of at most 48 bits or -1 when the range contains any other character.
+     */
+    private static long parseHex(CharSequence canonical, int begin, int end) {
+        long value = 0;
+        for (int i = begin; i < end; i++) {
+            final char c = canonical.charAt(i);
+            final int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static void appendHex(StringBuilder target, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            target.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * A function which creates an atomic identifier from the bits of a UUID.
+     *
+     * @param <T> a concrete atomic identifier type class.
+     */
+    @FunctionalInterface
+    public interface UuidIdentFactory<T extends AtomicIdent<UUID>> {
+
+        /**
+         * Creates an atomic identifier.
+         *
+         * @param mostSignificantBits the most significant 64 bits of the UUID.
+         * @param leastSignificantBits the least significant 64 bits of the UUID.
+         *
+         * @return the new atomic identifier instance.
+         */
+        T create(long mostSignificantBits, long leastSignificantBits);
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidUuid(CharSequence canonical) {
+            return "Invalid UUID representation: '%s'".formatted(canonical);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.fthardy.denom.convert.derive;
+
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * The base class of the factories derived by {@link DerivedConvertSupports#compositeIdentFactory}.
+ * <p>
+ * There is a subclass for each supported constructor arity, which calls a lambda bound to the constructor without creating an array of the components. The
+ * nested functional interfaces are public because they are implemented by the lambda classes in the package of the lookup class.
+ * </p>
+ *
+ * @param <T> a concrete composite identifier type class.
+ */
+abstract sealed class DerivedCompositeIdentFactory<T extends CompositeIdent> implements CompositeIdentFactory<T> {
+
+    private final IdentTypeClass2AliasBinding<T> binding;
+    private final int componentCount;
+
+    DerivedCompositeIdentFactory(Class<T> identClass, String typeAlias, int componentCount) {
+        this.binding = new IdentTypeClass2AliasBinding<>(identClass, typeAlias);
+        this.componentCount = componentCount;
+    }
+
+    @Override
+    public IdentTypeClass2AliasBinding<T> typeClass2AliasBinding() {
+        return binding;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + binding.typeAlias() + ']';
+    }
+
+    final void checkComponentCount(DomainIdent[] further) {
+        if (further.length + 2 != componentCount) {
+            throw new IllegalArgumentException(Messages.componentCountMismatch(binding.identClass(), componentCount, further.length + 2));
+        }
+    }
+
+    static final class Arity2<T extends CompositeIdent> extends DerivedCompositeIdentFactory<T> {
+
+        private final Constructor constructor;
+
+        Arity2(Class<T> identClass, String typeAlias, Constructor constructor) {
+            super(identClass, typeAlias, 2);
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            checkComponentCount(further);
+            return (T) constructor.create(first, second);
+        }
+
+        @FunctionalInterface
+        public interface Constructor {
+            CompositeIdent create(DomainIdent first, DomainIdent second);
+        }
+    }
+
+    static final class Arity3<T extends CompositeIdent> extends DerivedCompositeIdentFactory<T> {
+
+        private final Constructor constructor;
+
+        Arity3(Class<T> identClass, String typeAlias, Constructor constructor) {
+            super(identClass, typeAlias, 3);
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            checkComponentCount(further);
+            return (T) constructor.create(first, second, further[0]);
+        }
+
+        @FunctionalInterface
+        public interface Constructor {
+            CompositeIdent create(DomainIdent first, DomainIdent second, DomainIdent third);
+        }
+    }
+
+    static final class Arity4<T extends CompositeIdent> extends DerivedCompositeIdentFactory<T> {
+
+        private final Constructor constructor;
+
+        Arity4(Class<T> identClass, String typeAlias, Constructor constructor) {
+            super(identClass, typeAlias, 4);
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            checkComponentCount(further);
+            return (T) constructor.create(first, second, further[0], further[1]);
+        }
+
+        @FunctionalInterface
+        public interface Constructor {
+            CompositeIdent create(DomainIdent first, DomainIdent second, DomainIdent third, DomainIdent fourth);
+        }
+    }
+
+    /**
+     * Calls a constructor with more than four parameters through a spreading method handle, because there is no functional interface for such an arity.
+     * <p>
+     * This is slower than the lambdas of the other arities: the components are copied into an array for each call, and as the method handle is held in an
+     * instance field, the JIT compiler can't treat it as a constant and inline the constructor through it. The {@link LambdaMetafactory} can't bind the
+     * spreading handle instead, since it only accepts direct method handles.
+     * </p>
+     */
+    static final class SpreadArity<T extends CompositeIdent> extends DerivedCompositeIdentFactory<T> {
+
+        private final MethodHandle constructor;
+
+        SpreadArity(Class<T> identClass, String typeAlias, int componentCount, MethodHandle constructor) {
+            super(identClass, typeAlias, componentCount);
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            checkComponentCount(further);
+            DomainIdent[] components = new DomainIdent[further.length + 2];
+            components[0] = first;
+            components[1] = second;
+            System.arraycopy(further, 0, components, 2, further.length);
+            try {
+                return (T) (CompositeIdent) constructor.invokeExact(components);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static final class VariableArity<T extends CompositeIdent> extends DerivedCompositeIdentFactory<T> {
+
+        private final Constructor constructor;
+
+        VariableArity(Class<T> identClass, String typeAlias, Constructor constructor) {
+            super(identClass, typeAlias, 2);
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return (T) constructor.create(first, second, further);
+        }
+
+        @FunctionalInterface
+        public interface Constructor {
+            CompositeIdent create(DomainIdent first, DomainIdent second, DomainIdent[] further);
+        }
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String componentCountMismatch(Class<?> identClass, int expectedCount, int count) {
+            return "Expected %d components for '%s' but got %d!".formatted(expectedCount, identClass.getName(), count);
+        }
+    }
+}
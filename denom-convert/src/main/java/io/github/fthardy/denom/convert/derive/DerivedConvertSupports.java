@@ -0,0 +1,307 @@
+package io.github.fthardy.denom.convert.derive;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.atomic.AbstractAtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.BigIntegerIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LocalDateIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Derives convert supports from the constructors of domain identifier type classes, so that no factory needs to be written by hand.
+ * <p>
+ * The constructor of a type class is bound with the {@link LambdaMetafactory} to a functional interface, i.e. a derived support calls the constructor through
+ * a lambda class and not by reflection. The lambda class is defined in the package of the class of the given lookup. So the lookup must have full privilege
+ * access and the constructor must be accessible from its class. Usually the lookup is created by {@code MethodHandles.lookup()} in the package of the type
+ * classes.
+ * </p>
+ * <pre>
+ * registry.addSupport(DerivedConvertSupports.compositeIdentFactory(MethodHandles.lookup(), OrderIdent.class, "order"));
+ * registry.addSupport(DerivedConvertSupports.atomicIdentConverter(MethodHandles.lookup(), AccountIdent.class, "account"));
+ * </pre>
+ */
+public final class DerivedConvertSupports {
+
+    private static final MethodType VALUE_FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private DerivedConvertSupports() {}
+
+    /**
+     * Derives a factory for a composite identifier type class.
+     * <p>
+     * The type class must have exactly one constructor whose parameters are at least two domain identifier types. Such a constructor can also be a variable
+     * arity constructor whose last parameter is of the type {@code DomainIdent...}. The factory casts the components to the parameter types of the constructor
+     * and throws an {@link IllegalArgumentException} when the number of components doesn't match a fixed arity constructor. A constructor with more than
+     * four parameters is called through a spreading method handle instead of a lambda, which takes an array of the components and is notably slower than a
+     * direct constructor call.
+     * </p>
+     *
+     * @param lookup a lookup with full privilege access from which the constructor is accessible.
+     * @param identClass the concrete composite identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param <T> a concrete composite identifier type class.
+     *
+     * @return the new factory instance.
+     *
+     * @throws IllegalArgumentException if no factory can be derived for the type class.
+     */
+    public static <T extends CompositeIdent> CompositeIdentFactory<T> compositeIdentFactory(MethodHandles.Lookup lookup, Class<T> identClass,
+            String typeAlias) {
+        Constructor<?> constructor = findComponentConstructor(identClass);
+        MethodHandle handle = unreflect(lookup, constructor);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        if (constructor.isVarArgs()) {
+            return new DerivedCompositeIdentFactory.VariableArity<>(identClass, typeAlias,
+                    bind(lookup, handle, DerivedCompositeIdentFactory.VariableArity.Constructor.class, componentsMethodType(2).appendParameterTypes(
+                            DomainIdent[].class)));
+        }
+        return switch (parameterTypes.length) {
+            case 2 -> new DerivedCompositeIdentFactory.Arity2<>(identClass, typeAlias,
+                    bind(lookup, handle, DerivedCompositeIdentFactory.Arity2.Constructor.class, componentsMethodType(2)));
+            case 3 -> new DerivedCompositeIdentFactory.Arity3<>(identClass, typeAlias,
+                    bind(lookup, handle, DerivedCompositeIdentFactory.Arity3.Constructor.class, componentsMethodType(3)));
+            case 4 -> new DerivedCompositeIdentFactory.Arity4<>(identClass, typeAlias,
+                    bind(lookup, handle, DerivedCompositeIdentFactory.Arity4.Constructor.class, componentsMethodType(4)));
+            default -> new DerivedCompositeIdentFactory.SpreadArity<>(identClass, typeAlias, parameterTypes.length,
+                    handle.asType(componentsMethodType(parameterTypes.length)).asSpreader(DomainIdent[].class, parameterTypes.length));
+        };
+    }
+
+    /**
+     * Derives a converter for an atomic identifier type class.
+     * <p>
+     * The converter is the standard converter of the {@code convert.atomic} package for the identity value type of the type class. Supported are the
+     * identity value types {@code Long}, {@code Integer}, {@code UUID}, {@code String}, {@code BigInteger} and {@code LocalDate}. The type class must have a
+     * constructor which takes the identity value. For a {@code Long} or {@code Integer} identity value, a constructor with the primitive type is preferred.
+     * For a {@code UUID} identity value, a constructor with the most and least significant bits is preferred.
+     * </p>
+     *
+     * @param lookup a lookup with full privilege access from which the constructor is accessible.
+     * @param identClass the concrete atomic identifier type class.
+     * @param typeAlias the type alias name of the identifier type class.
+     * @param <T> a concrete atomic identifier type class.
+     *
+     * @return the new converter instance.
+     *
+     * @throws IllegalArgumentException if no converter can be derived for the type class.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T extends AtomicIdent<?>> AbstractAtomicIdentCanonicalConverter<T> atomicIdentConverter(MethodHandles.Lookup lookup, Class<T> identClass,
+            String typeAlias) {
+        Class<?> valueType = identityValueTypeOf(identClass);
+        Class rawIdentClass = identClass;
+        if (valueType == Long.class) {
+            Constructor<?> constructor = findConstructor(identClass, long.class, Long.class);
+            LongFunction factory = bind(lookup, unreflect(lookup, constructor), LongFunction.class, MethodType.methodType(Object.class, long.class));
+            return new LongIdentCanonicalConverter(rawIdentClass, typeAlias, factory);
+        } else if (valueType == Integer.class) {
+            Constructor<?> constructor = findConstructor(identClass, int.class, Integer.class);
+            IntFunction factory = bind(lookup, unreflect(lookup, constructor), IntFunction.class, MethodType.methodType(Object.class, int.class));
+            return new IntIdentCanonicalConverter(rawIdentClass, typeAlias, factory);
+        } else if (valueType == UUID.class) {
+            return new UuidIdentCanonicalConverter(rawIdentClass, typeAlias, uuidIdentFactory(lookup, identClass));
+        } else if (valueType == String.class) {
+            return new StringIdentCanonicalConverter(rawIdentClass, typeAlias, valueFunction(lookup, identClass, valueType));
+        } else if (valueType == BigInteger.class) {
+            return new BigIntegerIdentCanonicalConverter(rawIdentClass, typeAlias, valueFunction(lookup, identClass, valueType));
+        } else if (valueType == LocalDate.class) {
+            return new LocalDateIdentCanonicalConverter(rawIdentClass, typeAlias, valueFunction(lookup, identClass, valueType));
+        }
+        throw new IllegalArgumentException(Messages.unsupportedIdentityValueType(identClass, valueType));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Function valueFunction(MethodHandles.Lookup lookup, Class<?> identClass, Class<?> valueType) {
+        return bind(lookup, unreflect(lookup, findConstructor(identClass, valueType)), Function.class, VALUE_FUNCTION_TYPE);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static UuidIdentCanonicalConverter.UuidIdentFactory<?> uuidIdentFactory(MethodHandles.Lookup lookup, Class<?> identClass) {
+        Constructor<?> bitsConstructor = findDeclaredConstructor(identClass, long.class, long.class);
+        if (bitsConstructor != null) {
+            return bind(lookup, unreflect(lookup, bitsConstructor), UuidIdentCanonicalConverter.UuidIdentFactory.class,
+                    MethodType.methodType(AtomicIdent.class, long.class, long.class));
+        }
+        Function factory = valueFunction(lookup, identClass, UUID.class);
+        return (mostSignificantBits, leastSignificantBits) -> (AtomicIdent<UUID>) factory.apply(new UUID(mostSignificantBits, leastSignificantBits));
+    }
+
+    private static Constructor<?> findComponentConstructor(Class<? extends CompositeIdent> identClass) {
+        checkConcrete(identClass);
+        List<Constructor<?>> constructors = Arrays.stream(identClass.getDeclaredConstructors()).filter(DerivedConvertSupports::isComponentConstructor).toList();
+        if (constructors.size() != 1) {
+            throw new IllegalArgumentException(Messages.noUniqueComponentConstructor(identClass, constructors.size()));
+        }
+        return constructors.get(0);
+    }
+
+    private static boolean isComponentConstructor(Constructor<?> constructor) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        int fixedCount = parameterTypes.length;
+        if (constructor.isVarArgs()) {
+            if (fixedCount != 3 || parameterTypes[2] != DomainIdent[].class) {
+                return false;
+            }
+            fixedCount = 2;
+        }
+        if (fixedCount < 2) {
+            return false;
+        }
+        for (int i = 0; i < fixedCount; i++) {
+            if (!DomainIdent.class.isAssignableFrom(parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Constructor<?> findConstructor(Class<?> identClass, Class<?>... alternativeParameterTypes) {
+        checkConcrete(identClass);
+        for (Class<?> parameterType : alternativeParameterTypes) {
+            Constructor<?> constructor = findDeclaredConstructor(identClass, parameterType);
+            if (constructor != null) {
+                return constructor;
+            }
+        }
+        throw new IllegalArgumentException(Messages.noValueConstructor(identClass, alternativeParameterTypes[alternativeParameterTypes.length - 1]));
+    }
+
+    private static Constructor<?> findDeclaredConstructor(Class<?> identClass, Class<?>... parameterTypes) {
+        try {
+            return identClass.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static void checkConcrete(Class<?> identClass) {
+        if (!Modifier.isFinal(identClass.getModifiers())) {
+            throw new IllegalArgumentException(Messages.notFinalClass(identClass));
+        }
+    }
+
+    private static Class<?> identityValueTypeOf(Class<?> identClass) {
+        Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+        Type type = identClass;
+        while (type != null) {
+            Class<?> rawClass;
+            if (type instanceof ParameterizedType parameterizedType) {
+                rawClass = (Class<?>) parameterizedType.getRawType();
+                TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+                Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+                for (int i = 0; i < typeParameters.length; i++) {
+                    typeArguments.put(typeParameters[i], typeArguments.getOrDefault(actualTypeArguments[i], actualTypeArguments[i]));
+                }
+            } else {
+                rawClass = (Class<?>) type;
+            }
+            if (rawClass == AtomicIdent.class) {
+                Type valueType = typeArguments.get(AtomicIdent.class.getTypeParameters()[0]);
+                if (valueType instanceof Class<?> valueClass) {
+                    return valueClass;
+                }
+                if (valueType instanceof ParameterizedType parameterizedValueType) {
+                    return (Class<?>) parameterizedValueType.getRawType();
+                }
+                break;
+            }
+            type = rawClass.getGenericSuperclass();
+        }
+        throw new IllegalArgumentException(Messages.unresolvableIdentityValueType(identClass));
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Constructor<?> constructor) {
+        try {
+            return lookup.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(Messages.notAccessible(constructor, lookup), e);
+        }
+    }
+
+    private static <F> F bind(MethodHandles.Lookup lookup, MethodHandle constructor, Class<F> functionalInterface, MethodType samMethodType) {
+        MethodType instantiatedMethodType = constructor.type();
+        for (int i = 0; i < samMethodType.parameterCount(); i++) {
+            if (samMethodType.parameterType(i).isPrimitive()) {
+                instantiatedMethodType = instantiatedMethodType.changeParameterType(i, samMethodType.parameterType(i));
+            }
+        }
+        try {
+            MethodHandle factory = LambdaMetafactory.metafactory(lookup, samMethodNameOf(functionalInterface), MethodType.methodType(functionalInterface),
+                    samMethodType, constructor, instantiatedMethodType).getTarget();
+            return functionalInterface.cast(factory.invoke());
+        } catch (LambdaConversionException e) {
+            throw new IllegalArgumentException(Messages.notBindable(constructor, lookup), e);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodType componentsMethodType(int count) {
+        return MethodType.methodType(CompositeIdent.class, Collections.nCopies(count, DomainIdent.class));
+    }
+
+    private static String samMethodNameOf(Class<?> functionalInterface) {
+        return Arrays.stream(functionalInterface.getMethods()).filter(method -> Modifier.isAbstract(method.getModifiers())).findFirst().orElseThrow()
+                .getName();
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String notFinalClass(Class<?> identClass) {
+            return "The domain identifier class '%s' must be final!".formatted(identClass.getName());
+        }
+
+        static String noUniqueComponentConstructor(Class<?> identClass, int count) {
+            return "Expected exactly one constructor with at least two domain identifier parameters in '%s' but found %d!".formatted(identClass.getName(),
+                    count);
+        }
+
+        static String noValueConstructor(Class<?> identClass, Class<?> valueType) {
+            return "No constructor with a single '%s' parameter found in '%s'!".formatted(valueType.getName(), identClass.getName());
+        }
+
+        static String unsupportedIdentityValueType(Class<?> identClass, Class<?> valueType) {
+            return "No standard converter for the identity value type '%s' of '%s'!".formatted(valueType.getName(), identClass.getName());
+        }
+
+        static String unresolvableIdentityValueType(Class<?> identClass) {
+            return "The identity value type of '%s' cannot be resolved!".formatted(identClass.getName());
+        }
+
+        static String notAccessible(Constructor<?> constructor, MethodHandles.Lookup lookup) {
+            return "The constructor '%s' is not accessible from '%s'!".formatted(constructor, lookup);
+        }
+
+        static String notBindable(MethodHandle constructor, MethodHandles.Lookup lookup) {
+            return "The constructor %s cannot be bound with the lookup '%s'!".formatted(constructor.type(), lookup);
+        }
+    }
+}
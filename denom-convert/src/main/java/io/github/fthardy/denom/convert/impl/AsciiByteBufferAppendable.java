@@ -0,0 +1,40 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An appendable which writes ASCII characters as single bytes into a byte buffer.
+ * <p>
+ * As a canonical consists of ASCII characters only, this writes its UTF-8 representation without encoding a string first.
+ * </p>
+ */
+final class AsciiByteBufferAppendable implements Appendable {
+
+    private final ByteBuffer target;
+
+    AsciiByteBufferAppendable(ByteBuffer target) {
+        this.target = target;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        if (c >= 0x80) {
+            throw new IllegalArgumentException("Non-ASCII character in canonical: '" + c + "'!");
+        }
+        target.put((byte) c);
+        return this;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A character sequence view on a range of ASCII bytes.
+ * <p>
+ * As a canonical consists of ASCII characters only, it can be parsed from its UTF-8 bytes without decoding them into a string first.
+ * </p>
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    private AsciiCharSequence(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a new view on a range of the given byte buffer.
+     *
+     * @param bytes the byte buffer. The position and the limit of the buffer are ignored and not modified.
+     * @param offset the absolute index of the first byte of the range.
+     * @param length the number of bytes of the range.
+     *
+     * @return the new view.
+     *
+     * @throws CanonicalParseException when the range contains a non-ASCII byte.
+     */
+    static AsciiCharSequence checked(ByteBuffer bytes, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(offset + i) < 0) {
+                throw new CanonicalParseException(Messages.nonAsciiCharacter(i, decode(bytes, offset, length)));
+            }
+        }
+        return new AsciiCharSequence(bytes, offset, length);
+    }
+
+    /**
+     * Creates a new view on a range of the given byte buffer without checking the bytes of the range, e.g. because the ranges of the view which are read are
+     * known to contain ASCII bytes only.
+     *
+     * @param bytes the byte buffer. The position and the limit of the buffer are ignored and not modified.
+     * @param offset the absolute index of the first byte of the range.
+     * @param length the number of bytes of the range.
+     *
+     * @return the new view.
+     */
+    static AsciiCharSequence unchecked(ByteBuffer bytes, int offset, int length) {
+        return new AsciiCharSequence(bytes, offset, length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) bytes.get(offset + Objects.checkIndex(index, length));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bytes of the range are not checked again: they have been checked already by a checked view, and an unchecked view is not checked at all.
+     * </p>
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new AsciiCharSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return decode(bytes, offset, length);
+    }
+
+    private static String decode(ByteBuffer bytes, int offset, int length) {
+        return StandardCharsets.UTF_8.decode(bytes.slice(offset, length)).toString();
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String nonAsciiCharacter(int position, String canonical) {
+            return "Non-ASCII character at position %d in canonical '%s'!".formatted(position, canonical);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.fthardy.denom.convert.impl;
+
+/**
+ * Is thrown by {@link DefaultDomainIdentBinaryCodec} when a binary representation cannot be decoded.
+ */
+public final class BinaryDecodeException extends RuntimeException {
+
+    public BinaryDecodeException(String message) {
+        super(message);
+    }
+
+    public BinaryDecodeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
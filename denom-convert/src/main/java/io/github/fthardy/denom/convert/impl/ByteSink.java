@@ -0,0 +1,65 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The target of the binary encoders, which is backed by a byte buffer.
+ * <p>
+ * An encoder reserves the space for the bytes it is going to write and then writes them to the returned buffer. A {@link #growable(int) growable} sink
+ * replaces its buffer by a larger copy when the space is not available, so the encoded bytes are written once and the size of an encoding need not be known
+ * in advance. A sink {@link #of(ByteBuffer) of a given buffer} writes to that buffer only, which fails with a {@link java.nio.BufferOverflowException} when
+ * it is too small.
+ * </p>
+ */
+final class ByteSink {
+
+    private ByteBuffer buffer;
+    private final boolean growable;
+
+    private ByteSink(ByteBuffer buffer, boolean growable) {
+        this.buffer = buffer;
+        this.growable = growable;
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the buffer.
+     *
+     * @return a new sink which grows its buffer on demand.
+     */
+    static ByteSink growable(int initialCapacity) {
+        return new ByteSink(ByteBuffer.allocate(initialCapacity), true);
+    }
+
+    /**
+     * @param buffer the buffer to write to, starting at its position.
+     *
+     * @return a new sink which writes to the given buffer.
+     */
+    static ByteSink of(ByteBuffer buffer) {
+        return new ByteSink(buffer, false);
+    }
+
+    /**
+     * Reserves space for bytes to be written.
+     *
+     * @param length the maximum number of bytes to be written.
+     *
+     * @return the buffer to write the bytes to. As a growable sink replaces its buffer, the returned buffer must not be used after the next reservation.
+     */
+    ByteBuffer reserve(int length) {
+        if (growable && buffer.remaining() < length) {
+            final int position = buffer.position();
+            final int capacity = Math.max(buffer.capacity() * 2, position + length);
+            buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), capacity)).position(position);
+        }
+        return buffer;
+    }
+
+    /**
+     * @return a copy of the bytes written to a growable sink.
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.fthardy.denom.convert.impl;
+
+/**
+ * The statistics of a cache.
+ *
+ * @param hitCount the number of lookups which found a cached entry.
+ * @param missCount the number of lookups which found no cached entry.
+ * @param evictionCount the number of entries which have been evicted because the cache was full.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount) {
+
+    /**
+     * @return the ratio of hits to all lookups or 1.0 when there was no lookup yet.
+     */
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A converter decorator which memoizes the conversions of another converter in bounded caches.
+ * <p>
+ * Both directions are cached separately: canonical to identifier and identifier to canonical. Each cache holds at most the given number of entries and
+ * evicts the least-recently-used ones when it is full. The decorator is thread-safe, provided that the decorated converter is thread-safe.
+ * </p>
+ * <p>
+ * A canonical created by {@link #toCanonical(DomainIdent)} is also cached for the opposite direction. A canonical passed to
+ * {@link #fromCanonical(String)} is not, since it might be a non-canonical spelling (e.g. lower case hex digits) of the identifier.
+ * </p>
+ */
+public final class CachingDomainIdentCanonicalConverter implements DomainIdentCanonicalConverter {
+
+    private final DomainIdentCanonicalConverter delegate;
+    private final StripedLruCache<String, DomainIdent> identByCanonical;
+    private final StripedLruCache<DomainIdent, String> canonicalByIdent;
+
+    /**
+     * Creates a new caching converter.
+     *
+     * @param delegate the converter whose conversions are cached.
+     * @param maximumSize the maximum number of entries of each of the two caches.
+     */
+    public CachingDomainIdentCanonicalConverter(DomainIdentCanonicalConverter delegate, int maximumSize) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.identByCanonical = new StripedLruCache<>(maximumSize);
+        this.canonicalByIdent = new StripedLruCache<>(maximumSize);
+    }
+
+    @Override
+    public DomainIdent fromCanonical(String canonical) {
+        DomainIdent domainIdent = identByCanonical.get(canonical);
+        if (domainIdent == null) {
+            domainIdent = delegate.fromCanonical(canonical);
+            identByCanonical.put(canonical, domainIdent);
+        }
+        return domainIdent;
+    }
+
+    @Override
+    public String toCanonical(DomainIdent domainIdent) {
+        String canonical = canonicalByIdent.get(domainIdent);
+        if (canonical == null) {
+            canonical = delegate.toCanonical(domainIdent);
+            canonicalByIdent.put(domainIdent, canonical);
+            identByCanonical.put(canonical, domainIdent);
+        }
+        return canonical;
+    }
+
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, Appendable appendable) throws IOException {
+        appendable.append(toCanonical(domainIdent));
+    }
+
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, StringBuilder builder) {
+        builder.append(toCanonical(domainIdent));
+    }
+
+    /**
+     * @return the statistics of the cache for {@link #fromCanonical(String)}.
+     */
+    public CacheStats fromCanonicalStats() {
+        return identByCanonical.stats();
+    }
+
+    /**
+     * @return the statistics of the cache for {@link #toCanonical(DomainIdent)}.
+     */
+    public CacheStats toCanonicalStats() {
+        return canonicalByIdent.stats();
+    }
+}
@@ -6,43 +6,60 @@ import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
 import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
 import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
 import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
 
 import java.util.ArrayList;
 import java.util.List;
 
 final class CanonicalDomainIdentParser {
 
+    private static final DomainIdent[] NO_FURTHER_COMPONENTS = new DomainIdent[0];
+
     private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
 
     CanonicalDomainIdentParser(DomainIdentCanonicalConverterSupportRegistry registry) {
         this.supportRegistry = registry;
     }
 
-    public DomainIdent parseDomainIdentFrom(String canonical) {
-        CanonicalParseContext context = new CanonicalParseContext(canonical);
+    public DomainIdent parseDomainIdentFrom(CharSequence canonical) {
+        return parseDomainIdentFrom(canonical, 0, canonical.length());
+    }
+
+    public DomainIdent parseDomainIdentFrom(CharSequence sequence, int offset, int length) {
+        return parseDomainIdentFrom(new CanonicalParseContext(sequence, offset, length), supportRegistry.snapshot().getTypeAliasTrie());
+    }
+
+    /**
+     * Parses the canonical of a given context, which may be reused for several canonicals, with the aliases of a given trie.
+     *
+     * @param context the context of the canonical to parse.
+     * @param typeAliasTrie the trie of the registered type aliases.
+     *
+     * @return the parsed domain identifier.
+     */
+    DomainIdent parseDomainIdentFrom(CanonicalParseContext context, TypeAliasTrie typeAliasTrie) {
         try {
-            DomainIdent domainIdent = parse(context);
+            DomainIdent domainIdent = parse(context, typeAliasTrie);
             context.assertEndOfSequence();
             return domainIdent;
         } catch (CanonicalParseException e) {
             throw e;
         } catch (Exception e) {
-            throw new CanonicalParseException(Messages.parsingFailed(canonical, context.getIndex()), e);
+            throw new CanonicalParseException(Messages.parsingFailed(context.getCanonical(), context.getIndex()), e);
         }
-
     }
 
-    private DomainIdent parse(CanonicalParseContext context) {
+    private DomainIdent parse(CanonicalParseContext context, TypeAliasTrie typeAliasTrie) {
         final int contentStart = context.getIndex();
-        final DomainIdentConvertSupport<?> converterSupport = parseTypeAliasAndGetConverterSupport(context);
+        final DomainIdentConvertSupport<?> converterSupport = parseTypeAliasAndGetConverterSupport(context, typeAliasTrie);
         final char c = context.peek();
         if (c == DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN) {
             context.consume(DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN);
             DomainIdent domainIdent;
             if (converterSupport instanceof AtomicIdentCanonicalConverter<?> converter) {
-                domainIdent = converter.fromCanonical(context.parseIdentityValue());
+                domainIdent = context.parseAtomicIdent(converter);
             } else if (converterSupport instanceof CompositeIdentFactory<?> factory) {
-                domainIdent = parseCompositeIdent(context, factory);
+                domainIdent = parseCompositeIdent(context, typeAliasTrie, factory);
             } else {
                 throw new IllegalStateException("Unhandled converterSupport type: " + converterSupport.getClass().getName());
             }
@@ -52,40 +69,34 @@ final class CanonicalDomainIdentParser {
         throw new CanonicalParseException(Messages.invalidContentBegin(context.getCanonical(), contentStart));
     }
 
-    private DomainIdentConvertSupport<?> parseTypeAliasAndGetConverterSupport(CanonicalParseContext context) {
+    private DomainIdentConvertSupport<?> parseTypeAliasAndGetConverterSupport(CanonicalParseContext context, TypeAliasTrie typeAliasTrie) {
         int aliasStart = context.getIndex();
-        String typeAlias = context.parseTypeAlias();
-        DomainIdentConvertSupport<?> converterSupport = supportRegistry.getSupportByTypeAlias(typeAlias);
+        DomainIdentConvertSupport<?> converterSupport = context.parseTypeAlias(typeAliasTrie);
         if (converterSupport == null) {
-            throw new CanonicalParseException(Messages.unknownTypeAlias(typeAlias, context.getCanonical(), aliasStart));
+            throw new CanonicalParseException(Messages.unknownTypeAlias(context.parseTypeAlias(), context.getCanonical(), aliasStart));
         }
         return converterSupport;
     }
 
-    private CompositeIdent parseCompositeIdent(CanonicalParseContext context, CompositeIdentFactory<?> factory) {
+    private CompositeIdent parseCompositeIdent(CanonicalParseContext context, TypeAliasTrie typeAliasTrie, CompositeIdentFactory<?> factory) {
         int contentStart = context.getIndex();
-        List<DomainIdent> identComponents = new ArrayList<>();
-        if (context.peek() != DefaultDomainIdentCanonicalConverter.CONTENT_END) {
-            DomainIdent first = parse(context);
-            context.consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR);
-            DomainIdent second = parse(context);
-            identComponents.add(first);
-            identComponents.add(second);
-            while (context.peek() == DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR) {
-                context.consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR);
-                identComponents.add(parse(context));
-            }
-        }
-
-        if (identComponents.isEmpty()) {
+        if (context.peek() == DefaultDomainIdentCanonicalConverter.CONTENT_END) {
             throw new CanonicalParseException(Messages.atLeastTwoComponents(context.getCanonical(), contentStart));
         }
 
-        DomainIdent[] further = new DomainIdent[0];
-        if (identComponents.size() > 2) {
-            further = identComponents.subList(2, identComponents.size()).toArray(new DomainIdent[0]);
+        DomainIdent first = parse(context, typeAliasTrie);
+        context.consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR);
+        DomainIdent second = parse(context, typeAliasTrie);
+        DomainIdent[] further = NO_FURTHER_COMPONENTS;
+        if (context.peek() == DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR) {
+            List<DomainIdent> furtherComponents = new ArrayList<>();
+            while (context.peek() == DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR) {
+                context.consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR);
+                furtherComponents.add(parse(context, typeAliasTrie));
+            }
+            further = furtherComponents.toArray(NO_FURTHER_COMPONENTS);
         }
-        return factory.fromComponents(identComponents.get(0), identComponents.get(1), further);
+        return factory.fromComponents(first, second, further);
     }
 
     static final class Messages {
@@ -0,0 +1,232 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A reader for files which contain one canonical domain identifier representation per line.
+ * <p>
+ * The file is memory-mapped in chunks which end on line boundaries. The chunks are parsed in parallel, directly from the mapped bytes and without creating a
+ * string per line. Lines are separated by LF or CRLF; empty lines are skipped. Lines are reported by their byte offset within the file.
+ * </p>
+ * <p>
+ * A chunk is parsed in blocks of lines. For each block, a {@link StructuralIndex} of the positions of the structural characters is built in one pass, with
+ * the Vector API when it is available, and the lines of the block are parsed along that index. A line which cannot be parsed along the index is parsed
+ * again by the regular parser, so malformed lines are reported exactly as by {@link DefaultDomainIdentCanonicalConverter}.
+ * </p>
+ * <p>
+ * All lines of a file are parsed with the same snapshot of the registry. The reader itself is stateless and thread-safe.
+ * </p>
+ */
+public final class CanonicalFileReader {
+
+    /** The default size of the chunks, in bytes, which are parsed in parallel. */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /** The maximum size of the blocks, in bytes, of which a structural index is built at once, unless a line is longer. */
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final byte LINE_FEED = StructuralIndex.LINE_FEED;
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
+    private final CanonicalDomainIdentParser parser;
+    private final int chunkSize;
+
+    public CanonicalFileReader(DomainIdentCanonicalConverterSupportRegistry registry) {
+        this(registry, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new reader.
+     *
+     * @param registry the registry of the convert supports.
+     * @param chunkSize the nominal size of the chunks, in bytes. A chunk is extended up to the end of the line it would otherwise end in.
+     */
+    public CanonicalFileReader(DomainIdentCanonicalConverterSupportRegistry registry, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(Messages.invalidChunkSize(chunkSize));
+        }
+        this.supportRegistry = registry;
+        this.parser = new CanonicalDomainIdentParser(registry);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads all domain identifiers of a file.
+     * <p>
+     * The returned stream is parallel and ordered by the lines of the file. The file is mapped before this method returns, the chunks are parsed when the
+     * stream is consumed.
+     * </p>
+     *
+     * @param file the file to read.
+     *
+     * @return the stream of the domain identifiers.
+     *
+     * @throws IOException when the file cannot be mapped.
+     * @throws CanonicalParseException on consumption of the stream when a line is malformed. The message contains the byte offset of the line.
+     */
+    public Stream<DomainIdent> stream(Path file) throws IOException {
+        final TypeAliasTrie typeAliasTrie = supportRegistry.snapshot().getTypeAliasTrie();
+        return mapChunks(file).parallelStream().flatMap(chunk -> {
+            List<DomainIdent> domainIdents = new ArrayList<>();
+            parseChunk(chunk, typeAliasTrie, (offset, domainIdent) -> domainIdents.add(domainIdent));
+            return domainIdents.stream();
+        });
+    }
+
+    /**
+     * Reads all domain identifiers of a file and passes each of them to a given callback.
+     * <p>
+     * The chunks are parsed in parallel, so the callback is called concurrently by several threads. Within a chunk, the callback is called in line order.
+     * This method returns when all lines have been parsed.
+     * </p>
+     *
+     * @param file the file to read.
+     * @param callback the callback for the domain identifiers and the malformed lines.
+     *
+     * @throws IOException when the file cannot be mapped.
+     */
+    public void read(Path file, Callback callback) throws IOException {
+        final TypeAliasTrie typeAliasTrie = supportRegistry.snapshot().getTypeAliasTrie();
+        mapChunks(file).parallelStream().forEach(chunk -> parseChunk(chunk, typeAliasTrie, callback));
+    }
+
+    private List<Chunk> mapChunks(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            List<Chunk> chunks = new ArrayList<>();
+            for (long start = 0, end; start < size; start = end) {
+                end = start + chunkSize;
+                end = end < size ? endOfLine(channel, end - 1, size) : size;
+                chunks.add(new Chunk(start, channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            }
+            return chunks;
+        }
+    }
+
+    /** @return the index after the first line feed at or after the given position or the size of the file when there is none. */
+    private static long endOfLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LINE_FEED) {
+                    return position + i + 1;
+                }
+            }
+            position += Math.max(read, 0);
+        }
+        return size;
+    }
+
+    private void parseChunk(Chunk chunk, TypeAliasTrie typeAliasTrie, Callback callback) {
+        final MappedByteBuffer buffer = chunk.buffer();
+        final int limit = buffer.limit();
+        final CanonicalParseContext context = new CanonicalParseContext("", 0, 0);
+        StructuralIndex index = new StructuralIndex(Math.min(limit, BLOCK_SIZE));
+        StructuralIndexParser indexParser = new StructuralIndexParser(index, typeAliasTrie);
+        int blockStart = 0;
+        while (blockStart < limit) {
+            final int blockLength = Math.min(limit - blockStart, index.capacity());
+            final boolean lastBlock = blockStart + blockLength == limit;
+            index.build(buffer, blockStart, blockLength);
+            final byte[] bytes = index.bytes();
+            final int[] positions = index.positions();
+            int lineStart = 0;
+            int entry = 0;
+            while (lineStart < blockLength) {
+                int lineFeed = entry;
+                while (positions[lineFeed] < blockLength && bytes[positions[lineFeed]] != LINE_FEED) {
+                    lineFeed++;
+                }
+                int lineEnd = positions[lineFeed];
+                if (lineEnd == blockLength && !lastBlock) {
+                    break; // the line is continued in the next block
+                }
+                final int nextLineStart = lineEnd + 1;
+                if (lineEnd > lineStart && bytes[lineEnd - 1] == CARRIAGE_RETURN) {
+                    lineEnd--;
+                }
+                if (lineEnd > lineStart) {
+                    DomainIdent domainIdent = indexParser.parseLine(entry, lineStart, lineEnd);
+                    final long offset = chunk.offset() + blockStart + lineStart;
+                    if (domainIdent == null) { // the line is parsed again to report the error
+                        try {
+                            context.reset(AsciiCharSequence.checked(buffer, blockStart + lineStart, lineEnd - lineStart), 0, lineEnd - lineStart);
+                            domainIdent = parser.parseDomainIdentFrom(context, typeAliasTrie);
+                        } catch (CanonicalParseException e) {
+                            callback.malformed(offset, e);
+                        }
+                    }
+                    if (domainIdent != null) {
+                        callback.accept(offset, domainIdent);
+                    }
+                }
+                lineStart = nextLineStart;
+                entry = lineFeed + 1;
+            }
+            if (lineStart == 0) { // the block contains no complete line
+                index = new StructuralIndex((int) Math.min(limit - blockStart, 2L * index.capacity()));
+                indexParser = new StructuralIndexParser(index, typeAliasTrie);
+            }
+            blockStart += Math.min(lineStart, blockLength);
+        }
+    }
+
+    /**
+     * The callback for the lines of a file.
+     */
+    @FunctionalInterface
+    public interface Callback {
+
+        /**
+         * Is called for each successfully parsed line.
+         *
+         * @param offset the byte offset of the line within the file.
+         * @param domainIdent the parsed domain identifier.
+         */
+        void accept(long offset, DomainIdent domainIdent);
+
+        /**
+         * Is called for each malformed line.
+         * <p>
+         * The default implementation throws an exception which aborts the reading.
+         * </p>
+         *
+         * @param offset the byte offset of the line within the file.
+         * @param exception the exception which describes the parsing error.
+         *
+         * @throws CanonicalParseException to abort the reading.
+         */
+        default void malformed(long offset, CanonicalParseException exception) {
+            throw new CanonicalParseException(Messages.malformedLine(offset, exception.getMessage()), exception);
+        }
+    }
+
+    private record Chunk(long offset, MappedByteBuffer buffer) {}
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidChunkSize(int chunkSize) {
+            return "The chunk size must be at least 1 but is %d!".formatted(chunkSize);
+        }
+
+        static String malformedLine(long offset, String reason) {
+            return "Malformed line at byte offset %d: %s".formatted(offset, reason);
+        }
+    }
+}
@@ -1,68 +1,164 @@
 package io.github.fthardy.denom.convert.impl;
 
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
+
 /**
  * The context for parsing a canonical domain identifier representation.
+ * <p>
+ * The canonical is a range of a character sequence. All positions reported by the context are relative to the beginning of this range. Symbols are scanned
+ * in a single pass and only the final symbol string is created; identity values are percent-decoded while they are taken from the sequence.
+ * </p>
  */
 final class CanonicalParseContext {
 
-    private final String canonical;
+    private CharSequence sequence;
+    private int offset;
+    private int end;
+
+    private int position;
 
-    private int index = 0;
+    CanonicalParseContext(CharSequence sequence, int offset, int length) {
+        reset(sequence, offset, length);
+    }
 
-    CanonicalParseContext(String canonical) {
-        this.canonical = canonical;
+    /**
+     * Resets this context to parse another canonical, so one context can be reused for a batch of canonicals.
+     *
+     * @param sequence the character sequence containing the canonical.
+     * @param offset the index of the first character of the canonical.
+     * @param length the number of characters of the canonical.
+     */
+    void reset(CharSequence sequence, int offset, int length) {
+        this.sequence = sequence;
+        this.offset = offset;
+        this.end = offset + length;
+        this.position = offset;
     }
 
+    /**
+     * @return the canonical which is parsed. As this creates a new string it is intended for error messages.
+     */
     public String getCanonical() {
-        return canonical;
+        return sequence.subSequence(offset, end).toString();
     }
 
     public int getIndex() {
-        return index;
+        return position - offset;
     }
 
     public char peek() {
-        return canonical.charAt(index);
+        if (position >= end) {
+            throw new CanonicalParseException(Messages.unexpectedEndOfCanonical(getCanonical(), getIndex()));
+        }
+        return sequence.charAt(position);
     }
 
     public char next() {
-        return canonical.charAt(index++);
+        final char c = peek();
+        position++;
+        return c;
     }
 
     public void consume(char c) {
         char next = next();
         if (next != c) {
-            throw new CanonicalParseException(Messages.missingExpectedCharacter(c, canonical, index));
+            throw new CanonicalParseException(Messages.missingExpectedCharacter(c, getCanonical(), getIndex()));
         }
     }
 
     public void assertEndOfSequence() {
-        if (index != canonical.length()) {
-            throw new CanonicalParseException(Messages.expectedEndOfCanonical(canonical, index));
+        if (position != end) {
+            throw new CanonicalParseException(Messages.expectedEndOfCanonical(getCanonical(), getIndex()));
         }
     }
 
     public String parseTypeAlias() {
-        return parseSymbol("type-alias");
+        final int start = position;
+        position = scanSymbol("type-alias");
+        return sequence.subSequence(start, position).toString();
+    }
+
+    /**
+     * Parses a type alias by matching it against the given trie.
+     * <p>
+     * No string is created for the alias. Matching stops at the first character which cannot be matched. In that case the position remains unchanged.
+     * </p>
+     *
+     * @param typeAliasTrie the trie of the registered type aliases.
+     *
+     * @return the support bound to the parsed type alias or {@code null} when the alias is unknown.
+     */
+    public DomainIdentConvertSupport<?> parseTypeAlias(TypeAliasTrie typeAliasTrie) {
+        assertSymbolStart("type-alias");
+        TypeAliasTrie.Node node = typeAliasTrie.root();
+        int i = position;
+        for (char c; i < end && isNonBoundaryChar(c = sequence.charAt(i)); i++) {
+            node = node.child(c);
+            if (node == null) {
+                return null;
+            }
+        }
+        if (node.support() != null) {
+            position = i;
+        }
+        return node.support();
     }
 
-    public String parseIdentityValue() {
-        return parseSymbol("identity-value");
+    /**
+     * Parses an identity value and converts it into an atomic identifier.
+     * <p>
+     * A value which contains no %HH-sequence is passed as a range of the sequence to the converter, so no string is created for it. Otherwise, the value is
+     * decoded into a buffer first.
+     * </p>
+     *
+     * @param converter the converter for the atomic identifier.
+     *
+     * @return the atomic identifier.
+     *
+     * @throws IllegalArgumentException when the identity value contains an invalid %HH-sequence.
+     */
+    public AtomicIdent<?> parseAtomicIdent(AtomicIdentCanonicalConverter<?> converter) {
+        final int start = position;
+        assertSymbolStart("identity-value");
+        int firstPercent = -1;
+        int i = start;
+        for (char c; i < end && isNonBoundaryChar(c = sequence.charAt(i)); i++) {
+            if (c == '%' && firstPercent < 0) {
+                firstPercent = i;
+            }
+        }
+
+        if (firstPercent < 0) {
+            position = i;
+            return converter.fromCanonical(sequence, start, i - start);
+        }
+        StringBuilder decoded = new StringBuilder(i - start);
+        decoded.append(sequence, start, firstPercent);
+        UriCodec.decode(sequence, firstPercent, i, decoded);
+        position = i;
+        return converter.fromCanonical(decoded, 0, decoded.length());
     }
 
     private boolean isNonBoundaryChar(char c) {
         return c != DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN && c != DefaultDomainIdentCanonicalConverter.CONTENT_END;
     }
 
-    private String parseSymbol(String name) {
+    private void assertSymbolStart(String name) {
         if (!isNonBoundaryChar(peek())) {
-            throw new CanonicalParseException(Messages.invalidStartOfSymbol(peek(), name, index, canonical));
+            throw new CanonicalParseException(Messages.invalidStartOfSymbol(peek(), name, getIndex(), getCanonical()));
+        }
+    }
+
+    private int scanSymbol(String name) {
+        assertSymbolStart(name);
+        int i = position + 1;
+        while (i < end && isNonBoundaryChar(sequence.charAt(i))) {
+            i++;
         }
-        StringBuilder symbol = new StringBuilder();
-        do {
-            symbol.append(next());
-        } while (isNonBoundaryChar(peek()));
-        return symbol.toString();
+        return i;
     }
 
     static final class Messages {
@@ -76,6 +172,10 @@ final class CanonicalParseContext {
             return "Expected end of canonical '%s' at position %d!".formatted(canonical, position);
         }
 
+        static String unexpectedEndOfCanonical(String canonical, int position) {
+            return "Unexpected end of canonical '%s' at position %d!".formatted(canonical, position);
+        }
+
         static String invalidStartOfSymbol(char c, String name, int index, String canonical) {
             return "Invalid character '%s' at begin of expected %s at position %d in canonical %s!".formatted(c, name, index, canonical);
         }
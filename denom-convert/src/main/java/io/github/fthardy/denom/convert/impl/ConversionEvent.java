@@ -0,0 +1,37 @@
+package io.github.fthardy.denom.convert.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The base of the JDK Flight Recorder events of the conversions of an {@link InstrumentedDomainIdentCanonicalConverter}.
+ * <p>
+ * By default, only conversions which take at least one millisecond are recorded, so a recording is not flooded with the regular conversions. A batch
+ * conversion is recorded as one event.
+ * </p>
+ */
+@Category({"Denom", "Conversion"})
+@StackTrace(false)
+@Threshold("1 ms")
+abstract class ConversionEvent extends Event {
+
+    @Label("Type Alias")
+    @Description("The type alias of the identifier, or '?' when it is unknown or the identifiers of a batch have different type aliases")
+    String typeAlias;
+
+    @Label("Length")
+    @Description("The number of characters or bytes of the canonical, the sum for a batch, or -1 when it is unknown")
+    int length;
+
+    @Label("Count")
+    @Description("The number of identifiers converted, which is only other than 1 for a batch")
+    int count;
+
+    @Label("Failure")
+    @Description("The exception which failed the conversion, or null when the conversion succeeded")
+    String failure;
+}
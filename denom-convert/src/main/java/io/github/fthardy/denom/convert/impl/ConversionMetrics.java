@@ -0,0 +1,83 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the conversions of an {@link InstrumentedDomainIdentCanonicalConverter}: counters and a latency histogram per type alias and direction.
+ * <p>
+ * All counters are striped, so concurrent conversions hardly contend when they are recorded. Conversions of a canonical with an unknown type alias and of an
+ * identifier of an unregistered type are recorded for the {@link #UNKNOWN_TYPE_ALIAS}, so the number of type aliases is bounded by the registry. The
+ * metrics implement an MXBean interface and can be registered at an MBean server as they are.
+ * </p>
+ */
+public final class ConversionMetrics implements ConversionMetricsMXBean {
+
+    /** The type alias for which the conversions of an unknown type alias are recorded. */
+    public static final String UNKNOWN_TYPE_ALIAS = "?";
+
+    /** The number of ranges of the latency histograms, the last one starting at 2^38 nanoseconds (about 4.6 minutes). */
+    static final int HISTOGRAM_SIZE = 40;
+
+    private final ConcurrentMap<String, Recorder> toCanonicalRecorders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Recorder> fromCanonicalRecorders = new ConcurrentHashMap<>();
+
+    void recordToCanonical(String typeAlias, long nanos, boolean failed) {
+        toCanonicalRecorders.computeIfAbsent(typeAlias, alias -> new Recorder()).record(nanos, failed);
+    }
+
+    void recordFromCanonical(String typeAlias, long nanos, boolean failed) {
+        fromCanonicalRecorders.computeIfAbsent(typeAlias, alias -> new Recorder()).record(nanos, failed);
+    }
+
+    @Override
+    public Map<String, ConversionStats> getToCanonicalStats() {
+        return statsOf(toCanonicalRecorders);
+    }
+
+    @Override
+    public Map<String, ConversionStats> getFromCanonicalStats() {
+        return statsOf(fromCanonicalRecorders);
+    }
+
+    private static Map<String, ConversionStats> statsOf(Map<String, Recorder> recorders) {
+        Map<String, ConversionStats> stats = new TreeMap<>();
+        recorders.forEach((typeAlias, recorder) -> stats.put(typeAlias, recorder.stats()));
+        return stats;
+    }
+
+    private static final class Recorder {
+
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] latencyHistogram = new LongAdder[HISTOGRAM_SIZE];
+
+        Recorder() {
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                latencyHistogram[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, boolean failed) {
+            nanos = Math.max(nanos, 0);
+            latencyHistogram[Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos), HISTOGRAM_SIZE - 1)].increment();
+            totalNanos.add(nanos);
+            if (failed) {
+                failureCount.increment();
+            }
+        }
+
+        ConversionStats stats() {
+            long[] histogram = new long[HISTOGRAM_SIZE];
+            long count = 0;
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                histogram[i] = latencyHistogram[i].sum();
+                count += histogram[i];
+            }
+            return new ConversionStats(count, failureCount.sum(), totalNanos.sum(), histogram);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link ConversionMetrics}, which exposes the statistics of the conversions over JMX.
+ */
+public interface ConversionMetricsMXBean {
+
+    /**
+     * @return the statistics of the conversions of identifiers into canonicals by type alias.
+     */
+    Map<String, ConversionStats> getToCanonicalStats();
+
+    /**
+     * @return the statistics of the conversions of canonicals into identifiers by type alias.
+     */
+    Map<String, ConversionStats> getFromCanonicalStats();
+}
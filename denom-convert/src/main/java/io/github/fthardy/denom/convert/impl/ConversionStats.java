@@ -0,0 +1,90 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The statistics of the conversions of one type alias in one direction.
+ *
+ * @param count the number of conversions, including the failed ones.
+ * @param failureCount the number of conversions which failed.
+ * @param totalNanos the sum of the durations of all conversions, in nanoseconds.
+ * @param latencyHistogram the number of conversions per duration range: the entry at index {@code i > 0} counts the durations from {@code 2^(i-1)}
+ * (inclusive) to {@code 2^i} (exclusive) nanoseconds, the entry at index {@code 0} counts the durations below one nanosecond, and the last entry also counts
+ * all longer durations. The statistics hold a copy of the given histogram and return a copy on each access, so they stay immutable.
+ *
+ * @see ConversionMetrics
+ */
+public record ConversionStats(long count, long failureCount, long totalNanos, long[] latencyHistogram) {
+
+    public ConversionStats {
+        latencyHistogram = Objects.requireNonNull(latencyHistogram).clone();
+    }
+
+    /**
+     * @return a copy of the histogram of the durations.
+     */
+    @Override
+    public long[] latencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /**
+     * @return the mean duration of the conversions in nanoseconds or 0 when there was no conversion yet.
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Estimates a percentile of the durations from the histogram.
+     *
+     * @param percentile the percentile, from 0 (exclusive) to 100 (inclusive).
+     *
+     * @return the exclusive upper bound, in nanoseconds, of the range of the histogram which contains the percentile, or 0 when there was no conversion yet.
+     * For the last range, which has no upper bound, this is its lower bound.
+     */
+    public long percentileNanos(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(Messages.invalidPercentile(percentile));
+        }
+        long histogramCount = 0;
+        for (long rangeCount : latencyHistogram) {
+            histogramCount += rangeCount;
+        }
+        final long rank = (long) Math.ceil(histogramCount * percentile / 100);
+        long cumulativeCount = 0;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            cumulativeCount += latencyHistogram[i];
+            if (cumulativeCount >= rank && cumulativeCount > 0) {
+                return i == latencyHistogram.length - 1 ? 1L << (i - 1) : 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof ConversionStats other && count == other.count && failureCount == other.failureCount && totalNanos == other.totalNanos
+                && Arrays.equals(latencyHistogram, other.latencyHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(count, failureCount, totalNanos) + Arrays.hashCode(latencyHistogram);
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionStats[count=%d, failureCount=%d, totalNanos=%d, latencyHistogram=%s]".formatted(count, failureCount, totalNanos,
+                Arrays.toString(latencyHistogram));
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidPercentile(double percentile) {
+            return "The percentile must be greater than 0 and at most 100 but is %s!".formatted(percentile);
+        }
+    }
+}
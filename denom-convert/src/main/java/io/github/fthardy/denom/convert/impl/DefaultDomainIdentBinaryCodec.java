@@ -0,0 +1,238 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.IntIdent;
+import io.github.fthardy.denom.LongIdent;
+import io.github.fthardy.denom.UuidIdent;
+import io.github.fthardy.denom.convert.DomainIdentBinaryCodec;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * The default implementation of a binary domain identifier codec.
+ * <p>
+ * The type of an identifier is represented by the alias ID of its support, see
+ * {@link DomainIdentCanonicalConverterSupportRegistry#addSupport(DomainIdentConvertSupport, int)}. The binary representation of an identifier is:
+ * </p>
+ * <ul>
+ *     <li>the alias ID as unsigned variable-length integer,</li>
+ *     <li>for a composite identifier: the number of components as unsigned variable-length integer followed by the representations of the components,</li>
+ *     <li>for an atomic identifier of a {@link LongIdentCanonicalConverter} or {@link IntIdentCanonicalConverter}: the value as zigzag-encoded
+ *     variable-length integer,</li>
+ *     <li>for an atomic identifier of a {@link UuidIdentCanonicalConverter}: the 16 bytes of the UUID,</li>
+ *     <li>for any other atomic identifier: the length of the UTF-8 bytes of the value canonical of its converter as unsigned variable-length integer
+ *     followed by these bytes.</li>
+ * </ul>
+ * <p>
+ * As the value of an atomic identifier is either stored exactly or as the canonical of its converter, an identifier can be transcoded losslessly between the
+ * binary and the canonical string representation.
+ * </p>
+ * <p>
+ * As representations are usually read from external sources, decoding rejects composite identifiers nested deeper than {@value #MAX_NESTING_DEPTH} levels
+ * instead of running out of stack.
+ * </p>
+ */
+public final class DefaultDomainIdentBinaryCodec implements DomainIdentBinaryCodec {
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    /** The maximum number of nested composite identifiers which are decoded. */
+    static final int MAX_NESTING_DEPTH = 64;
+
+    private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
+
+    public DefaultDomainIdentBinaryCodec(DomainIdentCanonicalConverterSupportRegistry registry) {
+        this.supportRegistry = registry;
+    }
+
+    @Override
+    public byte[] encode(DomainIdent domainIdent) {
+        ByteSink sink = ByteSink.growable(INITIAL_BUFFER_SIZE);
+        encode(domainIdent, sink, supportRegistry.snapshot());
+        return sink.toByteArray();
+    }
+
+    @Override
+    public void encode(DomainIdent domainIdent, ByteBuffer target) {
+        final int position = target.position();
+        try {
+            encode(domainIdent, ByteSink.of(target), supportRegistry.snapshot());
+        } catch (RuntimeException e) {
+            target.position(position);
+            throw e;
+        }
+    }
+
+    private void encode(DomainIdent domainIdent, ByteSink target, DomainIdentConvertSupportSnapshot snapshot) {
+        DomainIdentConvertSupportSnapshot.Entry entry = getEntry(domainIdent.getClass(), snapshot);
+        VarInts.putUnsigned(target.reserve(VarInts.MAX_LONG_LENGTH), entry.aliasId());
+        switch (domainIdent) {
+            case AtomicIdent<?> atomicIdent -> encodeValue(atomicIdent, entry.support(), target);
+            case CompositeIdent compositeIdent -> {
+                VarInts.putUnsigned(target.reserve(VarInts.MAX_LONG_LENGTH), compositeIdent.componentCount());
+                for (int i = 0; i < compositeIdent.componentCount(); i++) {
+                    encode(compositeIdent.component(i), target, snapshot);
+                }
+            }
+        }
+    }
+
+    private static void encodeValue(AtomicIdent<?> atomicIdent, DomainIdentConvertSupport<?> support, ByteSink target) {
+        switch (support) {
+            case LongIdentCanonicalConverter<?> ignored -> VarInts.putSigned(target.reserve(VarInts.MAX_LONG_LENGTH),
+                    atomicIdent instanceof LongIdent longIdent ? longIdent.longValue() : (Long) atomicIdent.getIdentityValue());
+            case IntIdentCanonicalConverter<?> ignored -> VarInts.putSigned(target.reserve(VarInts.MAX_LONG_LENGTH),
+                    atomicIdent instanceof IntIdent intIdent ? intIdent.intValue() : (Integer) atomicIdent.getIdentityValue());
+            case UuidIdentCanonicalConverter<?> ignored -> {
+                if (atomicIdent instanceof UuidIdent uuidIdent) {
+                    target.reserve(16).putLong(uuidIdent.getMostSignificantBits()).putLong(uuidIdent.getLeastSignificantBits());
+                } else {
+                    UUID uuid = (UUID) atomicIdent.getIdentityValue();
+                    target.reserve(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+                }
+            }
+            default -> {
+                byte[] value = ((AtomicIdentCanonicalConverter<?>) support).toCanonical(atomicIdent).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer buffer = target.reserve(VarInts.MAX_LONG_LENGTH + value.length);
+                VarInts.putUnsigned(buffer, value.length);
+                buffer.put(value);
+            }
+        }
+    }
+
+    @Override
+    public DomainIdent decode(byte[] bytes) {
+        ByteBuffer source = ByteBuffer.wrap(bytes);
+        DomainIdent domainIdent = decode(source);
+        if (source.hasRemaining()) {
+            throw new BinaryDecodeException(Messages.trailingBytes(source.remaining(), source.position()));
+        }
+        return domainIdent;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When decoding fails, the position of the buffer is not modified. The positions in the error messages are absolute positions of the buffer.
+     * </p>
+     *
+     * @throws BinaryDecodeException when the representation is malformed or refers to an unknown alias ID.
+     */
+    @Override
+    public DomainIdent decode(ByteBuffer source) {
+        final int start = source.position();
+        try {
+            return decode(source, supportRegistry.snapshot(), 0);
+        } catch (BinaryDecodeException e) {
+            source.position(start);
+            throw e;
+        } catch (RuntimeException e) {
+            int position = source.position();
+            source.position(start);
+            throw new BinaryDecodeException(Messages.decodingFailed(position), e);
+        }
+    }
+
+    private DomainIdent decode(ByteBuffer source, DomainIdentConvertSupportSnapshot snapshot, int depth) {
+        final int aliasIdPosition = source.position();
+        final long aliasId = VarInts.getUnsigned(source);
+        final DomainIdentConvertSupportSnapshot.Entry entry = aliasId >= 0 && aliasId <= DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID //
+                ? snapshot.getEntryByAliasId((int) aliasId) : null;
+        if (entry == null) {
+            throw new BinaryDecodeException(Messages.unknownAliasId(aliasId, aliasIdPosition));
+        }
+        return switch (entry.support()) {
+            case CompositeIdentFactory<?> factory -> {
+                if (depth == MAX_NESTING_DEPTH) {
+                    throw new BinaryDecodeException(Messages.nestingTooDeep(aliasIdPosition));
+                }
+                yield decodeComposite(source, snapshot, factory, depth + 1);
+            }
+            case LongIdentCanonicalConverter<?> converter -> converter.fromLong(VarInts.getSigned(source));
+            case IntIdentCanonicalConverter<?> converter -> converter.fromInt(Math.toIntExact(VarInts.getSigned(source)));
+            case UuidIdentCanonicalConverter<?> converter -> converter.fromBits(source.getLong(), source.getLong());
+            case AtomicIdentCanonicalConverter<?> converter -> {
+                final int lengthPosition = source.position();
+                final long length = VarInts.getUnsigned(source);
+                if (length < 0 || length > source.remaining()) {
+                    throw new BinaryDecodeException(Messages.truncatedValue(length, lengthPosition));
+                }
+                byte[] value = new byte[(int) length];
+                source.get(value);
+                yield converter.fromCanonical(new String(value, StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    private CompositeIdent decodeComposite(ByteBuffer source, DomainIdentConvertSupportSnapshot snapshot, CompositeIdentFactory<?> factory, int depth) {
+        final int countPosition = source.position();
+        final long count = VarInts.getUnsigned(source);
+        if (count < 2 || count > source.remaining()) { // each component takes at least one byte
+            throw new BinaryDecodeException(Messages.invalidComponentCount(count, countPosition));
+        }
+        DomainIdent first = decode(source, snapshot, depth);
+        DomainIdent second = decode(source, snapshot, depth);
+        DomainIdent[] further = new DomainIdent[(int) count - 2];
+        for (int i = 0; i < further.length; i++) {
+            further[i] = decode(source, snapshot, depth);
+        }
+        return factory.fromComponents(first, second, further);
+    }
+
+    static DomainIdentConvertSupportSnapshot.Entry getEntry(Class<? extends DomainIdent> identClass, DomainIdentConvertSupportSnapshot snapshot) {
+        DomainIdentConvertSupportSnapshot.Entry entry = snapshot.getEntryByClass(identClass);
+        if (entry == null) {
+            throw new NoSuchElementException(DefaultDomainIdentCanonicalConverter.Messages.unknownTypeClass(identClass));
+        }
+        if (entry.aliasId() == DomainIdentConvertSupportSnapshot.NO_ALIAS_ID) {
+            throw new NoSuchElementException(Messages.noAliasId(entry.binding().typeAlias()));
+        }
+        return entry;
+    }
+
+    static final class Messages {
+
+        private Messages() {}
+
+        static String noAliasId(String typeAlias) {
+            return "No alias ID has been assigned to the type alias '%s'!".formatted(typeAlias);
+        }
+
+        static String unknownAliasId(long aliasId, int position) {
+            return "Unknown alias ID %d at position %d!".formatted(aliasId, position);
+        }
+
+        static String invalidComponentCount(long count, int position) {
+            return "Invalid number of composite components %d at position %d!".formatted(count, position);
+        }
+
+        static String nestingTooDeep(int position) {
+            return "Composite identifier at position %d is nested deeper than %d levels!".formatted(position, MAX_NESTING_DEPTH);
+        }
+
+        static String truncatedValue(long length, int position) {
+            return "The value of length %d at position %d exceeds the available bytes!".formatted(length, position);
+        }
+
+        static String trailingBytes(int count, int position) {
+            return "%d unexpected bytes after the end of the representation at position %d!".formatted(count, position);
+        }
+
+        static String decodingFailed(int position) {
+            return "Decoding failed at position %d!".formatted(position);
+        }
+    }
+}
@@ -5,12 +5,19 @@ import io.github.fthardy.denom.CompositeIdent;
 import io.github.fthardy.denom.DomainIdent;
 import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
 import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
-import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
 import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
-import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * The default implementation of a domain identifier converter which converts the domain identifier instances into a human-readable string representation and
@@ -22,42 +29,139 @@ public final class DefaultDomainIdentCanonicalConverter implements DomainIdentCa
     static final char CONTENT_END = ')';
     static final char COMPONENT_SEPARATOR = ',';
 
+    private static final UriCodec.Encoder VALUE_ENCODER = UriCodec.encoder("" + COMPONENT_SEPARATOR + CONTENT_BEGIN + CONTENT_END);
+
+    /** The default number of conversions of a batch up to which the batch is converted by the calling thread. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
     private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
     private final CanonicalDomainIdentParser parser;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
 
     public DefaultDomainIdentCanonicalConverter(DomainIdentCanonicalConverterSupportRegistry registry) {
+        this(registry, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a new converter which converts large batches in parallel.
+     * <p>
+     * A batch of up to {@code parallelThreshold} conversions is converted by the calling thread. A larger batch is split into tasks of at most
+     * {@code parallelThreshold} conversions which are executed by the given pool.
+     * </p>
+     *
+     * @param registry the registry of the convert supports.
+     * @param pool the pool to convert large batches in.
+     * @param parallelThreshold the maximum number of conversions per task.
+     */
+    public DefaultDomainIdentCanonicalConverter(DomainIdentCanonicalConverterSupportRegistry registry, ForkJoinPool pool, int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException(Messages.invalidParallelThreshold(parallelThreshold));
+        }
         this.supportRegistry = registry;
         this.parser = new CanonicalDomainIdentParser(registry);
+        this.pool = Objects.requireNonNull(pool);
+        this.parallelThreshold = parallelThreshold;
     }
 
     @Override
     public String toCanonical(DomainIdent domainIdent) {
-        String canonical;
-        DomainIdentConvertSupport<?> support = supportRegistry.getSupportByClass(domainIdent.getClass());
-        if (support == null) {
-            throw new NoSuchElementException(Messages.unknownTypeClass(domainIdent.getClass()));
-        }
+        StringBuilder canonical = new StringBuilder(64);
+        appendCanonical(domainIdent, canonical);
+        return canonical.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the conversion fails, the builder may contain a partially written canonical.
+     * </p>
+     */
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, StringBuilder builder) {
+        appendCanonical(domainIdent, builder, supportRegistry.snapshot());
+    }
+
+    private void appendCanonical(DomainIdent domainIdent, StringBuilder builder, DomainIdentConvertSupportSnapshot snapshot) {
+        DomainIdentConvertSupportSnapshot.Entry entry = getEntry(domainIdent, snapshot);
+        builder.append(entry.binding().typeAlias()).append(CONTENT_BEGIN);
         switch (domainIdent) {
-            case AtomicIdent<?> atomicIdent -> { //
-                AtomicIdentCanonicalConverter<?> atomicConverter = (AtomicIdentCanonicalConverter<?>) support;
-                canonical = "%s%s%s%s".formatted(atomicConverter.typeClass2AliasBinding().typeAlias(), //
-                        CONTENT_BEGIN, //
-                        UriCodec.encodeUriConform( //
-                                atomicConverter.toCanonical(atomicIdent), "" + COMPONENT_SEPARATOR + CONTENT_BEGIN + CONTENT_END), //
-                        CONTENT_END);
+            case AtomicIdent<?> atomicIdent -> {
+                int valueStart = builder.length();
+                ((AtomicIdentCanonicalConverter<?>) entry.support()).appendCanonical(atomicIdent, builder);
+                encodeValueInPlace(builder, valueStart);
             }
-            case CompositeIdent compositeIdent -> { //
-                CompositeIdentFactory<?> compositeConverter = (CompositeIdentFactory<?>) support;
-                canonical = "%s%s%s%s".formatted( //
-                        compositeConverter.typeClass2AliasBinding().typeAlias(), //
-                        CONTENT_BEGIN, compositeIdent.components().stream() //
-                                .map(this::toCanonical) // recursive call for each component!
-                                .collect(Collectors.joining("" + COMPONENT_SEPARATOR)), //
-                        CONTENT_END);
+            case CompositeIdent compositeIdent -> {
+                for (int i = 0; i < compositeIdent.componentCount(); i++) {
+                    if (i > 0) {
+                        builder.append(COMPONENT_SEPARATOR);
+                    }
+                    appendCanonical(compositeIdent.component(i), builder, snapshot); // recursive call for each component!
+                }
+            }
+        }
+        builder.append(CONTENT_END);
+    }
+
+    private static void encodeValueInPlace(StringBuilder builder, int valueStart) {
+        int nonSafe = VALUE_ENCODER.indexOfNonSafe(builder, valueStart, builder.length());
+        if (nonSafe >= 0) {
+            String rest = builder.substring(nonSafe);
+            builder.setLength(nonSafe);
+            VALUE_ENCODER.encode(rest, 0, rest.length(), builder);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the conversion fails, the appendable may contain a partially written canonical.
+     * </p>
+     */
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendCanonical(domainIdent, builder);
+        } else {
+            appendCanonical(domainIdent, appendable, supportRegistry.snapshot());
+        }
+    }
+
+    private void appendCanonical(DomainIdent domainIdent, Appendable appendable, DomainIdentConvertSupportSnapshot snapshot) throws IOException {
+        DomainIdentConvertSupportSnapshot.Entry entry = getEntry(domainIdent, snapshot);
+        appendable.append(entry.binding().typeAlias()).append(CONTENT_BEGIN);
+        switch (domainIdent) {
+            case AtomicIdent<?> atomicIdent -> //
+                    appendable.append(VALUE_ENCODER.encode(((AtomicIdentCanonicalConverter<?>) entry.support()).toCanonical(atomicIdent)));
+            case CompositeIdent compositeIdent -> {
+                for (int i = 0; i < compositeIdent.componentCount(); i++) {
+                    if (i > 0) {
+                        appendable.append(COMPONENT_SEPARATOR);
+                    }
+                    appendCanonical(compositeIdent.component(i), appendable, snapshot); // recursive call for each component!
+                }
             }
         }
+        appendable.append(CONTENT_END);
+    }
 
-        return canonical;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The canonical is written byte by byte without creating a string for the whole canonical.
+     * </p>
+     */
+    @Override
+    public void writeCanonical(DomainIdent domainIdent, ByteBuffer target) {
+        final int position = target.position();
+        try {
+            appendCanonical(domainIdent, new AsciiByteBufferAppendable(target));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot happen!", e);
+        } catch (RuntimeException e) {
+            target.position(position);
+            throw e;
+        }
     }
 
     @Override
@@ -65,10 +169,136 @@ public final class DefaultDomainIdentCanonicalConverter implements DomainIdentCa
         return parser.parseDomainIdentFrom(canonical);
     }
 
+    @Override
+    public DomainIdent fromCanonical(CharSequence canonical, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, canonical.length());
+        return parser.parseDomainIdentFrom(canonical, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The canonical is parsed directly from the bytes. As a canonical consists of ASCII characters only, any non-ASCII byte is rejected.
+     * </p>
+     */
+    @Override
+    public DomainIdent fromCanonical(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return parser.parseDomainIdentFrom(AsciiCharSequence.checked(ByteBuffer.wrap(bytes), offset, length));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The canonical is parsed directly from the bytes. As a canonical consists of ASCII characters only, any non-ASCII byte is rejected.
+     * </p>
+     */
+    @Override
+    public DomainIdent fromCanonical(ByteBuffer buffer) {
+        DomainIdent domainIdent = parser.parseDomainIdentFrom(AsciiCharSequence.checked(buffer, buffer.position(), buffer.remaining()));
+        buffer.position(buffer.limit());
+        return domainIdent;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All identifiers are converted with the same snapshot of the registry. Each task reuses one builder for all of its conversions.
+     * </p>
+     */
+    @Override
+    public List<String> toCanonicalAll(Collection<? extends DomainIdent> domainIdents) {
+        final DomainIdent[] input = domainIdents.toArray(new DomainIdent[0]);
+        final String[] canonicals = new String[input.length];
+        final DomainIdentConvertSupportSnapshot snapshot = supportRegistry.snapshot();
+        convertAll(input.length, (start, end) -> {
+            StringBuilder builder = new StringBuilder(64);
+            for (int i = start; i < end; i++) {
+                builder.setLength(0);
+                appendCanonical(input[i], builder, snapshot);
+                canonicals[i] = builder.toString();
+            }
+        });
+        return Arrays.asList(canonicals);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All canonicals are parsed with the same snapshot of the registry. Each task reuses one parse context for all of its conversions.
+     * </p>
+     */
+    @Override
+    public List<DomainIdent> fromCanonicalAll(List<? extends CharSequence> canonicals) {
+        final CharSequence[] input = canonicals.toArray(new CharSequence[0]);
+        final DomainIdent[] domainIdents = new DomainIdent[input.length];
+        final TypeAliasTrie typeAliasTrie = supportRegistry.snapshot().getTypeAliasTrie();
+        convertAll(input.length, (start, end) -> {
+            CanonicalParseContext context = new CanonicalParseContext("", 0, 0);
+            for (int i = start; i < end; i++) {
+                context.reset(input[i], 0, input[i].length());
+                domainIdents[i] = parser.parseDomainIdentFrom(context, typeAliasTrie);
+            }
+        });
+        return Arrays.asList(domainIdents);
+    }
+
+    private void convertAll(int size, BatchConversion conversion) {
+        if (size <= parallelThreshold) {
+            conversion.convert(0, size);
+        } else {
+            pool.invoke(new BatchConversionTask(conversion, 0, size, parallelThreshold));
+        }
+    }
+
+    private static DomainIdentConvertSupportSnapshot.Entry getEntry(DomainIdent domainIdent, DomainIdentConvertSupportSnapshot snapshot) {
+        DomainIdentConvertSupportSnapshot.Entry entry = snapshot.getEntryByClass(domainIdent.getClass());
+        if (entry == null) {
+            throw new NoSuchElementException(Messages.unknownTypeClass(domainIdent.getClass()));
+        }
+        return entry;
+    }
+
+    /** The conversion of a range of a batch. */
+    @FunctionalInterface
+    private interface BatchConversion {
+        void convert(int start, int end);
+    }
+
+    /** Splits the range of a batch until it is small enough to be converted by a single task. */
+    private static final class BatchConversionTask extends RecursiveAction {
+
+        private final BatchConversion conversion;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        BatchConversionTask(BatchConversion conversion, int start, int end, int threshold) {
+            this.conversion = conversion;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                conversion.convert(start, end);
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new BatchConversionTask(conversion, start, middle, threshold), new BatchConversionTask(conversion, middle, end, threshold));
+            }
+        }
+    }
+
     static final class Messages {
 
         private Messages() {}
 
+        static String invalidParallelThreshold(int parallelThreshold) {
+            return "The parallel threshold must be at least 1 but is %d!".formatted(parallelThreshold);
+        }
+
         static String unknownTypeClass(Class<? extends DomainIdent> aClass) {
             return "No convert-support-implementation found for domain identifier class: %s".formatted(aClass.getName());
         }
@@ -0,0 +1,292 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.IntIdent;
+import io.github.fthardy.denom.LongIdent;
+import io.github.fthardy.denom.UuidIdent;
+import io.github.fthardy.denom.convert.DomainIdentKeyCodec;
+import io.github.fthardy.denom.convert.atomic.BigIntegerIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LocalDateIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * The default implementation of an order-preserving domain identifier key codec.
+ * <p>
+ * Like the {@link DefaultDomainIdentBinaryCodec}, the key codec identifies the type of an identifier by the alias ID of its support. The key of an identifier
+ * is:
+ * </p>
+ * <ul>
+ *     <li>the alias ID as 2 bytes big-endian, so the keys are ordered by alias ID first,</li>
+ *     <li>for a composite identifier: each component key preceded by the byte {@code 0x01}, followed by the byte {@code 0x00}, so the components are
+ *     compared in their order and a composite identifier with fewer components is ordered before one which extends it,</li>
+ *     <li>for an atomic identifier of a {@link LongIdentCanonicalConverter} or {@link IntIdentCanonicalConverter}: the value as 8 or 4 bytes big-endian with
+ *     flipped sign bit, so the values are ordered numerically,</li>
+ *     <li>for an atomic identifier of a {@link UuidIdentCanonicalConverter}: the 16 bytes of the UUID, so the values are ordered as unsigned 128-bit
+ *     numbers, which is the order of their hexadecimal string representation,</li>
+ *     <li>for an atomic identifier of a {@link BigIntegerIdentCanonicalConverter}: a sign byte, the length of the magnitude as 4 bytes and the magnitude,
+ *     with the length and magnitude bytes inverted for negative values, so the values are ordered numerically,</li>
+ *     <li>for an atomic identifier of a {@link LocalDateIdentCanonicalConverter}: the epoch day like a {@code long} value, so the values are ordered
+ *     chronologically,</li>
+ *     <li>for any other atomic identifier: the UTF-8 bytes of the value canonical of its converter with the bytes {@code 0x00} and {@code 0x01} escaped as
+ *     {@code 0x01 0x01} and {@code 0x01 0x02}, terminated by the byte {@code 0x00}, so the values are ordered by the code points of their canonical. As the
+ *     terminator does not occur within the escaped bytes, no value key is a prefix of another one.</li>
+ * </ul>
+ */
+public final class DefaultDomainIdentKeyCodec implements DomainIdentKeyCodec {
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private static final byte END = 0x00;
+    private static final byte COMPONENT = 0x01;
+    private static final byte ESCAPE = 0x01;
+
+    private static final byte NEGATIVE = 0x00;
+    private static final byte ZERO = 0x01;
+    private static final byte POSITIVE = 0x02;
+
+    private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
+
+    public DefaultDomainIdentKeyCodec(DomainIdentCanonicalConverterSupportRegistry registry) {
+        this.supportRegistry = registry;
+    }
+
+    @Override
+    public byte[] encode(DomainIdent domainIdent) {
+        final ByteSink sink = ByteSink.growable(INITIAL_BUFFER_SIZE);
+        encode(domainIdent, sink, supportRegistry.snapshot());
+        return sink.toByteArray();
+    }
+
+    @Override
+    public byte[] encodePrefix(Class<? extends CompositeIdent> compositeIdentClass, DomainIdent... leadingComponents) {
+        final DomainIdentConvertSupportSnapshot snapshot = supportRegistry.snapshot();
+        final DomainIdentConvertSupportSnapshot.Entry entry = DefaultDomainIdentBinaryCodec.getEntry(compositeIdentClass, snapshot);
+        final ByteSink sink = ByteSink.growable(INITIAL_BUFFER_SIZE);
+        sink.reserve(2).putShort((short) entry.aliasId());
+        for (DomainIdent component : leadingComponents) {
+            sink.reserve(1).put(COMPONENT);
+            encode(component, sink, snapshot);
+        }
+        return sink.toByteArray();
+    }
+
+    private static void encode(DomainIdent domainIdent, ByteSink target, DomainIdentConvertSupportSnapshot snapshot) {
+        final DomainIdentConvertSupportSnapshot.Entry entry = DefaultDomainIdentBinaryCodec.getEntry(domainIdent.getClass(), snapshot);
+        target.reserve(2).putShort((short) entry.aliasId());
+        switch (domainIdent) {
+            case AtomicIdent<?> atomicIdent -> encodeValue(atomicIdent, entry.support(), target);
+            case CompositeIdent compositeIdent -> {
+                for (int i = 0; i < compositeIdent.componentCount(); i++) {
+                    target.reserve(1).put(COMPONENT);
+                    encode(compositeIdent.component(i), target, snapshot);
+                }
+                target.reserve(1).put(END);
+            }
+        }
+    }
+
+    private static void encodeValue(AtomicIdent<?> atomicIdent, DomainIdentConvertSupport<?> support, ByteSink target) {
+        switch (support) {
+            case LongIdentCanonicalConverter<?> ignored -> {
+                long value = atomicIdent instanceof LongIdent longIdent ? longIdent.longValue() : (Long) atomicIdent.getIdentityValue();
+                target.reserve(8).putLong(value ^ Long.MIN_VALUE);
+            }
+            case IntIdentCanonicalConverter<?> ignored -> {
+                int value = atomicIdent instanceof IntIdent intIdent ? intIdent.intValue() : (Integer) atomicIdent.getIdentityValue();
+                target.reserve(4).putInt(value ^ Integer.MIN_VALUE);
+            }
+            case UuidIdentCanonicalConverter<?> ignored -> {
+                if (atomicIdent instanceof UuidIdent uuidIdent) {
+                    target.reserve(16).putLong(uuidIdent.getMostSignificantBits()).putLong(uuidIdent.getLeastSignificantBits());
+                } else {
+                    UUID uuid = (UUID) atomicIdent.getIdentityValue();
+                    target.reserve(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+                }
+            }
+            case BigIntegerIdentCanonicalConverter<?> ignored -> encodeBigInteger((BigInteger) atomicIdent.getIdentityValue(), target);
+            case LocalDateIdentCanonicalConverter<?> ignored ->
+                    target.reserve(8).putLong(((LocalDate) atomicIdent.getIdentityValue()).toEpochDay() ^ Long.MIN_VALUE);
+            default -> {
+                final byte[] value = ((AtomicIdentCanonicalConverter<?>) support).toCanonical(atomicIdent).getBytes(StandardCharsets.UTF_8);
+                final ByteBuffer buffer = target.reserve(2 * value.length + 1); // each byte is escaped at most
+                for (byte b : value) {
+                    if (b == 0x00 || b == ESCAPE) {
+                        buffer.put(ESCAPE).put((byte) (b + 1));
+                    } else {
+                        buffer.put(b);
+                    }
+                }
+                buffer.put(END);
+            }
+        }
+    }
+
+    private static void encodeBigInteger(BigInteger value, ByteSink target) {
+        if (value.signum() == 0) {
+            target.reserve(1).put(ZERO);
+            return;
+        }
+        final byte[] magnitude = value.abs().toByteArray();
+        final int start = magnitude[0] == 0 ? 1 : 0; // skip the sign byte of the two's complement representation
+        final int length = magnitude.length - start;
+        final boolean negative = value.signum() < 0;
+        final int invert = negative ? 0xFF : 0x00;
+        final ByteBuffer buffer = target.reserve(5 + length);
+        buffer.put(negative ? NEGATIVE : POSITIVE).putInt(negative ? ~length : length);
+        for (int i = start; i < magnitude.length; i++) {
+            buffer.put((byte) (magnitude[i] ^ invert));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws BinaryDecodeException when the key is malformed or refers to an unknown alias ID.
+     */
+    @Override
+    public DomainIdent decode(byte[] key) {
+        final ByteBuffer source = ByteBuffer.wrap(key);
+        final DomainIdent domainIdent;
+        try {
+            domainIdent = decode(source, supportRegistry.snapshot());
+        } catch (BinaryDecodeException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BinaryDecodeException(DefaultDomainIdentBinaryCodec.Messages.decodingFailed(source.position()), e);
+        }
+        if (source.hasRemaining()) {
+            throw new BinaryDecodeException(DefaultDomainIdentBinaryCodec.Messages.trailingBytes(source.remaining(), source.position()));
+        }
+        return domainIdent;
+    }
+
+    private static DomainIdent decode(ByteBuffer source, DomainIdentConvertSupportSnapshot snapshot) {
+        final int aliasIdPosition = source.position();
+        final int aliasId = Short.toUnsignedInt(source.getShort());
+        final DomainIdentConvertSupportSnapshot.Entry entry = snapshot.getEntryByAliasId(aliasId);
+        if (entry == null) {
+            throw new BinaryDecodeException(DefaultDomainIdentBinaryCodec.Messages.unknownAliasId(aliasId, aliasIdPosition));
+        }
+        return switch (entry.support()) {
+            case CompositeIdentFactory<?> factory -> decodeComposite(source, snapshot, factory);
+            case LongIdentCanonicalConverter<?> converter -> converter.fromLong(source.getLong() ^ Long.MIN_VALUE);
+            case IntIdentCanonicalConverter<?> converter -> converter.fromInt(source.getInt() ^ Integer.MIN_VALUE);
+            case UuidIdentCanonicalConverter<?> converter -> converter.fromBits(source.getLong(), source.getLong());
+            case BigIntegerIdentCanonicalConverter<?> converter -> converter.fromBigInteger(decodeBigInteger(source));
+            case LocalDateIdentCanonicalConverter<?> converter -> converter.fromLocalDate(LocalDate.ofEpochDay(source.getLong() ^ Long.MIN_VALUE));
+            case AtomicIdentCanonicalConverter<?> converter -> converter.fromCanonical(decodeString(source));
+        };
+    }
+
+    private static CompositeIdent decodeComposite(ByteBuffer source, DomainIdentConvertSupportSnapshot snapshot, CompositeIdentFactory<?> factory) {
+        DomainIdent[] components = new DomainIdent[4];
+        int count = 0;
+        for (byte marker = source.get(); marker != END; marker = source.get()) {
+            if (marker != COMPONENT) {
+                throw new BinaryDecodeException(Messages.invalidMarker(marker, source.position() - 1));
+            }
+            if (count == components.length) {
+                components = Arrays.copyOf(components, count * 2);
+            }
+            components[count++] = decode(source, snapshot);
+        }
+        if (count < 2) {
+            throw new BinaryDecodeException(DefaultDomainIdentBinaryCodec.Messages.invalidComponentCount(count, source.position() - 1));
+        }
+        return factory.fromComponents(components[0], components[1], Arrays.copyOfRange(components, 2, count));
+    }
+
+    private static BigInteger decodeBigInteger(ByteBuffer source) {
+        final byte sign = source.get();
+        if (sign == ZERO) {
+            return BigInteger.ZERO;
+        }
+        if (sign != NEGATIVE && sign != POSITIVE) {
+            throw new BinaryDecodeException(Messages.invalidMarker(sign, source.position() - 1));
+        }
+        final boolean negative = sign == NEGATIVE;
+        final int invert = negative ? 0xFF : 0x00;
+        final int lengthPosition = source.position();
+        final int length = negative ? ~source.getInt() : source.getInt();
+        if (length < 1 || length > source.remaining()) {
+            throw new BinaryDecodeException(DefaultDomainIdentBinaryCodec.Messages.truncatedValue(length, lengthPosition));
+        }
+        final byte[] magnitude = new byte[length];
+        source.get(magnitude);
+        for (int i = 0; i < length; i++) {
+            magnitude[i] ^= (byte) invert;
+        }
+        return new BigInteger(negative ? -1 : 1, magnitude);
+    }
+
+    /**
+     * Decodes an escaped and terminated string value. The terminator is searched first, so the bytes are only copied when they contain escape sequences or
+     * the buffer has no accessible array, and then into an array of the exact length.
+     */
+    private static String decodeString(ByteBuffer source) {
+        final int start = source.position();
+        int end = start;
+        int length = 0;
+        while (true) {
+            if (end >= source.limit()) {
+                throw new BinaryDecodeException(Messages.unterminatedValue(start));
+            }
+            final byte b = source.get(end);
+            if (b == END) {
+                break;
+            }
+            if (b == ESCAPE) {
+                final byte escaped = end + 1 < source.limit() ? source.get(end + 1) : END;
+                if (escaped != 0x01 && escaped != 0x02) {
+                    throw new BinaryDecodeException(Messages.invalidEscape(end));
+                }
+                end++;
+            }
+            end++;
+            length++;
+        }
+        source.position(end + 1);
+        if (length == end - start && source.hasArray()) {
+            return new String(source.array(), source.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        final byte[] value = new byte[length];
+        for (int i = start, j = 0; i < end; i++, j++) {
+            final byte b = source.get(i);
+            value[j] = b == ESCAPE ? (byte) (source.get(++i) - 1) : b;
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    static final class Messages {
+
+        private Messages() {}
+
+        static String invalidMarker(byte marker, int position) {
+            return "Invalid marker byte 0x%02X at position %d!".formatted(marker, position);
+        }
+
+        static String invalidEscape(int position) {
+            return "Invalid escape sequence at position %d!".formatted(position);
+        }
+
+        static String unterminatedValue(int position) {
+            return "The value at position %d is not terminated!".formatted(position);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Computes fingerprints of domain identifiers which are the same in every process, e.g. to route identifiers to the nodes of a cluster.
+ * <p>
+ * Unlike {@link DomainIdent#hashCode()}, which depends on identity hash codes of classes, a fingerprint only depends on the type alias and the value of an
+ * identifier: it is the 128-bit MurmurHash3 ({@code MurmurHash3_x64_128} with seed 0) of the UTF-8 bytes of the canonical representation. So it is also
+ * reproducible from the canonical alone, by any implementation of the hash. The canonical is streamed into the hash by
+ * {@link DomainIdentCanonicalConverter#appendCanonical(DomainIdent, Appendable)}, without creating a string of the whole canonical.
+ * </p>
+ * <p>
+ * The fingerprinter is thread-safe, provided that the converter is thread-safe.
+ * </p>
+ */
+public final class DomainIdentFingerprinter {
+
+    private final DomainIdentCanonicalConverter converter;
+
+    /**
+     * Creates a new fingerprinter.
+     *
+     * @param converter the converter of the canonicals to hash.
+     */
+    public DomainIdentFingerprinter(DomainIdentCanonicalConverter converter) {
+        this.converter = Objects.requireNonNull(converter);
+    }
+
+    /**
+     * Computes the 128-bit fingerprint of a domain identifier.
+     *
+     * @param domainIdent the domain identifier.
+     *
+     * @return the fingerprint.
+     */
+    public Fingerprint fingerprint128(DomainIdent domainIdent) {
+        Murmur3Appendable hash = new Murmur3Appendable();
+        try {
+            converter.appendCanonical(domainIdent, hash);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot happen!", e);
+        }
+        return hash.finish();
+    }
+
+    /**
+     * Computes the 64-bit fingerprint of a domain identifier, which are the first 64 bits of the 128-bit fingerprint.
+     *
+     * @param domainIdent the domain identifier.
+     *
+     * @return the fingerprint.
+     */
+    public long fingerprint64(DomainIdent domainIdent) {
+        return fingerprint128(domainIdent).h1();
+    }
+}
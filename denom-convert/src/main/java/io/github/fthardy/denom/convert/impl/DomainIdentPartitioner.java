@@ -0,0 +1,75 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+
+import java.util.Objects;
+
+/**
+ * Maps domain identifiers to a fixed number of partitions, e.g. the partitions of a topic or the nodes of a cache, by the jump consistent hash of their
+ * {@linkplain DomainIdentFingerprinter#fingerprint64(DomainIdent) 64-bit fingerprint}.
+ * <p>
+ * An identifier is mapped to the same partition in every process. When the number of partitions grows from {@code n} to {@code n + 1}, only about
+ * {@code 1 / (n + 1)} of the identifiers are moved, all of them to the new partition. The partitioner is thread-safe, provided that the fingerprinter is.
+ * </p>
+ *
+ * @see <a href="https://arxiv.org/abs/1406.2294">John Lamping, Eric Veach: A Fast, Minimal Memory, Consistent Hash Algorithm</a>
+ */
+public final class DomainIdentPartitioner {
+
+    private final DomainIdentFingerprinter fingerprinter;
+    private final int partitionCount;
+
+    /**
+     * Creates a new partitioner.
+     *
+     * @param fingerprinter the fingerprinter of the identifiers.
+     * @param partitionCount the number of partitions.
+     */
+    public DomainIdentPartitioner(DomainIdentFingerprinter fingerprinter, int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException(Messages.invalidPartitionCount(partitionCount));
+        }
+        this.fingerprinter = Objects.requireNonNull(fingerprinter);
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * @param domainIdent the domain identifier.
+     *
+     * @return the partition of the identifier, from {@code 0} to the number of partitions (exclusive).
+     */
+    public int partitionOf(DomainIdent domainIdent) {
+        return jumpConsistentHash(fingerprinter.fingerprint64(domainIdent), partitionCount);
+    }
+
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Maps a key to a bucket by the jump consistent hash.
+     *
+     * @param key the key.
+     * @param bucketCount the number of buckets, at least 1.
+     *
+     * @return the bucket, from {@code 0} to the number of buckets (exclusive).
+     */
+    static int jumpConsistentHash(long key, int bucketCount) {
+        long bucket = -1;
+        long next = 0;
+        while (next < bucketCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidPartitionCount(int partitionCount) {
+            return "The partition count must be at least 1 but is %d!".formatted(partitionCount);
+        }
+    }
+}
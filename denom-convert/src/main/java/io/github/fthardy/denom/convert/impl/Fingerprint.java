@@ -0,0 +1,20 @@
+package io.github.fthardy.denom.convert.impl;
+
+/**
+ * A 128-bit fingerprint of a domain identifier.
+ *
+ * @param h1 the first 64 bits, as computed by {@code MurmurHash3_x64_128}. This is also the 64-bit fingerprint.
+ * @param h2 the second 64 bits, as computed by {@code MurmurHash3_x64_128}.
+ *
+ * @see DomainIdentFingerprinter
+ */
+public record Fingerprint(long h1, long h2) {
+
+    /**
+     * @return the 16 bytes of the fingerprint as 32 lower case hexadecimal digits, in the byte order of the reference implementation: {@link #h1()} and then
+     * {@link #h2()}, each little-endian.
+     */
+    public String toHexString() {
+        return "%016x%016x".formatted(Long.reverseBytes(h1), Long.reverseBytes(h2));
+    }
+}
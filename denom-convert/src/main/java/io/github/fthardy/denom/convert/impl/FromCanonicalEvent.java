@@ -0,0 +1,16 @@
+package io.github.fthardy.denom.convert.impl;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JDK Flight Recorder event of a conversion of a canonical into an identifier.
+ */
+@Name(FromCanonicalEvent.NAME)
+@Label("From Canonical")
+@Description("The conversion of a canonical representation into a domain identifier")
+final class FromCanonicalEvent extends ConversionEvent {
+
+    static final String NAME = "io.github.fthardy.denom.FromCanonical";
+}
@@ -0,0 +1,386 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A converter decorator which records the conversions of another converter as JDK Flight Recorder events and, optionally, in {@link ConversionMetrics}.
+ * <p>
+ * Each conversion is recorded with the type alias of the identifier, the length of the canonical, its duration and whether it failed. The type alias of a
+ * canonical is resolved from its leading characters with the type alias trie of the registry, so the type alias of a malformed canonical is known as long as
+ * the alias itself is registered. The events are {@code io.github.fthardy.denom.ToCanonical} and {@code io.github.fthardy.denom.FromCanonical}; when they are
+ * not enabled in a recording, they cost hardly anything. The instrumentation is opt-in: a converter which is not decorated is not affected at all.
+ * </p>
+ * <p>
+ * A batch is converted by the batch conversion of the decorated converter, so it is still converted in parallel when the decorated converter does so. It is
+ * recorded as one event; in the metrics, each identifier of a successful batch is recorded for its type alias with the mean duration of the batch. A failed
+ * batch is recorded in the metrics as one failed conversion for the {@link ConversionMetrics#UNKNOWN_TYPE_ALIAS}, because it is not known which identifier
+ * failed.
+ * </p>
+ * <p>
+ * The decorator is thread-safe, provided that the decorated converter is thread-safe.
+ * </p>
+ */
+public final class InstrumentedDomainIdentCanonicalConverter implements DomainIdentCanonicalConverter {
+
+    private final DomainIdentCanonicalConverter delegate;
+    private final DomainIdentCanonicalConverterSupportRegistry supportRegistry;
+    private final ConversionMetrics metrics;
+
+    /**
+     * Creates a new converter which only records JDK Flight Recorder events.
+     *
+     * @param delegate the converter whose conversions are recorded.
+     * @param registry the registry of the convert supports of the converter, for the type aliases.
+     */
+    public InstrumentedDomainIdentCanonicalConverter(DomainIdentCanonicalConverter delegate, DomainIdentCanonicalConverterSupportRegistry registry) {
+        this(delegate, registry, null);
+    }
+
+    /**
+     * Creates a new converter.
+     *
+     * @param delegate the converter whose conversions are recorded.
+     * @param registry the registry of the convert supports of the converter, for the type aliases.
+     * @param metrics the metrics to record the conversions in or {@code null} to only record JDK Flight Recorder events.
+     */
+    public InstrumentedDomainIdentCanonicalConverter(DomainIdentCanonicalConverter delegate, DomainIdentCanonicalConverterSupportRegistry registry,
+            ConversionMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.supportRegistry = Objects.requireNonNull(registry);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public DomainIdent fromCanonical(String canonical) {
+        final FromCanonicalEvent event = new FromCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final DomainIdent domainIdent;
+        try {
+            domainIdent = delegate.fromCanonical(canonical);
+        } catch (RuntimeException e) {
+            fromCanonicalEnded(event, start, canonical, 0, canonical.length(), e);
+            throw e;
+        }
+        fromCanonicalEnded(event, start, canonical, 0, canonical.length(), null);
+        return domainIdent;
+    }
+
+    @Override
+    public DomainIdent fromCanonical(CharSequence canonical, int offset, int length) {
+        final FromCanonicalEvent event = new FromCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final DomainIdent domainIdent;
+        try {
+            domainIdent = delegate.fromCanonical(canonical, offset, length);
+        } catch (RuntimeException e) {
+            fromCanonicalEnded(event, start, canonical, offset, length, e);
+            throw e;
+        }
+        fromCanonicalEnded(event, start, canonical, offset, length, null);
+        return domainIdent;
+    }
+
+    @Override
+    public DomainIdent fromCanonical(byte[] bytes, int offset, int length) {
+        final FromCanonicalEvent event = new FromCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final DomainIdent domainIdent;
+        try {
+            domainIdent = delegate.fromCanonical(bytes, offset, length);
+        } catch (RuntimeException e) {
+            fromCanonicalEnded(event, start, bytes, offset, length, e);
+            throw e;
+        }
+        fromCanonicalEnded(event, start, bytes, offset, length, null);
+        return domainIdent;
+    }
+
+    @Override
+    public DomainIdent fromCanonical(ByteBuffer buffer) {
+        final FromCanonicalEvent event = new FromCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final int position = buffer.position();
+        final int length = buffer.remaining();
+        final DomainIdent domainIdent;
+        try {
+            domainIdent = delegate.fromCanonical(buffer);
+        } catch (RuntimeException e) {
+            fromCanonicalEnded(event, start, buffer, position, length, e);
+            throw e;
+        }
+        fromCanonicalEnded(event, start, buffer, position, length, null);
+        return domainIdent;
+    }
+
+    @Override
+    public String toCanonical(DomainIdent domainIdent) {
+        final ToCanonicalEvent event = new ToCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final String canonical;
+        try {
+            canonical = delegate.toCanonical(domainIdent);
+        } catch (RuntimeException e) {
+            toCanonicalEnded(event, start, domainIdent, -1, e);
+            throw e;
+        }
+        toCanonicalEnded(event, start, domainIdent, canonical.length(), null);
+        return canonical;
+    }
+
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder builder) {
+            appendCanonical(domainIdent, builder);
+            return;
+        }
+        final ToCanonicalEvent event = new ToCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        try {
+            delegate.appendCanonical(domainIdent, appendable);
+        } catch (IOException | RuntimeException e) {
+            toCanonicalEnded(event, start, domainIdent, -1, e);
+            throw e;
+        }
+        toCanonicalEnded(event, start, domainIdent, -1, null);
+    }
+
+    @Override
+    public void appendCanonical(DomainIdent domainIdent, StringBuilder builder) {
+        final ToCanonicalEvent event = new ToCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final int builderLength = builder.length();
+        try {
+            delegate.appendCanonical(domainIdent, builder);
+        } catch (RuntimeException e) {
+            toCanonicalEnded(event, start, domainIdent, -1, e);
+            throw e;
+        }
+        toCanonicalEnded(event, start, domainIdent, builder.length() - builderLength, null);
+    }
+
+    @Override
+    public void writeCanonical(DomainIdent domainIdent, ByteBuffer target) {
+        final ToCanonicalEvent event = new ToCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final int position = target.position();
+        try {
+            delegate.writeCanonical(domainIdent, target);
+        } catch (RuntimeException e) {
+            toCanonicalEnded(event, start, domainIdent, -1, e);
+            throw e;
+        }
+        toCanonicalEnded(event, start, domainIdent, target.position() - position, null);
+    }
+
+    @Override
+    public List<String> toCanonicalAll(Collection<? extends DomainIdent> domainIdents) {
+        final ToCanonicalEvent event = new ToCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final List<String> canonicals;
+        try {
+            canonicals = delegate.toCanonicalAll(domainIdents);
+        } catch (RuntimeException e) {
+            batchFailed(event, start, domainIdents.size(), e);
+            throw e;
+        }
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) {
+            final long meanNanos = domainIdents.isEmpty() ? 0 : nanos / domainIdents.size();
+            String batchTypeAlias = null;
+            for (DomainIdent domainIdent : domainIdents) {
+                final String typeAlias = typeAliasOf(domainIdent);
+                if (metrics != null) {
+                    metrics.recordToCanonical(typeAlias, meanNanos, false);
+                }
+                batchTypeAlias = batchTypeAlias(batchTypeAlias, typeAlias);
+            }
+            if (event.shouldCommit()) {
+                int length = 0;
+                for (String canonical : canonicals) {
+                    length += canonical.length();
+                }
+                commit(event, Objects.requireNonNullElse(batchTypeAlias, ConversionMetrics.UNKNOWN_TYPE_ALIAS), length, domainIdents.size(), null);
+            }
+        }
+        return canonicals;
+    }
+
+    @Override
+    public List<DomainIdent> fromCanonicalAll(List<? extends CharSequence> canonicals) {
+        final FromCanonicalEvent event = new FromCanonicalEvent();
+        event.begin();
+        final long start = startTime();
+        final List<DomainIdent> domainIdents;
+        try {
+            domainIdents = delegate.fromCanonicalAll(canonicals);
+        } catch (RuntimeException e) {
+            batchFailed(event, start, canonicals.size(), e);
+            throw e;
+        }
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) {
+            final long meanNanos = canonicals.isEmpty() ? 0 : nanos / canonicals.size();
+            String batchTypeAlias = null;
+            int length = 0;
+            for (CharSequence canonical : canonicals) {
+                final String typeAlias = typeAliasOf(canonical, 0, canonical.length());
+                if (metrics != null) {
+                    metrics.recordFromCanonical(typeAlias, meanNanos, false);
+                }
+                batchTypeAlias = batchTypeAlias(batchTypeAlias, typeAlias);
+                length += canonical.length();
+            }
+            if (event.shouldCommit()) {
+                commit(event, Objects.requireNonNullElse(batchTypeAlias, ConversionMetrics.UNKNOWN_TYPE_ALIAS), length, canonicals.size(), null);
+            }
+        }
+        return domainIdents;
+    }
+
+    /**
+     * @return the metrics the conversions are recorded in or {@code null} when only JDK Flight Recorder events are recorded.
+     */
+    public ConversionMetrics getMetrics() {
+        return metrics;
+    }
+
+    private long startTime() {
+        return metrics != null ? System.nanoTime() : 0;
+    }
+
+    private long elapsedNanos(long start) {
+        return metrics != null ? System.nanoTime() - start : 0;
+    }
+
+    private void fromCanonicalEnded(FromCanonicalEvent event, long start, CharSequence canonical, int offset, int length, Exception failure) {
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) {
+            fromCanonicalEnded(event, nanos, typeAliasOf(canonical, offset, length), length, failure);
+        }
+    }
+
+    private void fromCanonicalEnded(FromCanonicalEvent event, long start, ByteBuffer canonical, int offset, int length, Exception failure) {
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) {
+            fromCanonicalEnded(event, nanos, typeAliasOf(canonical, offset, length), length, failure);
+        }
+    }
+
+    private void fromCanonicalEnded(FromCanonicalEvent event, long start, byte[] canonical, int offset, int length, Exception failure) {
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) { // the bytes are only wrapped when the conversion is recorded
+            fromCanonicalEnded(event, nanos, typeAliasOf(ByteBuffer.wrap(canonical), offset, length), length, failure);
+        }
+    }
+
+    private void fromCanonicalEnded(FromCanonicalEvent event, long nanos, String typeAlias, int length, Exception failure) {
+        if (metrics != null) {
+            metrics.recordFromCanonical(typeAlias, nanos, failure != null);
+        }
+        if (event.shouldCommit()) {
+            commit(event, typeAlias, length, 1, failure);
+        }
+    }
+
+    private void toCanonicalEnded(ToCanonicalEvent event, long start, DomainIdent domainIdent, int length, Exception failure) {
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null || event.shouldCommit()) {
+            final String typeAlias = typeAliasOf(domainIdent);
+            if (metrics != null) {
+                metrics.recordToCanonical(typeAlias, nanos, failure != null);
+            }
+            if (event.shouldCommit()) {
+                commit(event, typeAlias, length, 1, failure);
+            }
+        }
+    }
+
+    private void batchFailed(ConversionEvent event, long start, int count, Exception failure) {
+        final long nanos = elapsedNanos(start);
+        event.end();
+        if (metrics != null) {
+            if (event instanceof ToCanonicalEvent) {
+                metrics.recordToCanonical(ConversionMetrics.UNKNOWN_TYPE_ALIAS, nanos, true);
+            } else {
+                metrics.recordFromCanonical(ConversionMetrics.UNKNOWN_TYPE_ALIAS, nanos, true);
+            }
+        }
+        if (event.shouldCommit()) {
+            commit(event, ConversionMetrics.UNKNOWN_TYPE_ALIAS, -1, count, failure);
+        }
+    }
+
+    /** @return the type alias of all identifiers of a batch so far or the {@link ConversionMetrics#UNKNOWN_TYPE_ALIAS} when they differ. */
+    private static String batchTypeAlias(String batchTypeAlias, String typeAlias) {
+        return batchTypeAlias == null || batchTypeAlias.equals(typeAlias) ? typeAlias : ConversionMetrics.UNKNOWN_TYPE_ALIAS;
+    }
+
+    private static void commit(ConversionEvent event, String typeAlias, int length, int count, Exception failure) {
+        event.typeAlias = typeAlias;
+        event.length = length;
+        event.count = count;
+        event.failure = failure == null ? null : failure.toString();
+        event.commit();
+    }
+
+    private String typeAliasOf(DomainIdent domainIdent) {
+        DomainIdentConvertSupportSnapshot.Entry entry = domainIdent == null ? null : supportRegistry.snapshot().getEntryByClass(domainIdent.getClass());
+        return entry == null ? ConversionMetrics.UNKNOWN_TYPE_ALIAS : entry.binding().typeAlias();
+    }
+
+    /** @return the registered type alias at the beginning of a canonical, resolved without creating a string. */
+    private String typeAliasOf(CharSequence canonical, int offset, int length) {
+        TypeAliasTrie.Node node = supportRegistry.snapshot().getTypeAliasTrie().root();
+        for (int i = offset; i < offset + length && node != null; i++) {
+            final char c = canonical.charAt(i);
+            if (c == DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN) {
+                return typeAliasOf(node.support());
+            }
+            node = node.child(c);
+        }
+        return ConversionMetrics.UNKNOWN_TYPE_ALIAS;
+    }
+
+    /** @return the registered type alias at the beginning of a canonical of ASCII bytes, resolved without creating a string. */
+    private String typeAliasOf(ByteBuffer canonical, int offset, int length) {
+        TypeAliasTrie.Node node = supportRegistry.snapshot().getTypeAliasTrie().root();
+        for (int i = offset; i < offset + length && node != null; i++) {
+            final byte b = canonical.get(i);
+            if (b == DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN) {
+                return typeAliasOf(node.support());
+            }
+            node = b < 0 ? null : node.child((char) b);
+        }
+        return ConversionMetrics.UNKNOWN_TYPE_ALIAS;
+    }
+
+    private static String typeAliasOf(DomainIdentConvertSupport<?> support) {
+        return support == null ? ConversionMetrics.UNKNOWN_TYPE_ALIAS : support.typeClass2AliasBinding().typeAlias();
+    }
+}
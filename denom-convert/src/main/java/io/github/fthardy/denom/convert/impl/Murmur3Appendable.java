@@ -0,0 +1,132 @@
+package io.github.fthardy.denom.convert.impl;
+
+/**
+ * An appendable which computes the 128-bit MurmurHash3 (x64 variant, seed 0) of the UTF-8 bytes of the characters appended to it, without buffering them.
+ * <p>
+ * The result is the same as hashing the bytes of {@code String.getBytes(StandardCharsets.UTF_8)} of all appended characters with the reference
+ * implementation {@code MurmurHash3_x64_128}, including the replacement of unpaired surrogates by {@code '?'}. An instance is used for one hash only.
+ * </p>
+ */
+final class Murmur3Appendable implements Appendable {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+
+    // the pending bytes of the current block of 16 bytes, little-endian
+    private long k1;
+    private long k2;
+    private int blockLength;
+
+    private long length;
+    private char highSurrogate;
+
+    @Override
+    public Murmur3Appendable append(CharSequence sequence) {
+        return append(sequence, 0, sequence.length());
+    }
+
+    @Override
+    public Murmur3Appendable append(CharSequence sequence, int start, int end) {
+        for (int i = start; i < end; i++) {
+            append(sequence.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Murmur3Appendable append(char c) {
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                putByte(0xF0 | codePoint >>> 18);
+                putByte(0x80 | codePoint >>> 12 & 0x3F);
+                putByte(0x80 | codePoint >>> 6 & 0x3F);
+                putByte(0x80 | codePoint & 0x3F);
+                return this;
+            }
+            putByte('?');
+        }
+        if (c < 0x80) {
+            putByte(c);
+        } else if (c < 0x800) {
+            putByte(0xC0 | c >>> 6);
+            putByte(0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            putByte('?');
+        } else {
+            putByte(0xE0 | c >>> 12);
+            putByte(0x80 | c >>> 6 & 0x3F);
+            putByte(0x80 | c & 0x3F);
+        }
+        return this;
+    }
+
+    private void putByte(int b) {
+        final long value = b & 0xFFL;
+        if (blockLength < 8) {
+            k1 |= value << (blockLength << 3);
+        } else {
+            k2 |= value << ((blockLength - 8) << 3);
+        }
+        length++;
+        if (++blockLength == 16) {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            k1 = 0;
+            k2 = 0;
+            blockLength = 0;
+        }
+    }
+
+    /**
+     * Completes the hash. No characters must be appended afterwards.
+     *
+     * @return the hash.
+     */
+    Fingerprint finish() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            putByte('?');
+        }
+        // the bytes of an incomplete block which are not set are zero, and mixing zero does not change the hash
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new Fingerprint(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
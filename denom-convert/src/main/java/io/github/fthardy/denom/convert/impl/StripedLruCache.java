@@ -0,0 +1,126 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe cache with least-recently-used eviction.
+ * <p>
+ * The cache is split into a number of stripes, each with its own lock and an equal share of the maximum size. So concurrent accesses only contend when they
+ * hit the same stripe. Eviction is LRU within a stripe.
+ * </p>
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class StripedLruCache<K, V> {
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeMask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of entries.
+     */
+    @SuppressWarnings("unchecked")
+    StripedLruCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the cache must be positive: " + maximumSize);
+        }
+        int stripeCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1, Integer.highestOneBit(maximumSize));
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        int stripeSize = maximumSize / stripeCount;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(i < maximumSize % stripeCount ? stripeSize + 1 : stripeSize, evictionCount);
+        }
+    }
+
+    /**
+     * @param key the key.
+     *
+     * @return the cached value or {@code null} when there is no entry for the given key.
+     */
+    V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        V value;
+        stripe.lock.lock();
+        try {
+            value = stripe.get(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+        (value == null ? missCount : hitCount).increment();
+        return value;
+    }
+
+    /**
+     * Adds or replaces an entry. When the stripe of the key is full, its least-recently-used entry is evicted.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    void put(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.put(key, value);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current number of entries.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maximumSize;
+        private final LongAdder evictionCount;
+
+        Stripe(int maximumSize, LongAdder evictionCount) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+            this.evictionCount = evictionCount;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > maximumSize) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An index of the positions of the structural characters in a block of bytes which contains canonicals, one per line.
+ * <p>
+ * The structural characters are the begin and the end of a content, the component separator, the percent sign, the line feed and any non-ASCII byte. The
+ * index is built in a single pass over the block, which checks a whole vector of bytes at once when the module {@code jdk.incubator.vector} is available.
+ * Parsing from the index jumps from one structural character to the next instead of checking every character, see {@link StructuralIndexParser}.
+ * </p>
+ * <p>
+ * An index is reused for all blocks of a chunk and is not thread-safe.
+ * </p>
+ */
+final class StructuralIndex {
+
+    static final byte LINE_FEED = '\n';
+
+    private static final boolean VECTORIZED = isVectorized();
+
+    private final byte[] bytes;
+    private final int[] positions;
+    private int length;
+    private int size;
+
+    /**
+     * Creates a new index.
+     *
+     * @param capacity the maximum number of bytes of a block.
+     */
+    StructuralIndex(int capacity) {
+        this.bytes = new byte[capacity];
+        this.positions = new int[capacity + 1];
+    }
+
+    private static boolean isVectorized() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorizedStructuralScanner.laneCount() <= Long.SIZE;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies a block of bytes from a given buffer and builds the index of the block.
+     *
+     * @param source the buffer to copy the block from. Its position and limit are ignored and not modified.
+     * @param offset the absolute index of the first byte of the block.
+     * @param length the number of bytes of the block, at most the capacity of this index.
+     */
+    void build(ByteBuffer source, int offset, int length) {
+        source.get(offset, bytes, 0, length);
+        this.length = length;
+        int i = 0;
+        size = 0;
+        if (VECTORIZED) { // the trailing bytes which fill no whole vector are checked one by one
+            size = VectorizedStructuralScanner.scan(bytes, length, (byte) DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN,
+                    (byte) DefaultDomainIdentCanonicalConverter.CONTENT_END, (byte) DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR, (byte) '%',
+                    LINE_FEED, positions);
+            i = length - length % VectorizedStructuralScanner.laneCount();
+        }
+        for (; i < length; i++) {
+            if (isStructural(bytes[i])) {
+                positions[size++] = i;
+            }
+        }
+        positions[size] = length; // the sentinel
+    }
+
+    /**
+     * @return the bytes of the block, which are valid up to the {@link #length()}.
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the positions of the structural characters in ascending order, followed by the length of the block as a sentinel.
+     */
+    int[] positions() {
+        return positions;
+    }
+
+    /**
+     * @return the number of bytes of the block.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * @return the maximum number of bytes of a block.
+     */
+    int capacity() {
+        return bytes.length;
+    }
+
+    static boolean isStructural(byte b) {
+        return switch (b) {
+            case DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN, DefaultDomainIdentCanonicalConverter.CONTENT_END,
+                 DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR, '%', LINE_FEED -> true;
+            default -> b < 0;
+        };
+    }
+}
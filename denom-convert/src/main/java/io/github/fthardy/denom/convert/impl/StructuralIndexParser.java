@@ -0,0 +1,151 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.TypeAliasTrie;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parser for the lines of a block of canonicals which jumps along the entries of a {@link StructuralIndex} instead of checking every character.
+ * <p>
+ * Between two entries of the index there are only ASCII characters which are not structural, so a type alias is looked up and an identity value is passed to
+ * its converter without checking its characters again. This parser only handles well-formed canonicals: it gives up on a line, by returning {@code null},
+ * whenever the line is malformed, contains a non-ASCII character or a converter fails. Such a line must be parsed again by the
+ * {@link CanonicalDomainIdentParser}, which reports the error, so the results and errors are exactly the same as if every line were parsed by that parser.
+ * </p>
+ * <p>
+ * A parser is bound to an index and is not thread-safe.
+ * </p>
+ */
+final class StructuralIndexParser {
+
+    private static final DomainIdent[] NO_FURTHER_COMPONENTS = new DomainIdent[0];
+
+    private final TypeAliasTrie typeAliasTrie;
+    private final byte[] bytes;
+    private final int[] positions;
+    private final AsciiCharSequence sequence;
+
+    private int entry;
+    private int position;
+    private int lineEnd;
+
+    StructuralIndexParser(StructuralIndex index, TypeAliasTrie typeAliasTrie) {
+        this.typeAliasTrie = typeAliasTrie;
+        this.bytes = index.bytes();
+        this.positions = index.positions();
+        this.sequence = AsciiCharSequence.unchecked(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Parses a line of the block of the index.
+     *
+     * @param firstEntry the index of the first entry of the index at or after the beginning of the line.
+     * @param lineStart the index of the first byte of the line within the block.
+     * @param lineEnd the index after the last byte of the line within the block.
+     *
+     * @return the parsed domain identifier or {@code null} when the line must be parsed by the {@link CanonicalDomainIdentParser}.
+     */
+    DomainIdent parseLine(int firstEntry, int lineStart, int lineEnd) {
+        this.entry = firstEntry;
+        this.lineEnd = lineEnd;
+        try {
+            DomainIdent domainIdent = parse(lineStart);
+            return position == lineEnd ? domainIdent : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private DomainIdent parse(int start) {
+        final int contentBegin = positions[entry];
+        if (contentBegin >= lineEnd || contentBegin == start || bytes[contentBegin] != DefaultDomainIdentCanonicalConverter.CONTENT_BEGIN) {
+            return null;
+        }
+        TypeAliasTrie.Node node = typeAliasTrie.root();
+        for (int i = start; node != null && i < contentBegin; i++) {
+            node = node.child((char) bytes[i]);
+        }
+        final DomainIdentConvertSupport<?> support = node == null ? null : node.support();
+        entry++;
+        if (support instanceof AtomicIdentCanonicalConverter<?> converter) {
+            return parseAtomicIdent(converter, contentBegin + 1);
+        }
+        if (support instanceof CompositeIdentFactory<?> factory) {
+            position = contentBegin + 1;
+            return parseCompositeIdent(factory);
+        }
+        return null;
+    }
+
+    private DomainIdent parseAtomicIdent(AtomicIdentCanonicalConverter<?> converter, int start) {
+        int firstPercent = -1;
+        int contentEnd;
+        for (; ; entry++) {
+            contentEnd = positions[entry];
+            if (contentEnd >= lineEnd) {
+                return null;
+            }
+            final byte b = bytes[contentEnd];
+            if (b == DefaultDomainIdentCanonicalConverter.CONTENT_END) {
+                break;
+            }
+            if (b == '%') {
+                firstPercent = firstPercent < 0 ? contentEnd : firstPercent;
+            } else if (b != DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR) {
+                return null;
+            }
+        }
+        if (contentEnd == start) {
+            return null;
+        }
+        entry++;
+        position = contentEnd + 1;
+        if (firstPercent < 0) {
+            return converter.fromCanonical(sequence, start, contentEnd - start);
+        }
+        StringBuilder decoded = new StringBuilder(contentEnd - start);
+        decoded.append(sequence, start, firstPercent);
+        UriCodec.decode(sequence, firstPercent, contentEnd, decoded);
+        return converter.fromCanonical(decoded, 0, decoded.length());
+    }
+
+    private DomainIdent parseCompositeIdent(CompositeIdentFactory<?> factory) {
+        final DomainIdent first = parse(position);
+        if (first == null || !consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR)) {
+            return null;
+        }
+        final DomainIdent second = parse(position);
+        if (second == null) {
+            return null;
+        }
+        DomainIdent[] further = NO_FURTHER_COMPONENTS;
+        if (consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR)) {
+            List<DomainIdent> furtherComponents = new ArrayList<>();
+            do {
+                DomainIdent component = parse(position);
+                if (component == null) {
+                    return null;
+                }
+                furtherComponents.add(component);
+            } while (consume(DefaultDomainIdentCanonicalConverter.COMPONENT_SEPARATOR));
+            further = furtherComponents.toArray(NO_FURTHER_COMPONENTS);
+        }
+        return consume(DefaultDomainIdentCanonicalConverter.CONTENT_END) ? factory.fromComponents(first, second, further) : null;
+    }
+
+    /** @return {@code true} when the given structural character is at the current position and has been consumed. */
+    private boolean consume(char c) {
+        if (position < lineEnd && positions[entry] == position && bytes[position] == c) {
+            entry++;
+            position++;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.fthardy.denom.convert.impl;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JDK Flight Recorder event of a conversion of an identifier into its canonical.
+ */
+@Name(ToCanonicalEvent.NAME)
+@Label("To Canonical")
+@Description("The conversion of a domain identifier into its canonical representation")
+final class ToCanonicalEvent extends ConversionEvent {
+
+    static final String NAME = "io.github.fthardy.denom.ToCanonical";
+}
@@ -1,9 +1,6 @@
 package io.github.fthardy.denom.convert.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * A utility class providing methods for encoding and decoding a string in RFC-3986-conform representation aka percent-encoding/decoding (UTF-8).
@@ -19,20 +16,69 @@ import java.util.List;
  *     percentage sequences.</li>
  * </ul>
  * </p>
+ * <p>
+ * When the same set of non-safe symbols is used repeatedly, an {@link Encoder} should be created once via {@link #encoder(String)} and reused.
+ * </p>
+ * <p>
+ * When the module {@code jdk.incubator.vector} is available at runtime (e.g. by {@code --add-modules jdk.incubator.vector}), an encoder scans strings and
+ * string builders of at least {@value #MIN_VECTORIZED_LENGTH} characters for characters to be encoded with the Vector API. Otherwise, or when the module
+ * cannot be used, all characters are checked one by one. Runs of characters which remain unencoded are copied in bulk.
+ * </p>
  */
 public final class UriCodec {
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /** The minimum number of characters of a range which is scanned with the Vector API. */
+    static final int MIN_VECTORIZED_LENGTH = 32;
+
+    /** The number of characters which are copied into the buffer of a vectorized scan at once. */
+    private static final int VECTORIZED_CHUNK_LENGTH = 128;
+
+    /** The buffer of the vectorized scans of a thread, which is reused because encoders are shared between threads. */
+    private static final ThreadLocal<char[]> VECTORIZED_CHUNK = ThreadLocal.withInitial(() -> new char[VECTORIZED_CHUNK_LENGTH]);
+
+    /** The number of characters checked at once by a vectorized scan or 0 when the Vector API is not available. */
+    static final int VECTOR_LENGTH = vectorLength();
+
+    private static final Encoder DEFAULT_ENCODER = new Encoder(null);
+
     private UriCodec() {}
 
+    private static int vectorLength() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return 0;
+        }
+        try {
+            return VectorizedSafeCharScanner.laneCount();
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Creates an encoder for the given set of non-safe characters.
+     * <p>
+     * The encoder is immutable and thread-safe. It is intended to be created once and reused for any number of encodings.
+     * </p>
+     *
+     * @param nonSafeChars a string containing the non-safe characters (these are going to be encoded). Can be {@code null} or empty.
+     *
+     * @return the encoder instance.
+     */
+    public static Encoder encoder(String nonSafeChars) {
+        return nonSafeChars == null || nonSafeChars.isEmpty() ? DEFAULT_ENCODER : new Encoder(nonSafeChars);
+    }
+
     /**
      * Encodes a given string sequence into a RFC3986-conform (percent-notation, UTF-8) representation.
      *
      * @param toEncode the string to be encoded.
      *
-     * @return the encoded string.
+     * @return the encoded string. This is the given string instance itself when it doesn't contain any character to be encoded.
      */
     public static String encodeUriConform(String toEncode) {
-        return encodeUriConform(toEncode, null);
+        return DEFAULT_ENCODER.encode(toEncode);
     }
 
     /**
@@ -41,33 +87,10 @@ public final class UriCodec {
      * @param toEncode the string to be encoded.
      * @param nonSafeChars a string containing the non-safe characters (these are going to be encoded).
      *
-     * @return the encoded string.
+     * @return the encoded string. This is the given string instance itself when it doesn't contain any character to be encoded.
      */
     public static String encodeUriConform(String toEncode, String nonSafeChars) {
-        if (toEncode == null || toEncode.isEmpty()) {
-            return toEncode;
-        }
-
-        StringBuilder strBuilder = new StringBuilder(toEncode.length() + 16);
-        for (int cp : toEncode.codePoints().toArray()) {
-            List<Integer> excludedSafeSymbols = nonSafeChars == null || nonSafeChars.isEmpty() ? //
-                    Collections.emptyList() : nonSafeChars.codePoints().boxed().distinct().toList();
-
-            if ((isUnreserved(cp) || isSafeSymbol(cp)) && !excludedSafeSymbols.contains(cp)) {
-                strBuilder.appendCodePoint(cp);
-            } else { // UTF-8 bytewise percent-encoding
-                for (byte b : new String(Character.toChars(cp)).getBytes(StandardCharsets.UTF_8)) {
-                    strBuilder.append('%');
-                    String hex = Integer.toHexString(b & 0xFF).toUpperCase();
-                    if (hex.length() == 1) {
-                        strBuilder.append('0');
-                    }
-                    strBuilder.append(hex);
-                }
-            }
-        }
-
-        return strBuilder.toString();
+        return encoder(nonSafeChars).encode(toEncode);
     }
 
     /**
@@ -78,50 +101,120 @@ public final class UriCodec {
      *
      * @param toDecode the encoded string to be decoded.
      *
-     * @return the decoded representation of the input string.
+     * @return the decoded representation of the input string. This is the given string instance itself when it doesn't contain any %HH-sequence.
      */
     public static String decodeUriConform(String toDecode) {
         if (toDecode == null || toDecode.isEmpty()) {
             return toDecode;
         }
 
+        final int firstPercent = toDecode.indexOf('%');
+        if (firstPercent < 0) {
+            return toDecode;
+        }
+
         StringBuilder strBuilder = new StringBuilder(toDecode.length());
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        strBuilder.append(toDecode, 0, firstPercent);
+        decode(toDecode, firstPercent, toDecode.length(), strBuilder);
+        return strBuilder.toString();
+    }
 
-        for (int i = 0; i < toDecode.length(); ) {
+    /**
+     * Decodes a range of a RFC-3986 (percent-notation, UTF-8) encoded character sequence and appends the result to the given target.
+     *
+     * @param toDecode the character sequence containing the encoded range.
+     * @param start the start index of the range (inclusive).
+     * @param end the end index of the range (exclusive).
+     * @param target the target to append the decoded characters to.
+     *
+     * @throws IllegalArgumentException when the range contains an invalid %HH-sequence.
+     */
+    static void decode(CharSequence toDecode, int start, int end, StringBuilder target) {
+        byte[] buffer = null;
+        for (int i = start; i < end; ) {
             char c = toDecode.charAt(i);
             if (c == '%') { // collect consecutive %HH-sequences as bytes
-                buffer.reset();
-                while (i < toDecode.length() && toDecode.charAt(i) == '%') {
-                    if (i + 2 >= toDecode.length()) {
+                if (buffer == null) {
+                    buffer = new byte[(end - i) / 3];
+                }
+                int length = 0;
+                while (i < end && toDecode.charAt(i) == '%') {
+                    if (i + 2 >= end) {
                         throw new IllegalArgumentException("Invalid percent encoding at index " + i);
                     }
-                    buffer.write(hexToByte(toDecode.charAt(i + 1), toDecode.charAt(i + 2)));
+                    buffer[length++] = (byte) hexToByte(toDecode.charAt(i + 1), toDecode.charAt(i + 2));
                     i += 3;
                 }
-                strBuilder.append(buffer.toString(StandardCharsets.UTF_8));
-            } else {
-                strBuilder.append(c);
-                i++;
+                appendUtf8(buffer, length, target);
+            } else { // append the run of characters up to the next %HH-sequence in bulk
+                int nextPercent = indexOfPercent(toDecode, i + 1, end);
+                target.append(toDecode, i, nextPercent);
+                i = nextPercent;
             }
         }
-        return strBuilder.toString();
     }
 
-    private static boolean isUnreserved(int cp) {
-        return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') || (cp >= '0' && cp <= '9') || cp == '-' || cp == '.' || cp == '_' || cp == '~';
+    /**
+     * @return the index of the first '%' in the range or the end of the range when there is none.
+     */
+    private static int indexOfPercent(CharSequence sequence, int start, int end) {
+        if (sequence instanceof String string) { // intrinsic search
+            int index = string.indexOf('%', start, end);
+            return index < 0 ? end : index;
+        }
+        int i = start;
+        while (i < end && sequence.charAt(i) != '%') {
+            i++;
+        }
+        return i;
     }
 
     /**
-     * Additional characters which are not going to be modified:
-     * - sub-delims: "! $ & ' ( ) * + , ; ="
-     * - used separator/context characters: ":" "@"
-     * - square brackets and commas for your notation: "[" "]" ","
+     * Appends the characters of the given UTF-8 bytes. Well-formed byte sequences are decoded in place. For malformed ones the JDK decoder is used, so the
+     * replacement of malformed input stays the same as with {@code new String(bytes, UTF_8)}.
      */
-    private static boolean isSafeSymbol(int cp) {
-        return switch (cp) { // is NOT going to remain as safe; encodeUriConform encoded '%' into %25
-            case '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=', ':', '@', '[', ']' -> true;
-            default -> false;
+    private static void appendUtf8(byte[] bytes, int length, StringBuilder target) {
+        final int mark = target.length();
+        for (int i = 0; i < length; ) {
+            final int b0 = bytes[i] & 0xFF;
+            if (b0 < 0x80) {
+                target.append((char) b0);
+                i++;
+            } else if (b0 >= 0xC2 && b0 <= 0xDF && i + 1 < length && isContinuation(bytes[i + 1])) {
+                target.append((char) (((b0 & 0x1F) << 6) | (bytes[i + 1] & 0x3F)));
+                i += 2;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF && i + 2 < length && isValidSecondOf3(b0, bytes[i + 1] & 0xFF) && isContinuation(bytes[i + 2])) {
+                target.append((char) (((b0 & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F)));
+                i += 3;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4 && i + 3 < length && isValidSecondOf4(b0, bytes[i + 1] & 0xFF) //
+                    && isContinuation(bytes[i + 2]) && isContinuation(bytes[i + 3])) {
+                target.appendCodePoint(((b0 & 0x07) << 18) | ((bytes[i + 1] & 0x3F) << 12) | ((bytes[i + 2] & 0x3F) << 6) | (bytes[i + 3] & 0x3F));
+                i += 4;
+            } else { // malformed input
+                target.setLength(mark);
+                target.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static boolean isValidSecondOf3(int b0, int b1) {
+        return switch (b0) {
+            case 0xE0 -> b1 >= 0xA0 && b1 <= 0xBF; // no overlong encodings
+            case 0xED -> b1 >= 0x80 && b1 <= 0x9F; // no surrogates
+            default -> b1 >= 0x80 && b1 <= 0xBF;
+        };
+    }
+
+    private static boolean isValidSecondOf4(int b0, int b1) {
+        return switch (b0) {
+            case 0xF0 -> b1 >= 0x90 && b1 <= 0xBF; // no overlong encodings
+            case 0xF4 -> b1 >= 0x80 && b1 <= 0x8F; // nothing above U+10FFFF
+            default -> b1 >= 0x80 && b1 <= 0xBF;
         };
     }
 
@@ -133,4 +226,186 @@ public final class UriCodec {
         }
         return (hi << 4) | lo;
     }
+
+    /**
+     * A precompiled percent-encoder for a particular set of non-safe characters.
+     * <p>
+     * The set of ASCII characters which remain unencoded is held as a 128-bit mask, so checking a character is a single bit test. Any non-ASCII character is
+     * always encoded. For the vectorized scan, the mask is also held as rows of 16 bits.
+     * </p>
+     */
+    public static final class Encoder {
+
+        private final long safeLow; // characters 0-63
+        private final long safeHigh; // characters 64-127
+        private final short[] safeRows; // the mask as rows of 16 characters for the vectorized scan, or null
+
+        private Encoder(String nonSafeChars) {
+            long low = 0L;
+            long high = 0L;
+            for (char c = 0; c < 128; c++) {
+                if ((isUnreserved(c) || isSafeSymbol(c)) && (nonSafeChars == null || nonSafeChars.indexOf(c) < 0)) {
+                    if (c < 64) {
+                        low |= 1L << c;
+                    } else {
+                        high |= 1L << (c - 64);
+                    }
+                }
+            }
+            this.safeLow = low;
+            this.safeHigh = high;
+            this.safeRows = VECTOR_LENGTH > 0 ? safeRows(low, high) : null;
+        }
+
+        private static short[] safeRows(long low, long high) {
+            short[] rows = new short[VECTOR_LENGTH];
+            for (int i = 0; i < rows.length; i++) {
+                int row = i % VectorizedSafeCharScanner.ROW_COUNT;
+                rows[i] = (short) ((row < 4 ? low : high) >>> (row % 4 * 16));
+            }
+            return rows;
+        }
+
+        /**
+         * Determines whether a given character remains unencoded.
+         *
+         * @param c the character to check.
+         *
+         * @return {@code true} when the character is not going to be encoded.
+         */
+        public boolean isSafe(char c) {
+            return c < 64 ? (safeLow & (1L << c)) != 0 : c < 128 && (safeHigh & (1L << (c - 64))) != 0;
+        }
+
+        /**
+         * Encodes a given string sequence into a RFC3986-conform (percent-notation, UTF-8) representation.
+         *
+         * @param toEncode the string to be encoded.
+         *
+         * @return the encoded string. This is the given string instance itself when it doesn't contain any character to be encoded.
+         */
+        public String encode(String toEncode) {
+            if (toEncode == null || toEncode.isEmpty()) {
+                return toEncode;
+            }
+
+            final int firstNonSafe = indexOfNonSafe(toEncode, 0, toEncode.length());
+            if (firstNonSafe < 0) {
+                return toEncode;
+            }
+
+            StringBuilder strBuilder = new StringBuilder(toEncode.length() + 16);
+            strBuilder.append(toEncode, 0, firstNonSafe);
+            encode(toEncode, firstNonSafe, toEncode.length(), strBuilder);
+            return strBuilder.toString();
+        }
+
+        /**
+         * Encodes a range of a character sequence and appends the result to the given target.
+         *
+         * @param toEncode the character sequence containing the range to be encoded.
+         * @param start the start index of the range (inclusive).
+         * @param end the end index of the range (exclusive).
+         * @param target the target to append the encoded characters to.
+         */
+        public void encode(CharSequence toEncode, int start, int end, StringBuilder target) {
+            for (int i = start; i < end; i++) {
+                final char c = toEncode.charAt(i);
+                if (isSafe(c)) { // append the run of safe characters in bulk, the rest of a long run is scanned by indexOfNonSafe
+                    int runEnd = i + 1;
+                    final int scalarEnd = Math.min(end, i + MIN_VECTORIZED_LENGTH);
+                    while (runEnd < scalarEnd && isSafe(toEncode.charAt(runEnd))) {
+                        runEnd++;
+                    }
+                    if (runEnd == scalarEnd && runEnd < end) {
+                        final int nonSafe = indexOfNonSafe(toEncode, runEnd, end);
+                        runEnd = nonSafe < 0 ? end : nonSafe;
+                    }
+                    target.append(toEncode, i, runEnd);
+                    i = runEnd - 1;
+                } else if (c < 0x80) {
+                    appendEscaped(c, target);
+                } else if (c < 0x800) {
+                    appendEscaped(0xC0 | (c >> 6), target);
+                    appendEscaped(0x80 | (c & 0x3F), target);
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(toEncode.charAt(i + 1))) {
+                    final int cp = Character.toCodePoint(c, toEncode.charAt(++i));
+                    appendEscaped(0xF0 | (cp >> 18), target);
+                    appendEscaped(0x80 | ((cp >> 12) & 0x3F), target);
+                    appendEscaped(0x80 | ((cp >> 6) & 0x3F), target);
+                    appendEscaped(0x80 | (cp & 0x3F), target);
+                } else if (Character.isSurrogate(c)) { // unpaired surrogates are not encodable and are replaced like the JDK encoder does it
+                    appendEscaped('?', target);
+                } else {
+                    appendEscaped(0xE0 | (c >> 12), target);
+                    appendEscaped(0x80 | ((c >> 6) & 0x3F), target);
+                    appendEscaped(0x80 | (c & 0x3F), target);
+                }
+            }
+        }
+
+        /**
+         * Finds the first character in a range of a character sequence which is going to be encoded.
+         *
+         * @param sequence the character sequence.
+         * @param start the start index of the range (inclusive).
+         * @param end the end index of the range (exclusive).
+         *
+         * @return the index of the first character to be encoded or -1 when the range contains none.
+         */
+        public int indexOfNonSafe(CharSequence sequence, int start, int end) {
+            if (safeRows != null && end - start >= MIN_VECTORIZED_LENGTH && (sequence instanceof String || sequence instanceof StringBuilder)) {
+                return indexOfNonSafeVectorized(sequence, start, end);
+            }
+            for (int i = start; i < end; i++) {
+                if (!isSafe(sequence.charAt(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Copies the range chunk by chunk into the buffer of the thread, which is scanned in whole vectors. The trailing characters of a chunk are checked one
+         * by one.
+         */
+        private int indexOfNonSafeVectorized(CharSequence sequence, int start, int end) {
+            final char[] chunk = VECTORIZED_CHUNK.get();
+            for (int chunkStart = start; chunkStart < end; chunkStart += VECTORIZED_CHUNK_LENGTH) {
+                int chunkLength = Math.min(VECTORIZED_CHUNK_LENGTH, end - chunkStart);
+                if (sequence instanceof String string) {
+                    string.getChars(chunkStart, chunkStart + chunkLength, chunk, 0);
+                } else {
+                    ((StringBuilder) sequence).getChars(chunkStart, chunkStart + chunkLength, chunk, 0);
+                }
+                for (int i = VectorizedSafeCharScanner.skipSafe(chunk, chunkLength, safeRows); i < chunkLength; i++) {
+                    if (!isSafe(chunk[i])) {
+                        return chunkStart + i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static void appendEscaped(int b, StringBuilder target) {
+            target.append('%').append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+        }
+
+        private static boolean isUnreserved(int cp) {
+            return (cp >= 'a' && cp <= 'z') || (cp >= 'A' && cp <= 'Z') || (cp >= '0' && cp <= '9') || cp == '-' || cp == '.' || cp == '_' || cp == '~';
+        }
+
+        /**
+         * Additional characters which are not going to be modified:
+         * - sub-delims: "! $ & ' ( ) * + , ; ="
+         * - used separator/context characters: ":" "@"
+         * - square brackets and commas for your notation: "[" "]" ","
+         */
+        private static boolean isSafeSymbol(int cp) {
+            return switch (cp) { // is NOT going to remain as safe; encodeUriConform encoded '%' into %25
+                case '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=', ':', '@', '[', ']' -> true;
+                default -> false;
+            };
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package io.github.fthardy.denom.convert.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Utility functions for variable-length integer encoding.
+ * <p>
+ * A value is written in groups of 7 bits, least significant group first. The highest bit of each byte signals that another byte follows. Signed values are
+ * zigzag-encoded first, so small negative values get short encodings as well.
+ * </p>
+ */
+final class VarInts {
+
+    /** The maximum number of bytes of an encoded {@code long}. */
+    static final int MAX_LONG_LENGTH = 10;
+
+    private VarInts() {}
+
+    static void putUnsigned(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static void putSigned(ByteBuffer target, long value) {
+        putUnsigned(target, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the encoding is longer than {@link #MAX_LONG_LENGTH} bytes, exceeds 64 bits or is not the shortest encoding of
+     * its value, so that each value has exactly one encoding.
+     * @throws java.nio.BufferUnderflowException when the encoding is truncated.
+     */
+    static long getUnsigned(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < MAX_LONG_LENGTH * 7; shift += 7) {
+            final byte b = source.get();
+            if (b >= 0) {
+                if (b == 0 && shift > 0) {
+                    throw new IllegalArgumentException(Messages.notShortest());
+                }
+                if (shift == Long.SIZE - 1 && b > 1) {
+                    throw new IllegalArgumentException(Messages.tooLarge());
+                }
+                return value | (long) b << shift;
+            }
+            value |= (long) (b & 0x7F) << shift;
+        }
+        throw new IllegalArgumentException(Messages.tooLong());
+    }
+
+    static long getSigned(ByteBuffer source) {
+        long value = getUnsigned(source);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static final class Messages {
+
+        private Messages() {}
+
+        static String tooLong() {
+            return "Variable-length integer is longer than %d bytes!".formatted(MAX_LONG_LENGTH);
+        }
+
+        static String tooLarge() {
+            return "Variable-length integer exceeds 64 bits!";
+        }
+
+        static String notShortest() {
+            return "Variable-length integer is not encoded in the least number of bytes!";
+        }
+    }
+}
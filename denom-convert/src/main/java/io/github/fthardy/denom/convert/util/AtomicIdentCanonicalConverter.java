@@ -5,6 +5,12 @@ import io.github.fthardy.denom.AtomicIdent;
 /**
  * Defines the support interface for an atomic identifiers which is a converter for converting atomic identifiers to a canonical representation and from a
  * canonical representation.
+ * <p>
+ * The identity value representation handled by a converter is the raw value. Escaping the value for the canonical of the whole identifier is up to the
+ * calling domain identifier converter. Converters which can parse from and write to character buffers directly should override
+ * {@link #fromCanonical(CharSequence, int, int)} and {@link #appendCanonical(AtomicIdent, StringBuilder)}, see the converters in
+ * {@code io.github.fthardy.denom.convert.atomic}.
+ * </p>
  *
  * @param <T> a concrete atomic identifier type class.
  */
@@ -21,6 +27,19 @@ public non-sealed interface AtomicIdentCanonicalConverter<T extends AtomicIdent<
         return atomicIdent.getIdentityValue().toString();
     }
 
+    /**
+     * Append the canonical representation of a given atomic identifier instance to a string builder.
+     * <p>
+     * The default implementation appends the result of {@link #toCanonical(AtomicIdent)}.
+     * </p>
+     *
+     * @param atomicIdent the atomic identifier instance to be converted.
+     * @param target the builder to append the canonical representation to.
+     */
+    default void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        target.append(toCanonical(atomicIdent));
+    }
+
     /**
      * Convert a given canonical representation string into an instance of an atomic identifier.
      *
@@ -29,4 +48,20 @@ public non-sealed interface AtomicIdentCanonicalConverter<T extends AtomicIdent<
      * @return the atomic identifier instance.
      */
     T fromCanonical(String canonical);
+
+    /**
+     * Convert a canonical representation, which is a range of a given character sequence, into an instance of an atomic identifier.
+     * <p>
+     * The default implementation creates a string from the range and calls {@link #fromCanonical(String)}.
+     * </p>
+     *
+     * @param canonical the character sequence containing the canonical representation.
+     * @param offset the index of the first character of the canonical representation.
+     * @param length the number of characters of the canonical representation.
+     *
+     * @return the atomic identifier instance.
+     */
+    default T fromCanonical(CharSequence canonical, int offset, int length) {
+        return fromCanonical(canonical.subSequence(offset, offset + length).toString());
+    }
 }
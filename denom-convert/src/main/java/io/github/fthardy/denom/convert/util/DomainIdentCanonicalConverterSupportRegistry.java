@@ -2,18 +2,45 @@ package io.github.fthardy.denom.convert.util;
 
 import io.github.fthardy.denom.DomainIdent;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A simple registry implementation for {@link DomainIdentConvertSupport} instances.
+ * <p>
+ * The registry is thread-safe. Supports are added to the registry which freezes them into an immutable {@link DomainIdentConvertSupportSnapshot snapshot}
+ * on demand. Lookups are served by the current snapshot, so they need no synchronization. A snapshot is only rebuilt on the first lookup after a support has
+ * been added.
+ * </p>
  *
  * @see DomainIdentConvertSupport
  */
 public class DomainIdentCanonicalConverterSupportRegistry {
 
-    private final Map<Class<?>, DomainIdentConvertSupport<?>> supportByIdentClass = new HashMap<>();
-    private final Map<String, DomainIdentConvertSupport<?>> supportByTypeAlias = new HashMap<>();
+    private final Map<Class<?>, DomainIdentConvertSupport<?>> supportByIdentClass;
+    private final Map<String, DomainIdentConvertSupport<?>> supportByTypeAlias;
+    private final Map<Integer, DomainIdentConvertSupport<?>> supportByAliasId;
+    private final List<DomainIdentConvertSupportSnapshot.Entry> entries;
+
+    private volatile DomainIdentConvertSupportSnapshot snapshot;
+
+    public DomainIdentCanonicalConverterSupportRegistry() {
+        this(16);
+    }
+
+    /**
+     * Creates a new registry which is sized for a given number of supports, so adding them needs no rehashing.
+     *
+     * @param expectedSupportCount the number of supports which are expected to be added.
+     */
+    public DomainIdentCanonicalConverterSupportRegistry(int expectedSupportCount) {
+        this.supportByIdentClass = HashMap.newHashMap(expectedSupportCount);
+        this.supportByTypeAlias = HashMap.newHashMap(expectedSupportCount);
+        this.supportByAliasId = HashMap.newHashMap(expectedSupportCount);
+        this.entries = new ArrayList<>(expectedSupportCount);
+    }
 
     /**
      * Add a new support.
@@ -21,19 +48,66 @@ public class DomainIdentCanonicalConverterSupportRegistry {
      * @param support the support to add.
      */
     public void addSupport(DomainIdentConvertSupport<?> support) {
+        addSupport(support, DomainIdentConvertSupportSnapshot.NO_ALIAS_ID);
+    }
+
+    /**
+     * Add a new support with a numeric alias ID.
+     * <p>
+     * The alias ID represents the type alias in binary representations, see {@link io.github.fthardy.denom.convert.DomainIdentBinaryCodec}. As binary
+     * representations may be stored, the ID of a type alias must never change once it has been assigned.
+     * </p>
+     *
+     * @param support the support to add.
+     * @param aliasId the alias ID in the range of {@code 0} to {@link DomainIdentConvertSupportSnapshot#MAX_ALIAS_ID}.
+     */
+    public synchronized void addSupport(DomainIdentConvertSupport<?> support, int aliasId) {
         IdentTypeClass2AliasBinding<?> identTypeAlias = support.typeClass2AliasBinding();
 
         if (supportByIdentClass.containsKey(identTypeAlias.identClass())) {
             throw new IllegalArgumentException(Messages.bindingExistsForTypeClass( //
-                    support.typeClass2AliasBinding(), supportByIdentClass.get(identTypeAlias.identClass())));
+                    identTypeAlias, supportByIdentClass.get(identTypeAlias.identClass())));
         }
         if (supportByTypeAlias.containsKey(identTypeAlias.typeAlias())) {
             throw new IllegalArgumentException(Messages.bindingExistsForTypeAlias( //
-                    support.typeClass2AliasBinding(), supportByTypeAlias.get(identTypeAlias.typeAlias())));
+                    identTypeAlias, supportByTypeAlias.get(identTypeAlias.typeAlias())));
+        }
+        if (aliasId != DomainIdentConvertSupportSnapshot.NO_ALIAS_ID) {
+            if (aliasId < 0 || aliasId > DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID) {
+                throw new IllegalArgumentException(Messages.invalidAliasId(aliasId));
+            }
+            if (supportByAliasId.containsKey(aliasId)) {
+                throw new IllegalArgumentException(Messages.aliasIdExists(aliasId, identTypeAlias, supportByAliasId.get(aliasId)));
+            }
         }
 
         supportByIdentClass.put(identTypeAlias.identClass(), support);
         supportByTypeAlias.put(identTypeAlias.typeAlias(), support);
+        if (aliasId != DomainIdentConvertSupportSnapshot.NO_ALIAS_ID) {
+            supportByAliasId.put(aliasId, support);
+        }
+        entries.add(new DomainIdentConvertSupportSnapshot.Entry(entries.size(), support, identTypeAlias, aliasId));
+        snapshot = null;
+    }
+
+    /**
+     * Provides an immutable snapshot of all supports added so far.
+     * <p>
+     * The same snapshot instance is returned until another support is added.
+     * </p>
+     *
+     * @return the snapshot.
+     */
+    public DomainIdentConvertSupportSnapshot snapshot() {
+        DomainIdentConvertSupportSnapshot current = snapshot;
+        return current != null ? current : createSnapshot();
+    }
+
+    private synchronized DomainIdentConvertSupportSnapshot createSnapshot() {
+        if (snapshot == null) {
+            snapshot = new DomainIdentConvertSupportSnapshot(entries);
+        }
+        return snapshot;
     }
 
     /**
@@ -44,7 +118,8 @@ public class DomainIdentCanonicalConverterSupportRegistry {
      * @return the support implementation instance or {@code null} when there is no registration for the given class.
      */
     public DomainIdentConvertSupport<?> getSupportByClass(Class<? extends DomainIdent> identClass) {
-        return supportByIdentClass.get(identClass);
+        DomainIdentConvertSupportSnapshot.Entry entry = snapshot().getEntryByClass(identClass);
+        return entry == null ? null : entry.support();
     }
 
     /**
@@ -55,7 +130,15 @@ public class DomainIdentCanonicalConverterSupportRegistry {
      * @return the support implementation instance or {@code null} when there is no registration for the given type.
      */
     public DomainIdentConvertSupport<?> getSupportByTypeAlias(String typeAlias) {
-        return supportByTypeAlias.get(typeAlias);
+        DomainIdentConvertSupportSnapshot.Entry entry = snapshot().getEntryByTypeAlias(typeAlias);
+        return entry == null ? null : entry.support();
+    }
+
+    /**
+     * @return the trie of the alias names of all registered supports.
+     */
+    public TypeAliasTrie getTypeAliasTrie() {
+        return snapshot().getTypeAliasTrie();
     }
 
     static final class Messages {
@@ -70,5 +153,14 @@ public class DomainIdentCanonicalConverterSupportRegistry {
             return "Cannot add support implementation because the type alias name of the provided binding (%s) is already bound to a support: %s".formatted(
                     providedBinding, existingSupport);
         }
+
+        static String invalidAliasId(int aliasId) {
+            return "Invalid alias ID: %d! The ID must be in the range of 0 to %d.".formatted(aliasId, DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID);
+        }
+
+        static String aliasIdExists(int aliasId, IdentTypeClass2AliasBinding<?> providedBinding, DomainIdentConvertSupport<?> existingSupport) {
+            return "Cannot add support implementation for binding (%s) because the alias ID %d is already assigned to a support: %s".formatted(
+                    providedBinding, aliasId, existingSupport);
+        }
     }
 }
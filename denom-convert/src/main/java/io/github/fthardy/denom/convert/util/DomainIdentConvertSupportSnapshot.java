@@ -0,0 +1,132 @@
+package io.github.fthardy.denom.convert.util;
+
+import io.github.fthardy.denom.DomainIdent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the supports registered at a {@link DomainIdentCanonicalConverterSupportRegistry}.
+ * <p>
+ * A snapshot is frozen, so it can be shared by any number of threads without synchronization. Each support is represented by an {@link Entry} which holds
+ * the binding of the support, obtained once on registration, and a dense ordinal. The ordinals are the indexes {@code 0} to {@code size() - 1} in
+ * registration order and allow to keep per-support data in plain arrays. Lookups by type class are served by a {@link ClassValue}.
+ * </p>
+ *
+ * @see DomainIdentCanonicalConverterSupportRegistry#snapshot()
+ */
+public final class DomainIdentConvertSupportSnapshot {
+
+    /** The alias ID of a support which has been added without an alias ID. */
+    public static final int NO_ALIAS_ID = -1;
+
+    /** The maximum alias ID. Alias IDs are kept in a table, so they should be assigned densely. */
+    public static final int MAX_ALIAS_ID = 0xFFFF;
+
+    private static final Entry NO_ENTRY = new Entry(-1, null, null, NO_ALIAS_ID);
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Entry[] entries;
+    private final Map<String, Entry> entryByTypeAlias;
+    private final Entry[] entryByAliasId;
+    private final ClassValue<Entry> entryByIdentClass;
+    private final TypeAliasTrie typeAliasTrie;
+
+    DomainIdentConvertSupportSnapshot(List<Entry> entries) {
+        this.entries = entries.toArray(new Entry[0]);
+        this.entryByTypeAlias = HashMap.newHashMap(entries.size());
+        this.typeAliasTrie = new TypeAliasTrie();
+        Map<Class<?>, Entry> entryByClass = HashMap.newHashMap(entries.size());
+        int maxAliasId = NO_ALIAS_ID;
+        for (Entry entry : this.entries) {
+            maxAliasId = Math.max(maxAliasId, entry.aliasId());
+            entryByClass.put(entry.binding().identClass(), entry);
+            entryByTypeAlias.put(entry.binding().typeAlias(), entry);
+            typeAliasTrie.add(entry.binding().typeAlias(), entry.support());
+        }
+        this.entryByAliasId = maxAliasId == NO_ALIAS_ID ? NO_ENTRIES : new Entry[maxAliasId + 1];
+        for (Entry entry : this.entries) {
+            if (entry.aliasId() != NO_ALIAS_ID) {
+                entryByAliasId[entry.aliasId()] = entry;
+            }
+        }
+        this.entryByIdentClass = new ClassValue<>() {
+            @Override
+            protected Entry computeValue(Class<?> type) {
+                return entryByClass.getOrDefault(type, NO_ENTRY);
+            }
+        };
+    }
+
+    /**
+     * @return the number of supports in this snapshot.
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Get an entry by its ordinal.
+     *
+     * @param ordinal the ordinal of the entry.
+     *
+     * @return the entry.
+     *
+     * @throws IndexOutOfBoundsException when the ordinal is not in the range {@code 0} to {@code size() - 1}.
+     */
+    public Entry getEntry(int ordinal) {
+        return entries[ordinal];
+    }
+
+    /**
+     * Get an entry by the type class of a domain identifier.
+     *
+     * @param identClass the type class of the domain identifier.
+     *
+     * @return the entry or {@code null} when there is no support for the given class.
+     */
+    public Entry getEntryByClass(Class<? extends DomainIdent> identClass) {
+        Entry entry = entryByIdentClass.get(identClass);
+        return entry == NO_ENTRY ? null : entry;
+    }
+
+    /**
+     * Get an entry by the alias name of a domain identifier type class.
+     *
+     * @param typeAlias the alias name.
+     *
+     * @return the entry or {@code null} when there is no support for the given alias.
+     */
+    public Entry getEntryByTypeAlias(String typeAlias) {
+        return entryByTypeAlias.get(typeAlias);
+    }
+
+    /**
+     * Get an entry by its alias ID.
+     *
+     * @param aliasId the alias ID.
+     *
+     * @return the entry or {@code null} when there is no support with the given alias ID.
+     */
+    public Entry getEntryByAliasId(int aliasId) {
+        return aliasId >= 0 && aliasId < entryByAliasId.length ? entryByAliasId[aliasId] : null;
+    }
+
+    /**
+     * @return the trie of the alias names of all supports in this snapshot.
+     */
+    public TypeAliasTrie getTypeAliasTrie() {
+        return typeAliasTrie;
+    }
+
+    /**
+     * A support and its binding.
+     *
+     * @param ordinal the dense ordinal of the support within the snapshot.
+     * @param support the support implementation.
+     * @param binding the binding of the support, obtained once on registration.
+     * @param aliasId the alias ID of the support or {@link #NO_ALIAS_ID} when the support has been added without one.
+     */
+    public record Entry(int ordinal, DomainIdentConvertSupport<?> support, IdentTypeClass2AliasBinding<?> binding, int aliasId) {}
+}
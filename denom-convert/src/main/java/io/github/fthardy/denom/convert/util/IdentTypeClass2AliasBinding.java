@@ -20,14 +20,42 @@ import java.lang.reflect.Modifier;
  */
 public record IdentTypeClass2AliasBinding<T extends DomainIdent>(Class<T> identClass, String typeAlias) {
 
+    /** The maximum length of a type alias name. */
+    public static final int MAX_TYPE_ALIAS_LENGTH = 32;
+
     public IdentTypeClass2AliasBinding {
         int modifiers = identClass.getModifiers();
         if (!Modifier.isFinal(modifiers)) {
             throw new IllegalArgumentException("The given domain identifier class must be final!");
         }
 
-        if (!typeAlias.matches("^(?!.*--)[a-z](?:[a-z0-9-]{0,30}[a-z0-9])?$")) {
+        if (!isValidTypeAlias(typeAlias)) {
             throw new IllegalArgumentException("Invalid type alias: " + typeAlias);
         }
     }
+
+    /**
+     * Checks whether a given name conforms to the format of a type alias name.
+     *
+     * @param typeAlias the name to check.
+     *
+     * @return {@code true} when the name is a valid type alias name, {@code false} otherwise.
+     */
+    public static boolean isValidTypeAlias(String typeAlias) {
+        final int length = typeAlias.length();
+        if (length == 0 || length > MAX_TYPE_ALIAS_LENGTH || !isLowerCaseLetter(typeAlias.charAt(0)) || typeAlias.charAt(length - 1) == '-') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = typeAlias.charAt(i);
+            if (c == '-' ? typeAlias.charAt(i - 1) == '-' : !isLowerCaseLetter(c) && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLowerCaseLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
 }
@@ -0,0 +1,103 @@
+package io.github.fthardy.denom.convert.util;
+
+import java.util.Arrays;
+
+/**
+ * A trie of the type alias names of registered {@link DomainIdentConvertSupport} instances.
+ * <p>
+ * The trie allows to resolve the support for a type alias directly from the characters of an input sequence without creating a string for the alias. A
+ * parser walks down the trie character by character, starting at the {@link #root() root node}, and can reject an unknown alias at the first character which
+ * has no matching child node.
+ * </p>
+ *
+ * @see DomainIdentCanonicalConverterSupportRegistry
+ */
+public final class TypeAliasTrie {
+
+    private final Node root = new Node();
+
+    TypeAliasTrie() {}
+
+    /**
+     * @return the root node which represents the empty alias.
+     */
+    public Node root() {
+        return root;
+    }
+
+    /**
+     * Get a support implementation by an alias name.
+     *
+     * @param typeAlias the alias name.
+     *
+     * @return the support implementation instance or {@code null} when there is no registration for the given alias.
+     */
+    public DomainIdentConvertSupport<?> get(CharSequence typeAlias) {
+        Node node = root;
+        for (int i = 0; i < typeAlias.length() && node != null; i++) {
+            node = node.child(typeAlias.charAt(i));
+        }
+        return node == null ? null : node.support();
+    }
+
+    void add(String typeAlias, DomainIdentConvertSupport<?> support) {
+        Node node = root;
+        for (int i = 0; i < typeAlias.length(); i++) {
+            node = node.getOrAddChild(typeAlias.charAt(i));
+        }
+        node.support = support;
+    }
+
+    /**
+     * A node of the trie which represents an alias prefix.
+     */
+    public static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Most nodes have only one or two children, so a linear search over small arrays is faster and much smaller than a table per node.
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private DomainIdentConvertSupport<?> support;
+
+        private Node() {}
+
+        /**
+         * Get the child node for the next alias character.
+         *
+         * @param c the next character.
+         *
+         * @return the child node or {@code null} when no registered alias continues with the given character.
+         */
+        public Node child(char c) {
+            final char[] labels = this.labels;
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the support implementation bound to the alias represented by this node or {@code null} when the alias is only a prefix of registered
+         * aliases.
+         */
+        public DomainIdentConvertSupport<?> support() {
+            return support;
+        }
+
+        private Node getOrAddChild(char c) {
+            Node child = child(c);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BigIntegerIdentCanonicalConverterTest {
+
+    static final class SerialNumberIdent extends AtomicIdent<BigInteger> {
+        SerialNumberIdent(BigInteger identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final BigIntegerIdentCanonicalConverter<SerialNumberIdent> converter = //
+            new BigIntegerIdentCanonicalConverter<>(SerialNumberIdent.class, "serial", SerialNumberIdent::new);
+
+    @Test
+    void round_trip() {
+        for (String value : new String[] {"0", "-1", "999999999999999999", "9223372036854775807", "-9223372036854775808", "9223372036854775808",
+                "123456789012345678901234567890"}) {
+            SerialNumberIdent ident = converter.fromCanonical(value);
+            assertThat(ident.getIdentityValue()).isEqualTo(new BigInteger(value));
+            assertThat(converter.toCanonical(ident)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void fromCanonical__invalid() {
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("12x"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("123456789012345678901234567890x"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("+42"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("0123456789012345678901234567890"));
+    }
+}
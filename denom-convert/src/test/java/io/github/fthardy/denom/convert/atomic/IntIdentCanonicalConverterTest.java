@@ -0,0 +1,38 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.IntIdent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntIdentCanonicalConverterTest {
+
+    static final class BranchIdent extends IntIdent {
+        BranchIdent(int identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final IntIdentCanonicalConverter<BranchIdent> converter = new IntIdentCanonicalConverter<>(BranchIdent.class, "branch", BranchIdent::new);
+
+    @Test
+    void toCanonical() {
+        assertThat(converter.toCanonical(new BranchIdent(Integer.MIN_VALUE))).isEqualTo(Integer.toString(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void fromCanonical__range() {
+        assertThat(converter.fromCanonical("id(2147483647)", 3, 10)).isEqualTo(new BranchIdent(Integer.MAX_VALUE));
+        assertThat(converter.fromCanonical("0")).isEqualTo(new BranchIdent(0));
+    }
+
+    @Test
+    void fromCanonical__invalid() {
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("2147483648"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("+42"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("0042"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("-0"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("\uff14\uff12")); // fullwidth digits
+    }
+}
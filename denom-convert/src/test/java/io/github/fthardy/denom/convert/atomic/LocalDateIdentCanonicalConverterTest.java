@@ -0,0 +1,49 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalDateIdentCanonicalConverterTest {
+
+    static final class ReportDateIdent extends AtomicIdent<LocalDate> {
+        ReportDateIdent(LocalDate identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final LocalDateIdentCanonicalConverter<ReportDateIdent> converter = //
+            new LocalDateIdentCanonicalConverter<>(ReportDateIdent.class, "report-date", ReportDateIdent::new);
+
+    @Test
+    void toCanonical__same_as_LocalDate_toString() {
+        for (LocalDate date : new LocalDate[] {LocalDate.of(2024, 2, 29), LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1),
+                LocalDate.of(-1, 6, 15)}) {
+            assertThat(converter.toCanonical(new ReportDateIdent(date))).isEqualTo(date.toString());
+        }
+    }
+
+    @Test
+    void fromCanonical__round_trip() {
+        for (LocalDate date : new LocalDate[] {LocalDate.of(2024, 2, 29), LocalDate.of(10000, 1, 1), LocalDate.of(-1, 6, 15)}) {
+            assertThat(converter.fromCanonical(date.toString()).getIdentityValue()).isEqualTo(date);
+        }
+    }
+
+    @Test
+    void fromCanonical__range() {
+        assertThat(converter.fromCanonical("report-date(2025-10-03)", 12, 10).getIdentityValue()).isEqualTo(LocalDate.of(2025, 10, 3));
+    }
+
+    @Test
+    void fromCanonical__invalid() {
+        assertThrows(DateTimeException.class, () -> converter.fromCanonical("2023-02-29"));
+        assertThrows(DateTimeException.class, () -> converter.fromCanonical("2023-2-28"));
+        assertThrows(DateTimeException.class, () -> converter.fromCanonical("2023-0a-28"));
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongIdentCanonicalConverterTest {
+
+    static final class BoxedAccountIdent extends AtomicIdent<Long> {
+        BoxedAccountIdent(Long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final LongIdentCanonicalConverter<AccountIdent> converter = new LongIdentCanonicalConverter<>(AccountIdent.class, "account", AccountIdent::new);
+
+    @Test
+    void typeClass2AliasBinding() {
+        assertThat(converter.typeClass2AliasBinding().identClass()).isEqualTo(AccountIdent.class);
+        assertThat(converter.typeClass2AliasBinding().typeAlias()).isEqualTo("account");
+    }
+
+    @Test
+    void toCanonical() {
+        assertThat(converter.toCanonical(new AccountIdent(Long.MIN_VALUE))).isEqualTo(Long.toString(Long.MIN_VALUE));
+        assertThat(converter.toCanonical(new BoxedAccountIdent(4711L))).isEqualTo("4711");
+    }
+
+    @Test
+    void appendCanonical() {
+        StringBuilder target = new StringBuilder("x:");
+
+        converter.appendCanonical(new AccountIdent(-42), target);
+
+        assertThat(target).hasToString("x:-42");
+    }
+
+    @Test
+    void fromCanonical__range() {
+        assertThat(converter.fromCanonical("id(9223372036854775807)", 3, 19)).isEqualTo(new AccountIdent(Long.MAX_VALUE));
+        assertThat(converter.fromCanonical("-42")).isEqualTo(new AccountIdent(-42));
+    }
+
+    @Test
+    void fromCanonical__invalid() {
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("4a"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical(""));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("9223372036854775808"));
+    }
+
+    @Test
+    void fromCanonical__invalid__no_canonical_decimal_form() {
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("+42"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("0042"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("-042"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("-0"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("-"));
+        assertThrows(NumberFormatException.class, () -> converter.fromCanonical("\u0664\u0662")); // Arabic-Indic digits
+        assertThat(converter.fromCanonical("0")).isEqualTo(new AccountIdent(0));
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.fthardy.denom.convert.atomic;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.UuidIdent;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidIdentCanonicalConverterTest {
+
+    static final class DocumentIdent extends UuidIdent {
+        DocumentIdent(long mostSignificantBits, long leastSignificantBits) {
+            super(mostSignificantBits, leastSignificantBits);
+        }
+    }
+
+    static final class BoxedDocumentIdent extends AtomicIdent<UUID> {
+        BoxedDocumentIdent(UUID identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final UuidIdentCanonicalConverter<DocumentIdent> converter = new UuidIdentCanonicalConverter<>(DocumentIdent.class, "doc", DocumentIdent::new);
+
+    @Test
+    void toCanonical__same_as_UUID_toString() {
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.randomUUID();
+            assertThat(converter.toCanonical(new DocumentIdent(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()))).isEqualTo(uuid.toString());
+            assertThat(converter.toCanonical(new BoxedDocumentIdent(uuid))).isEqualTo(uuid.toString());
+        }
+        assertThat(converter.toCanonical(new DocumentIdent(0L, -1L))).isEqualTo("00000000-0000-0000-ffff-ffffffffffff");
+    }
+
+    @Test
+    void fromCanonical__round_trip() {
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.randomUUID();
+            DocumentIdent ident = converter.fromCanonical(uuid.toString());
+            assertThat(ident.getIdentityValue()).isEqualTo(uuid);
+        }
+    }
+
+    @Test
+    void fromCanonical__range() {
+        assertThat(converter.fromCanonical("doc(123e4567-e89b-12d3-a456-426614174000)", 4, 36).getIdentityValue()) //
+                .isEqualTo(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
+    }
+
+    @Test
+    void fromCanonical__invalid() {
+        assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("123e4567-e89b-12d3-a456-42661417400"));
+        assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("123e4567-e89b-12d3-a456_426614174000"));
+        assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("123e4567-e89b-12d3-a456-42661417400g"));
+        assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("+23e4567-e89b-12d3-a456-426614174000"));
+    }
+
+    @Test
+    void fromCanonical__invalid__upper_case_hex_digits() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> converter.fromCanonical("123E4567-e89b-12d3-a456-426614174000"));
+
+        assertThat(exception.getMessage()).isEqualTo(UuidIdentCanonicalConverter.Messages.invalidUuid("123E4567-e89b-12d3-a456-426614174000"));
+        assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("123e4567-e89b-12d3-a456-42661417400F"));
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.fthardy.denom.convert.derive;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.IntIdent;
+import io.github.fthardy.denom.LongIdent;
+import io.github.fthardy.denom.UuidIdent;
+import io.github.fthardy.denom.convert.atomic.AbstractAtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DerivedConvertSupportsTest {
+
+    static final class AccountIdent extends LongIdent {
+        AccountIdent(long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class BranchIdent extends IntIdent {
+        BranchIdent(int identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class BoxedBranchIdent extends AtomicIdent<Integer> {
+        BoxedBranchIdent(Integer identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class DeviceIdent extends UuidIdent {
+        DeviceIdent(long mostSignificantBits, long leastSignificantBits) {
+            super(mostSignificantBits, leastSignificantBits);
+        }
+    }
+
+    static final class SessionIdent extends AtomicIdent<UUID> {
+        SessionIdent(UUID identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class NameIdent extends AtomicIdent<String> {
+        NameIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class SerialIdent extends AtomicIdent<BigInteger> {
+        SerialIdent(BigInteger identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class DayIdent extends AtomicIdent<LocalDate> {
+        DayIdent(LocalDate identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class CodeIdent extends AtomicIdent<Character> {
+        CodeIdent(Character identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class HolderIdent extends CompositeIdent {
+        HolderIdent(AccountIdent accountIdent, NameIdent nameIdent) {
+            super(accountIdent, nameIdent);
+        }
+
+        HolderIdent(String name) {
+            this(new AccountIdent(0), new NameIdent(name));
+        }
+    }
+
+    static final class BookingIdent extends CompositeIdent {
+        BookingIdent(AccountIdent accountIdent, BranchIdent branchIdent, DayIdent dayIdent, SerialIdent serialIdent) {
+            super(accountIdent, branchIdent, dayIdent, serialIdent);
+        }
+    }
+
+    static final class TraceIdent extends CompositeIdent {
+        TraceIdent(AccountIdent accountIdent, BranchIdent branchIdent, DeviceIdent deviceIdent, SessionIdent sessionIdent, NameIdent nameIdent) {
+            super(accountIdent, branchIdent, deviceIdent, sessionIdent, nameIdent);
+        }
+    }
+
+    static final class PathIdent extends CompositeIdent {
+        PathIdent(NameIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class AmbiguousIdent extends CompositeIdent {
+        AmbiguousIdent(AccountIdent accountIdent, NameIdent nameIdent) {
+            super(accountIdent, nameIdent);
+        }
+
+        AmbiguousIdent(NameIdent nameIdent, AccountIdent accountIdent) {
+            super(nameIdent, accountIdent);
+        }
+    }
+
+    static class OpenIdent extends CompositeIdent {
+        OpenIdent(AccountIdent accountIdent, NameIdent nameIdent) {
+            super(accountIdent, nameIdent);
+        }
+    }
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    @Test
+    void atomicIdentConverter__Standard_identity_value_types() {
+        UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        AbstractAtomicIdentCanonicalConverter<AccountIdent> accountConverter = DerivedConvertSupports.atomicIdentConverter(lookup, AccountIdent.class,
+                "account");
+        AbstractAtomicIdentCanonicalConverter<SessionIdent> sessionConverter = DerivedConvertSupports.atomicIdentConverter(lookup, SessionIdent.class,
+                "session");
+
+        assertThat(accountConverter).isInstanceOf(LongIdentCanonicalConverter.class);
+        assertThat(accountConverter.fromCanonical("-42")).isEqualTo(new AccountIdent(-42));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, BranchIdent.class, "branch").fromCanonical("7")).isEqualTo(new BranchIdent(7));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, BoxedBranchIdent.class, "branch").fromCanonical("7"))
+                .isEqualTo(new BoxedBranchIdent(7));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, DeviceIdent.class, "device").fromCanonical(uuid.toString()))
+                .isEqualTo(new DeviceIdent(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        assertThat(sessionConverter).isInstanceOf(UuidIdentCanonicalConverter.class);
+        assertThat(sessionConverter.fromCanonical(uuid.toString())).isEqualTo(new SessionIdent(uuid));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, NameIdent.class, "name").fromCanonical("x")).isEqualTo(new NameIdent("x"));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, SerialIdent.class, "serial").fromCanonical("-1"))
+                .isEqualTo(new SerialIdent(BigInteger.ONE.negate()));
+        assertThat(DerivedConvertSupports.atomicIdentConverter(lookup, DayIdent.class, "day").fromCanonical("2024-02-29"))
+                .isEqualTo(new DayIdent(LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void atomicIdentConverter__Unsupported_identity_value_type() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> DerivedConvertSupports.atomicIdentConverter(lookup, CodeIdent.class, "code"));
+
+        assertThat(exception.getMessage()).isEqualTo(DerivedConvertSupports.Messages.unsupportedIdentityValueType(CodeIdent.class, Character.class));
+    }
+
+    @Test
+    void atomicIdentConverter__Constructor_not_accessible() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> DerivedConvertSupports.atomicIdentConverter(MethodHandles.publicLookup(), AccountIdent.class, "account"));
+
+        assertThat(exception.getCause()).isInstanceOf(IllegalAccessException.class);
+    }
+
+    @Test
+    void compositeIdentFactory__Fixed_arity() {
+        AccountIdent accountIdent = new AccountIdent(1);
+        BranchIdent branchIdent = new BranchIdent(2);
+        DayIdent dayIdent = new DayIdent(LocalDate.EPOCH);
+        SerialIdent serialIdent = new SerialIdent(BigInteger.TEN);
+
+        CompositeIdentFactory<HolderIdent> holderFactory = DerivedConvertSupports.compositeIdentFactory(lookup, HolderIdent.class, "holder");
+        CompositeIdentFactory<BookingIdent> bookingFactory = DerivedConvertSupports.compositeIdentFactory(lookup, BookingIdent.class, "booking");
+
+        assertThat(holderFactory.typeClass2AliasBinding().typeAlias()).isEqualTo("holder");
+        assertThat(holderFactory.fromComponents(accountIdent, new NameIdent("x"))).isEqualTo(new HolderIdent(accountIdent, new NameIdent("x")));
+        assertThat(bookingFactory.fromComponents(accountIdent, branchIdent, dayIdent, serialIdent))
+                .isEqualTo(new BookingIdent(accountIdent, branchIdent, dayIdent, serialIdent));
+    }
+
+    @Test
+    void compositeIdentFactory__Arity_above_the_lambda_arities() {
+        UUID uuid = UUID.randomUUID();
+        TraceIdent traceIdent = new TraceIdent(new AccountIdent(1), new BranchIdent(2), new DeviceIdent(3, 4), new SessionIdent(uuid), new NameIdent("x"));
+
+        CompositeIdentFactory<TraceIdent> factory = DerivedConvertSupports.compositeIdentFactory(lookup, TraceIdent.class, "trace");
+
+        assertThat(factory).isInstanceOf(DerivedCompositeIdentFactory.SpreadArity.class);
+        assertThat(factory.fromComponents(new AccountIdent(1), new BranchIdent(2), new DeviceIdent(3, 4), new SessionIdent(uuid), new NameIdent("x")))
+                .isEqualTo(traceIdent);
+    }
+
+    @Test
+    void compositeIdentFactory__Variable_arity() {
+        CompositeIdentFactory<PathIdent> factory = DerivedConvertSupports.compositeIdentFactory(lookup, PathIdent.class, "path");
+
+        assertThat(factory.fromComponents(new NameIdent("a"), new NameIdent("b"), new AccountIdent(1), new NameIdent("c")))
+                .isEqualTo(new PathIdent(new NameIdent("a"), new NameIdent("b"), new AccountIdent(1), new NameIdent("c")));
+    }
+
+    @Test
+    void compositeIdentFactory__Component_count_mismatch() {
+        CompositeIdentFactory<HolderIdent> factory = DerivedConvertSupports.compositeIdentFactory(lookup, HolderIdent.class, "holder");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> factory.fromComponents(new AccountIdent(1), new NameIdent("x"), new NameIdent("y")));
+
+        assertThat(exception.getMessage()).isEqualTo(DerivedCompositeIdentFactory.Messages.componentCountMismatch(HolderIdent.class, 2, 3));
+    }
+
+    @Test
+    void compositeIdentFactory__Component_of_wrong_type() {
+        CompositeIdentFactory<HolderIdent> factory = DerivedConvertSupports.compositeIdentFactory(lookup, HolderIdent.class, "holder");
+
+        assertThrows(ClassCastException.class, () -> factory.fromComponents(new NameIdent("x"), new NameIdent("y")));
+    }
+
+    @Test
+    void compositeIdentFactory__No_unique_component_constructor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> DerivedConvertSupports.compositeIdentFactory(lookup, AmbiguousIdent.class, "ambiguous"));
+
+        assertThat(exception.getMessage()).isEqualTo(DerivedConvertSupports.Messages.noUniqueComponentConstructor(AmbiguousIdent.class, 2));
+    }
+
+    @Test
+    void compositeIdentFactory__Type_class_is_not_final() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> DerivedConvertSupports.compositeIdentFactory(lookup, OpenIdent.class, "open"));
+
+        assertThat(exception.getMessage()).isEqualTo(DerivedConvertSupports.Messages.notFinalClass(OpenIdent.class));
+    }
+
+    @Test
+    void derived_supports_in_a_registry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(DerivedConvertSupports.atomicIdentConverter(lookup, AccountIdent.class, "account"));
+        registry.addSupport(DerivedConvertSupports.atomicIdentConverter(lookup, NameIdent.class, "name"));
+        registry.addSupport(DerivedConvertSupports.compositeIdentFactory(lookup, HolderIdent.class, "holder"));
+        DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(registry);
+
+        String canonical = "holder(account(42),name(J%C3%BCrgen))";
+
+        assertThat(converter.toCanonical(converter.fromCanonical(canonical))).isEqualTo(canonical);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDomainIdentCanonicalConverterTest {
+
+    static final class TestIdent extends AtomicIdent<String> {
+        TestIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    @Mock
+    private DomainIdentCanonicalConverter delegate;
+
+    private CachingDomainIdentCanonicalConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new CachingDomainIdentCanonicalConverter(delegate, 1000);
+    }
+
+    @Test
+    void fromCanonical__Is_cached() {
+        TestIdent ident = new TestIdent("42");
+        when(delegate.fromCanonical("test(42)")).thenReturn(ident);
+
+        assertThat(converter.fromCanonical("test(42)")).isSameAs(ident);
+        assertThat(converter.fromCanonical("test(42)")).isSameAs(ident);
+
+        verify(delegate, times(1)).fromCanonical("test(42)");
+        assertThat(converter.fromCanonicalStats()).isEqualTo(new CacheStats(1, 1, 0));
+    }
+
+    @Test
+    void toCanonical__Is_cached_for_both_directions() {
+        TestIdent ident = new TestIdent("42");
+        when(delegate.toCanonical(ident)).thenReturn("test(42)");
+
+        assertThat(converter.toCanonical(ident)).isEqualTo("test(42)");
+        assertThat(converter.toCanonical(new TestIdent("42"))).isEqualTo("test(42)");
+        assertThat(converter.fromCanonical("test(42)")).isSameAs(ident);
+
+        StringBuilder builder = new StringBuilder(">");
+        converter.appendCanonical(ident, builder);
+        assertThat(builder.toString()).isEqualTo(">test(42)");
+
+        verify(delegate, times(1)).toCanonical(ident);
+        verifyNoMoreInteractions(delegate);
+        assertThat(converter.toCanonicalStats().hitCount()).isEqualTo(2);
+        assertThat(converter.toCanonicalStats().missCount()).isEqualTo(1);
+        assertThat(converter.fromCanonicalStats().hitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void fromCanonical__Failures_are_not_cached() {
+        when(delegate.fromCanonical("foo")).thenThrow(new CanonicalParseException("foo"));
+
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonical("foo"));
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonical("foo"));
+
+        verify(delegate, times(2)).fromCanonical("foo");
+    }
+
+    @Test
+    void cache__Is_bounded_and_evicts_least_recently_used_entries() {
+        StripedLruCache<String, DomainIdent> cache = new StripedLruCache<>(1);
+        TestIdent ident1 = new TestIdent("1");
+        TestIdent ident2 = new TestIdent("2");
+
+        cache.put("1", ident1);
+        cache.put("2", ident2);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.get("2")).isSameAs(ident2);
+        assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 1));
+    }
+
+    @Test
+    void cache__Maximum_size_must_be_positive() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingDomainIdentCanonicalConverter(delegate, 0));
+    }
+}
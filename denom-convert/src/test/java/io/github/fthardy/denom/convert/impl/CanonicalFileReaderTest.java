@@ -0,0 +1,180 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CanonicalFileReaderTest {
+
+    static final class NoteIdent extends AtomicIdent<String> {
+        NoteIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class TransferIdent extends CompositeIdent {
+        TransferIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class TransferIdentFactory implements CompositeIdentFactory<TransferIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<TransferIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(TransferIdent.class, "transfer");
+        }
+
+        @Override
+        public TransferIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new TransferIdent(first, second, further);
+        }
+    }
+
+    @TempDir
+    Path tempDir;
+
+    private DomainIdentCanonicalConverterSupportRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        registry.addSupport(new StringIdentCanonicalConverter<>(NoteIdent.class, "note", NoteIdent::new));
+        registry.addSupport(new TransferIdentFactory());
+    }
+
+    @Test
+    void stream__lines_in_order_for_any_chunk_size() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<DomainIdent> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            content.append("account(").append(i).append(i % 3 == 0 ? ")\r\n" : ")\n");
+            expected.add(new AccountIdent(i));
+        }
+        content.append("\naccount(500)"); // an empty line and no line feed at the end
+        expected.add(new AccountIdent(500));
+        Path file = Files.writeString(tempDir.resolve("idents.txt"), content);
+
+        for (int chunkSize : new int[] {1, 10, 100, CanonicalFileReader.DEFAULT_CHUNK_SIZE}) {
+            assertThat(new CanonicalFileReader(registry, chunkSize).stream(file).toList()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void read__callback_gets_all_lines_with_offsets() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("idents.txt"), "account(1)\naccount(22)\naccount(333)\n");
+        Map<Long, DomainIdent> domainIdentByOffset = new ConcurrentHashMap<>();
+
+        new CanonicalFileReader(registry, 4).read(file, domainIdentByOffset::put);
+
+        assertThat(domainIdentByOffset).containsOnly( //
+                Map.entry(0L, new AccountIdent(1)), Map.entry(11L, new AccountIdent(22)), Map.entry(23L, new AccountIdent(333)));
+    }
+
+    @Test
+    void read__malformed_lines_are_reported_with_offsets() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("idents.txt"), "account(1)\naccount(2\naccount(x)\naccount(4)\n");
+        Map<Long, String> malformedLines = new ConcurrentHashMap<>();
+        Map<Long, DomainIdent> domainIdentByOffset = new ConcurrentHashMap<>();
+
+        new CanonicalFileReader(registry, 8).read(file, new CanonicalFileReader.Callback() {
+            @Override
+            public void accept(long offset, DomainIdent domainIdent) {
+                domainIdentByOffset.put(offset, domainIdent);
+            }
+
+            @Override
+            public void malformed(long offset, CanonicalParseException exception) {
+                malformedLines.put(offset, exception.getMessage());
+            }
+        });
+
+        assertThat(domainIdentByOffset).containsOnlyKeys(0L, 32L);
+        assertThat(malformedLines).containsOnly( //
+                Map.entry(11L, CanonicalParseContext.Messages.unexpectedEndOfCanonical("account(2", 9)),
+                Map.entry(21L, CanonicalDomainIdentParser.Messages.parsingFailed("account(x)", 9)));
+    }
+
+    @Test
+    void read__lines_across_blocks_same_as_converter() throws IOException {
+        List<String> lines = new ArrayList<>(List.of("transfer(account(1),note(a,b%29),transfer(note(x),account(2)))", "note(%C3%A4)", "note(,)",
+                "transfer(account(1))", "transfer(account(1),account(2)", "transfer(account(1),account(2))x", "transfer(account(1),,account(2))",
+                "transfer(unknown(1),account(2))", "account(1", "account()", "(1)", "account", "note(a(b)", "note(ä)", "account(9999999999999999999)",
+                "transfer(account(1),note(%G1))", "account(1)\r"));
+        lines.add("note(" + "n".repeat(3 * CanonicalFileReader.BLOCK_SIZE) + ")");
+        for (int i = 0; i < 10_000; i++) {
+            lines.add("transfer(account(%d),note(%d))".formatted(i, i));
+        }
+        Path file = Files.write(tempDir.resolve("idents.txt"), lines);
+        DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(registry);
+        Map<Long, Object> expected = new ConcurrentHashMap<>();
+        long offset = 0;
+        for (String line : lines) {
+            byte[] canonical = line.replace("\r", "").getBytes(StandardCharsets.UTF_8);
+            try {
+                expected.put(offset, converter.fromCanonical(canonical, 0, canonical.length));
+            } catch (CanonicalParseException e) {
+                expected.put(offset, e.getMessage());
+            }
+            offset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        Map<Long, Object> actual = new ConcurrentHashMap<>();
+
+        new CanonicalFileReader(registry, 100_000).read(file, new CanonicalFileReader.Callback() {
+            @Override
+            public void accept(long offset, DomainIdent domainIdent) {
+                actual.put(offset, domainIdent);
+            }
+
+            @Override
+            public void malformed(long offset, CanonicalParseException exception) {
+                actual.put(offset, exception.getMessage());
+            }
+        });
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void stream__malformed_line() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("idents.txt"), "account(1)\naccount(2\n");
+
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> new CanonicalFileReader(registry).stream(file).toList());
+
+        assertThat(exception.getMessage()).isEqualTo(CanonicalFileReader.Messages.malformedLine(11, //
+                CanonicalParseContext.Messages.unexpectedEndOfCanonical("account(2", 9)));
+    }
+
+    @Test
+    void stream__empty_file() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("idents.txt"), "");
+
+        assertThat(new CanonicalFileReader(registry).stream(file)).isEmpty();
+    }
+
+    @Test
+    void constructor__Invalid_chunk_size() {
+        assertThrows(IllegalArgumentException.class, () -> new CanonicalFileReader(registry, 0));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.fthardy.denom.convert.impl;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionMetricsTest {
+
+    @Test
+    void getStats__by_type_alias_and_direction() {
+        ConversionMetrics metrics = new ConversionMetrics();
+
+        metrics.recordToCanonical("account", 100, false);
+        metrics.recordToCanonical("account", 300, true);
+        metrics.recordFromCanonical("note", 1_000_000, false);
+
+        Map<String, ConversionStats> toCanonicalStats = metrics.getToCanonicalStats();
+        assertThat(toCanonicalStats.keySet()).containsExactly("account");
+        ConversionStats accountStats = toCanonicalStats.get("account");
+        assertThat(accountStats.count()).isEqualTo(2L);
+        assertThat(accountStats.failureCount()).isEqualTo(1L);
+        assertThat(accountStats.totalNanos()).isEqualTo(400L);
+        assertThat(accountStats.meanNanos()).isEqualTo(200.0);
+        assertThat(accountStats.latencyHistogram()[7]).isEqualTo(1L); // 64 <= 100 < 128
+        assertThat(accountStats.latencyHistogram()[9]).isEqualTo(1L); // 256 <= 300 < 512
+        assertThat(metrics.getFromCanonicalStats().keySet()).containsExactly("note");
+    }
+
+    @Test
+    void latencyHistogram__last_range_is_unbounded() {
+        ConversionMetrics metrics = new ConversionMetrics();
+
+        metrics.recordToCanonical("account", Long.MAX_VALUE, false);
+        metrics.recordToCanonical("account", 0, false);
+
+        long[] histogram = metrics.getToCanonicalStats().get("account").latencyHistogram();
+        assertThat(histogram.length).isEqualTo(ConversionMetrics.HISTOGRAM_SIZE);
+        assertThat(histogram[0]).isEqualTo(1L);
+        assertThat(histogram[ConversionMetrics.HISTOGRAM_SIZE - 1]).isEqualTo(1L);
+    }
+
+    @Test
+    void percentileNanos() {
+        ConversionMetrics metrics = new ConversionMetrics();
+        for (int i = 0; i < 99; i++) {
+            metrics.recordFromCanonical("account", 100, false);
+        }
+        metrics.recordFromCanonical("account", 5000, false);
+        ConversionStats stats = metrics.getFromCanonicalStats().get("account");
+
+        assertThat(stats.percentileNanos(50)).isEqualTo(128L);
+        assertThat(stats.percentileNanos(99)).isEqualTo(128L);
+        assertThat(stats.percentileNanos(100)).isEqualTo(8192L);
+        assertThat(new ConversionStats(0, 0, 0, new long[ConversionMetrics.HISTOGRAM_SIZE]).percentileNanos(50)).isEqualTo(0L);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> stats.percentileNanos(0));
+        assertThat(exception.getMessage()).isEqualTo(ConversionStats.Messages.invalidPercentile(0));
+    }
+
+    @Test
+    void stats__value_semantics_and_immutable_histogram() {
+        long[] histogram = new long[ConversionMetrics.HISTOGRAM_SIZE];
+        histogram[3] = 2;
+        ConversionStats stats = new ConversionStats(2, 0, 10, histogram);
+
+        histogram[3] = 5;
+        stats.latencyHistogram()[3] = 5;
+
+        assertThat(stats.latencyHistogram()[3]).isEqualTo(2L);
+        ConversionStats equalStats = new ConversionStats(2, 0, 10, stats.latencyHistogram());
+        assertThat(stats).isEqualTo(equalStats);
+        assertThat(stats.hashCode()).isEqualTo(equalStats.hashCode());
+        assertThat(stats).isNotEqualTo(new ConversionStats(2, 0, 10, histogram));
+        assertThat(stats.toString()).contains("latencyHistogram=[0, 0, 0, 2, 0");
+    }
+
+    @Test
+    void stats_over_jmx() throws Exception {
+        ConversionMetrics metrics = new ConversionMetrics();
+        metrics.recordFromCanonical("account", 100, true);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("io.github.fthardy.denom:type=ConversionMetrics,name=test");
+
+        server.registerMBean(metrics, name);
+        try {
+            TabularData stats = (TabularData) server.getAttribute(name, "FromCanonicalStats");
+            CompositeData accountStats = (CompositeData) stats.get(new Object[] {"account"}).get("value");
+            assertThat(accountStats.get("count")).isEqualTo(1L);
+            assertThat(accountStats.get("failureCount")).isEqualTo(1L);
+            assertThat(((TabularData) server.getAttribute(name, "ToCanonicalStats")).isEmpty()).isTrue();
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.IntIdent;
+import io.github.fthardy.denom.UuidIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultDomainIdentBinaryCodecTest {
+
+    static final class BranchIdent extends IntIdent {
+        BranchIdent(int identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class DeviceIdent extends UuidIdent {
+        DeviceIdent(long mostSignificantBits, long leastSignificantBits) {
+            super(mostSignificantBits, leastSignificantBits);
+        }
+    }
+
+    static final class NameIdent extends AtomicIdent<String> {
+        NameIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class UnmappedIdent extends AtomicIdent<String> {
+        UnmappedIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class ContractIdent extends CompositeIdent {
+        ContractIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class ContractIdentFactory implements CompositeIdentFactory<ContractIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<ContractIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(ContractIdent.class, "contract");
+        }
+
+        @Override
+        public ContractIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new ContractIdent(first, second, further);
+        }
+    }
+
+    private static final ContractIdent CONTRACT_IDENT = new ContractIdent(new AccountIdent(-5), new BranchIdent(Integer.MAX_VALUE),
+            new DeviceIdent(0x0123456789ABCDEFL, 0xFEDCBA9876543210L), new NameIdent("Müller, (Jr.)"));
+
+    private DomainIdentCanonicalConverterSupportRegistry registry;
+    private DefaultDomainIdentBinaryCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter(), 1);
+        registry.addSupport(new IntIdentCanonicalConverter<>(BranchIdent.class, "branch", BranchIdent::new), 2);
+        registry.addSupport(new UuidIdentCanonicalConverter<>(DeviceIdent.class, "device", DeviceIdent::new), 3);
+        registry.addSupport(new StringIdentCanonicalConverter<>(NameIdent.class, "name", NameIdent::new), 4);
+        registry.addSupport(new ContractIdentFactory(), 300);
+        registry.addSupport(new StringIdentCanonicalConverter<>(UnmappedIdent.class, "unmapped", UnmappedIdent::new));
+        codec = new DefaultDomainIdentBinaryCodec(registry);
+    }
+
+    @Test
+    void encode__Atomic_ident_with_long_value() {
+        assertThat(codec.encode(new AccountIdent(-5))).containsExactly(1, 9);
+        assertThat(codec.encode(new AccountIdent(64))).containsExactly(1, 0x80, 0x01);
+    }
+
+    @Test
+    void encode_decode__Round_trip() {
+        byte[] bytes = codec.encode(CONTRACT_IDENT);
+
+        assertThat(bytes[0] & 0xFF).isEqualTo(0x80 | (300 & 0x7F));
+        assertThat(codec.decode(bytes)).isEqualTo(CONTRACT_IDENT);
+    }
+
+    @Test
+    void encode_decode__Round_trip_with_buffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.encode(new AccountIdent(Long.MIN_VALUE), buffer);
+        codec.encode(CONTRACT_IDENT, buffer);
+        buffer.flip();
+
+        assertThat(codec.decode(buffer)).isEqualTo(new AccountIdent(Long.MIN_VALUE));
+        assertThat(codec.decode(buffer)).isEqualTo(CONTRACT_IDENT);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encode_decode__Round_trip_larger_than_initial_buffer() {
+        ContractIdent contractIdent = new ContractIdent(new NameIdent("x".repeat(100)), new NameIdent("y".repeat(300)), new AccountIdent(1));
+
+        byte[] bytes = codec.encode(contractIdent);
+
+        assertThat(bytes).hasSize(2 + 1 + (1 + 1 + 100) + (1 + 2 + 300) + (1 + 1));
+        assertThat(codec.decode(bytes)).isEqualTo(contractIdent);
+    }
+
+    @Test
+    void transcoding__Binary_and_canonical_representations_are_interchangeable() {
+        DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(registry);
+        String canonical = converter.toCanonical(CONTRACT_IDENT);
+
+        byte[] bytes = codec.fromCanonical(canonical, converter);
+
+        assertThat(bytes).isEqualTo(codec.encode(CONTRACT_IDENT));
+        assertThat(codec.toCanonical(bytes, converter)).isEqualTo(canonical);
+    }
+
+    @Test
+    void encode__No_alias_id() {
+        assertThrows(NoSuchElementException.class, () -> codec.encode(new UnmappedIdent("x")));
+    }
+
+    @Test
+    void encode__Buffer_overflow_leaves_the_position_unchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) 42);
+
+        assertThrows(BufferOverflowException.class, () -> codec.encode(CONTRACT_IDENT, buffer));
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    void decode__Unknown_alias_id() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {5, 0}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.unknownAliasId(5, 0));
+    }
+
+    @Test
+    void decode__Truncated_value() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {4, 3, 'a', 'b'}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.truncatedValue(3, 1));
+    }
+
+    @Test
+    void decode__Invalid_component_count() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {(byte) 0xAC, 0x02, 1, 1, 2}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.invalidComponentCount(1, 2));
+    }
+
+    @Test
+    void decode__Nesting_too_deep() {
+        byte[] bytes = new byte[(DefaultDomainIdentBinaryCodec.MAX_NESTING_DEPTH + 1) * 3 + 2];
+        for (int i = 0; i < bytes.length - 2; i += 3) {
+            bytes[i] = (byte) 0xAC;
+            bytes[i + 1] = 0x02;
+            bytes[i + 2] = 2;
+        }
+
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(bytes));
+
+        assertThat(exception.getMessage()).isEqualTo(
+                DefaultDomainIdentBinaryCodec.Messages.nestingTooDeep(DefaultDomainIdentBinaryCodec.MAX_NESTING_DEPTH * 3));
+    }
+
+    @Test
+    void decode__Varint_not_in_shortest_form() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {(byte) 0x81, 0x00, 9}));
+
+        assertThat(exception.getCause()).hasMessage(VarInts.Messages.notShortest());
+    }
+
+    @Test
+    void decode__Varint_exceeding_64_bits() {
+        byte[] bytes = {1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x02};
+
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(bytes));
+
+        assertThat(exception.getCause()).hasMessage(VarInts.Messages.tooLarge());
+    }
+
+    @Test
+    void decode__Trailing_bytes() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {1, 9, 0}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.trailingBytes(1, 2));
+    }
+
+    @Test
+    void decode__Failure_leaves_the_position_unchanged() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0, 3, 0x10, 0x20});
+        buffer.position(1);
+
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(buffer));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.decodingFailed(2));
+        assertThat(exception.getCause()).isNotNull();
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+}
@@ -3,6 +3,7 @@ package io.github.fthardy.denom.convert.impl;
 import io.github.fthardy.denom.AtomicIdent;
 import io.github.fthardy.denom.CompositeIdent;
 import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
 import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
 import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
 import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
@@ -12,7 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URI;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -177,11 +186,12 @@ class DefaultDomainIdentCanonicalConverterTest {
         }
     }
 
+    private DomainIdentCanonicalConverterSupportRegistry registry;
     private DefaultDomainIdentCanonicalConverter converter;
 
     @BeforeEach
     void setUp() {
-        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry = new DomainIdentCanonicalConverterSupportRegistry();
         converter = new DefaultDomainIdentCanonicalConverter(registry);
         Stream.of( //
                 new AtomicIdent1Converter(), new AtomicIdent2Factory(), new AtomicIdent3Factory(), new AtomicIdent4Factory(), new AtomicIdent5Factory(), //
@@ -211,6 +221,16 @@ class DefaultDomainIdentCanonicalConverterTest {
         assertThat(domainIdent).isEqualTo(compositeIdent);
     }
 
+    @Test
+    void testConversionRoundTripFor_Percent_encoded_values() {
+        CompositeIdent1 compositeIdent = new CompositeIdent1(
+                new AtomicIdent1("a(b),c d"),
+                new AtomicIdent2("ätomic%2"),
+                new AtomicIdent5("\uD83D\uDE00"));
+        DomainIdent domainIdent = converter.fromCanonical(converter.toCanonical(compositeIdent));
+        assertThat(domainIdent).isEqualTo(compositeIdent);
+    }
+
     @Test
     void toCanonical__Can_be_represented_as_URI() {
         AtomicIdent1 atomicIdent = new AtomicIdent1("atomic1");
@@ -248,6 +268,17 @@ class DefaultDomainIdentCanonicalConverterTest {
         assertThat(exception.getMessage()).isEqualTo(CanonicalDomainIdentParser.Messages.unknownTypeAlias("foo", canonical, 0));
     }
 
+    @Test
+    void fromCanonical__Unknown_type_ID_which_is_a_prefix_or_an_extension_of_a_known_one() {
+        String canonical = "composite1(atomic(test-id),atomic12(test-id))";
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(canonical));
+        assertThat(exception.getMessage()).isEqualTo(CanonicalDomainIdentParser.Messages.unknownTypeAlias("atomic", canonical, 11));
+
+        String otherCanonical = "atomic12(test-id)";
+        exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(otherCanonical));
+        assertThat(exception.getMessage()).isEqualTo(CanonicalDomainIdentParser.Messages.unknownTypeAlias("atomic12", otherCanonical, 0));
+    }
+
     @Test
     void fromCanonical__Cannot_create_atomic_ident() {
         String canonical = "atomic1(throw)";
@@ -263,4 +294,173 @@ class DefaultDomainIdentCanonicalConverterTest {
         CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(canonical));
         assertThat(exception.getMessage()).isEqualTo(CanonicalParseContext.Messages.expectedEndOfCanonical(canonical, 13));
     }
-}
\ No newline at end of file
+
+    @Test
+    void toCanonical__Value_is_percent_encoded() {
+        assertThat(converter.toCanonical(new AtomicIdent1("a(b),c d"))).isEqualTo("atomic1(a%28b%29%2Cc%20d)");
+    }
+
+    @Test
+    void appendCanonical__StringBuilder() {
+        CompositeIdent3 compositeIdent = new CompositeIdent3(
+                new CompositeIdent1(
+                        new AtomicIdent1("atomic1"),
+                        new AtomicIdent2("atomic2"),
+                        new AtomicIdent5("atomic(5)")),
+                new AtomicIdent4("atomic4"));
+        StringBuilder builder = new StringBuilder("{\"id\":\"");
+
+        converter.appendCanonical(compositeIdent, builder);
+
+        assertThat(builder.toString()).isEqualTo("{\"id\":\"" + converter.toCanonical(compositeIdent));
+        assertThat(builder.toString()).isEqualTo("{\"id\":\"composite3(composite1(atomic1(atomic1),atomic2(atomic2),atomic5(atomic%285%29)),atomic4(atomic4))");
+    }
+
+    @Test
+    void appendCanonical__Appendable() throws IOException {
+        CompositeIdent3 compositeIdent = new CompositeIdent3(
+                new CompositeIdent1(
+                        new AtomicIdent1("atomic1"),
+                        new AtomicIdent2("atomic2"),
+                        new AtomicIdent5("atomic(5)")),
+                new AtomicIdent4("atomic4"));
+        StringWriter writer = new StringWriter();
+
+        converter.appendCanonical(compositeIdent, writer);
+
+        assertThat(writer.toString()).isEqualTo(converter.toCanonical(compositeIdent));
+    }
+
+    @Test
+    void testConversionRoundTripFor_Bytes() {
+        CompositeIdent3 compositeIdent = new CompositeIdent3(
+                new CompositeIdent1(
+                        new AtomicIdent1("atomic1"),
+                        new AtomicIdent2("atomic2"),
+                        new AtomicIdent5("atomic5")),
+                new AtomicIdent4("atomic4"));
+        byte[] canonical = converter.toCanonical(compositeIdent).getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[canonical.length + 4];
+        System.arraycopy(canonical, 0, bytes, 2, canonical.length);
+
+        assertThat(converter.fromCanonical(bytes, 2, canonical.length)).isEqualTo(compositeIdent);
+    }
+
+    @Test
+    void testConversionRoundTripFor_ByteBuffer() {
+        CompositeIdent3 compositeIdent = new CompositeIdent3(
+                new CompositeIdent1(
+                        new AtomicIdent1("atomic1"),
+                        new AtomicIdent2("atomic2"),
+                        new AtomicIdent5("atomic5")),
+                new AtomicIdent4("atomic4"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+        converter.writeCanonical(compositeIdent, buffer);
+        buffer.flip();
+        assertThat(StandardCharsets.UTF_8.decode(buffer.duplicate()).toString()).isEqualTo(converter.toCanonical(compositeIdent));
+
+        assertThat(converter.fromCanonical(buffer)).isEqualTo(compositeIdent);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void writeCanonical__Buffer_too_small() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) 'x');
+
+        assertThrows(BufferOverflowException.class, () -> converter.writeCanonical(new AtomicIdent1("atomic1"), buffer));
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    void fromCanonical__Non_ASCII_byte() {
+        String canonical = "atomic1(ä)";
+        byte[] bytes = canonical.getBytes(StandardCharsets.UTF_8);
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(bytes, 0, bytes.length));
+        assertThat(exception.getMessage()).isEqualTo(AsciiCharSequence.Messages.nonAsciiCharacter(8, canonical));
+    }
+
+    @Test
+    void fromCanonical__Bytes_beyond_range_are_ignored() {
+        byte[] bytes = "atomic1(test)".getBytes(StandardCharsets.UTF_8);
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(bytes, 0, 10));
+        assertThat(exception.getMessage()).isEqualTo(CanonicalParseContext.Messages.unexpectedEndOfCanonical("atomic1(te", 10));
+    }
+
+    @Test
+    void fromCanonical__Range_of_char_sequence() {
+        StringBuilder json = new StringBuilder("{\"id\":\"");
+        CompositeIdent1 compositeIdent = new CompositeIdent1(new AtomicIdent1("a b"), new AtomicIdent2("atomic2"), new AtomicIdent5("atomic5"));
+        converter.appendCanonical(compositeIdent, json);
+        int length = json.length() - 7;
+        json.append("\"}");
+
+        assertThat(converter.fromCanonical(json, 7, length)).isEqualTo(compositeIdent);
+    }
+
+    @Test
+    void fromCanonical__Unexpected_end() {
+        String canonical = "composite3(composite1(";
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(canonical));
+        assertThat(exception.getMessage()).isEqualTo(CanonicalParseContext.Messages.unexpectedEndOfCanonical(canonical, 22));
+    }
+
+    @Test
+    void fromCanonical__Invalid_percent_encoding() {
+        String canonical = "atomic1(ab%2)";
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> converter.fromCanonical(canonical));
+        assertThat(exception.getMessage()).isEqualTo(CanonicalDomainIdentParser.Messages.parsingFailed(canonical, 8));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConversionRoundTripFor_Standard_atomic_converters() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(new StringIdentCanonicalConverter<>(AtomicIdent1.class, "atomic1", AtomicIdent1::new));
+        registry.addSupport(new StringIdentCanonicalConverter<>(AtomicIdent2.class, "atomic2", AtomicIdent2::new));
+        registry.addSupport(new StringIdentCanonicalConverter<>(AtomicIdent5.class, "atomic5", AtomicIdent5::new));
+        registry.addSupport(new CompositeIdent1Factory());
+        DefaultDomainIdentCanonicalConverter standardConverter = new DefaultDomainIdentCanonicalConverter(registry);
+        CompositeIdent1 compositeIdent = new CompositeIdent1(
+                new AtomicIdent1("plain"),
+                new AtomicIdent2("a(b),c d"),
+                new AtomicIdent5("\u00e4"));
+
+        String canonical = standardConverter.toCanonical(compositeIdent);
+
+        assertThat(canonical).isEqualTo("composite1(atomic1(plain),atomic2(a%28b%29%2Cc%20d),atomic5(%C3%A4))");
+        assertThat(standardConverter.fromCanonical(canonical)).isEqualTo(compositeIdent);
+        assertThat(standardConverter.fromCanonical(canonical.getBytes(StandardCharsets.US_ASCII), 0, canonical.length())).isEqualTo(compositeIdent);
+    }
+
+    @Test
+    void testConversionRoundTripFor_Batches() {
+        DefaultDomainIdentCanonicalConverter batchConverter = new DefaultDomainIdentCanonicalConverter(registry, ForkJoinPool.commonPool(), 7);
+        List<DomainIdent> domainIdents = IntStream.range(0, 100).<DomainIdent>mapToObj(i -> i % 2 == 0 //
+                ? new AtomicIdent4("atomic,4-" + i) //
+                : new CompositeIdent3(new CompositeIdent1(new AtomicIdent1("a" + i), new AtomicIdent2("b"), new AtomicIdent5("c")), new AtomicIdent4("d"))) //
+                .toList();
+
+        List<String> canonicals = batchConverter.toCanonicalAll(domainIdents);
+
+        assertThat(canonicals).isEqualTo(domainIdents.stream().map(converter::toCanonical).toList());
+        assertThat(batchConverter.fromCanonicalAll(canonicals)).isEqualTo(domainIdents);
+        assertThat(converter.fromCanonicalAll(canonicals)).isEqualTo(domainIdents);
+    }
+
+    @Test
+    void fromCanonicalAll__Failing_canonical() {
+        DefaultDomainIdentCanonicalConverter batchConverter = new DefaultDomainIdentCanonicalConverter(registry, ForkJoinPool.commonPool(), 2);
+        List<String> canonicals = List.of("atomic1(a)", "atomic1(b)", "atomic1(c)", "atomic1(d", "atomic1(e)");
+
+        CanonicalParseException exception = assertThrows(CanonicalParseException.class, () -> batchConverter.fromCanonicalAll(canonicals));
+
+        assertThat(exception.getMessage()).isEqualTo(CanonicalParseContext.Messages.unexpectedEndOfCanonical("atomic1(d", 9));
+    }
+
+    @Test
+    void constructor__Invalid_parallel_threshold() {
+        assertThrows(IllegalArgumentException.class, () -> new DefaultDomainIdentCanonicalConverter(registry, ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.IntIdent;
+import io.github.fthardy.denom.UuidIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.DomainIdentKeyCodec;
+import io.github.fthardy.denom.convert.atomic.BigIntegerIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LocalDateIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultDomainIdentKeyCodecTest {
+
+    static final class BranchIdent extends IntIdent {
+        BranchIdent(int identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class DeviceIdent extends UuidIdent {
+        DeviceIdent(long mostSignificantBits, long leastSignificantBits) {
+            super(mostSignificantBits, leastSignificantBits);
+        }
+    }
+
+    static final class SerialIdent extends AtomicIdent<BigInteger> {
+        SerialIdent(BigInteger identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class DayIdent extends AtomicIdent<LocalDate> {
+        DayIdent(LocalDate identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class NameIdent extends AtomicIdent<String> {
+        NameIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class OrderIdent extends CompositeIdent {
+        OrderIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class OrderIdentFactory implements CompositeIdentFactory<OrderIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<OrderIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(OrderIdent.class, "order");
+        }
+
+        @Override
+        public OrderIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new OrderIdent(first, second, further);
+        }
+    }
+
+    private DomainIdentCanonicalConverterSupportRegistry registry;
+    private DefaultDomainIdentKeyCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter(), 1);
+        registry.addSupport(new IntIdentCanonicalConverter<>(BranchIdent.class, "branch", BranchIdent::new), 2);
+        registry.addSupport(new UuidIdentCanonicalConverter<>(DeviceIdent.class, "device", DeviceIdent::new), 3);
+        registry.addSupport(new BigIntegerIdentCanonicalConverter<>(SerialIdent.class, "serial", SerialIdent::new), 4);
+        registry.addSupport(new LocalDateIdentCanonicalConverter<>(DayIdent.class, "day", DayIdent::new), 5);
+        registry.addSupport(new StringIdentCanonicalConverter<>(NameIdent.class, "name", NameIdent::new), 6);
+        registry.addSupport(new OrderIdentFactory(), 300);
+        codec = new DefaultDomainIdentKeyCodec(registry);
+    }
+
+    @Test
+    void encode__Numeric_values_are_ordered_numerically() {
+        assertOrderedByKey(Stream.of(Long.MIN_VALUE, -10L, -9L, -1L, 0L, 9L, 10L, Long.MAX_VALUE).map(AccountIdent::new).toList());
+        assertOrderedByKey(Stream.of(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE).map(BranchIdent::new).toList());
+        assertOrderedByKey(Stream.of("-100000000000000000000000", "-256", "-255", "-1", "0", "1", "255", "256", "100000000000000000000000") //
+                .map(value -> new SerialIdent(new BigInteger(value))).toList());
+    }
+
+    @Test
+    void encode__Other_values_are_ordered_naturally() {
+        assertOrderedByKey(List.of(new DeviceIdent(0, 0), new DeviceIdent(0, -1), new DeviceIdent(Long.MAX_VALUE, 0), new DeviceIdent(-1, 0)));
+        assertOrderedByKey(Stream.of(LocalDate.MIN, LocalDate.of(-1, 1, 1), LocalDate.EPOCH, LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1)) //
+                .map(DayIdent::new).toList());
+        assertOrderedByKey(Stream.of("", "a", "a\u0000", "a\u0000b", "a\u0001", "a\u0002", "ab", "b", "ä").map(NameIdent::new).toList());
+    }
+
+    @Test
+    void encode__Composites_are_ordered_component_by_component() {
+        assertOrderedByKey(List.of( //
+                new OrderIdent(new NameIdent("a"), new AccountIdent(9)), //
+                new OrderIdent(new NameIdent("a"), new AccountIdent(9), new BranchIdent(-1)), //
+                new OrderIdent(new NameIdent("a"), new AccountIdent(10)), //
+                new OrderIdent(new NameIdent("a\u0000"), new AccountIdent(-1)), //
+                new OrderIdent(new NameIdent("b"), new AccountIdent(-1))));
+    }
+
+    @Test
+    void encode_decode__Round_trip() {
+        OrderIdent orderIdent = new OrderIdent(new NameIdent("x\u0000\u0001y"), new AccountIdent(-5), new BranchIdent(7), new DeviceIdent(1, 2),
+                new SerialIdent(BigInteger.TEN.pow(30).negate()), new DayIdent(LocalDate.of(2024, 2, 29)));
+
+        assertThat(codec.decode(codec.encode(orderIdent))).isEqualTo(orderIdent);
+        assertThat(codec.decode(codec.encode(new SerialIdent(BigInteger.ZERO)))).isEqualTo(new SerialIdent(BigInteger.ZERO));
+    }
+
+    @Test
+    void encode_decode__Round_trip_larger_than_initial_buffer() {
+        OrderIdent orderIdent = new OrderIdent(new NameIdent("\u0000".repeat(100)), new NameIdent("y".repeat(300)));
+
+        byte[] key = codec.encode(orderIdent);
+
+        assertThat(key).hasSize(2 + (1 + 2 + 200 + 1) + (1 + 2 + 300 + 1) + 1);
+        assertThat(codec.decode(key)).isEqualTo(orderIdent);
+    }
+
+    @Test
+    void encodePrefix__Range_covers_all_composites_with_the_leading_components() {
+        byte[] prefix = codec.encodePrefix(OrderIdent.class, new NameIdent("a"));
+        byte[] upperBound = DomainIdentKeyCodec.upperBoundOf(prefix);
+
+        assertThat(isInRange(new OrderIdent(new NameIdent("a"), new AccountIdent(Long.MIN_VALUE)), prefix, upperBound)).isTrue();
+        assertThat(isInRange(new OrderIdent(new NameIdent("a"), new AccountIdent(Long.MAX_VALUE), new BranchIdent(1)), prefix, upperBound)).isTrue();
+        assertThat(isInRange(new OrderIdent(new NameIdent("a\u0000b"), new AccountIdent(1)), prefix, upperBound)).isFalse();
+        assertThat(isInRange(new OrderIdent(new NameIdent("ab"), new AccountIdent(1)), prefix, upperBound)).isFalse();
+        assertThat(isInRange(new OrderIdent(new NameIdent(""), new AccountIdent(1)), prefix, upperBound)).isFalse();
+    }
+
+    @Test
+    void encodePrefix__Without_components() {
+        assertThat(codec.encodePrefix(OrderIdent.class)).containsExactly(0x01, 0x2C);
+    }
+
+    @Test
+    void encodePrefix__Unknown_type_class() {
+        assertThrows(NoSuchElementException.class, () -> codec.encodePrefix(CompositeIdent.class));
+    }
+
+    @Test
+    void upperBoundOf() {
+        assertThat(DomainIdentKeyCodec.upperBoundOf(new byte[] {1, 2, (byte) 0xFF})).containsExactly(1, 3);
+        assertThat(DomainIdentKeyCodec.upperBoundOf(new byte[] {(byte) 0xFF})).isNull();
+    }
+
+    @Test
+    void decode__Unterminated_value() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {0, 6, 'a'}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentKeyCodec.Messages.unterminatedValue(2));
+    }
+
+    @Test
+    void decode__Invalid_escape_sequence() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {0, 6, 1, 5, 0}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentKeyCodec.Messages.invalidEscape(2));
+    }
+
+    @Test
+    void decode__Escape_sequence_at_the_end() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {0, 6, 'a', 1}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentKeyCodec.Messages.invalidEscape(3));
+    }
+
+    @Test
+    void decode__Invalid_component_marker() {
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(new byte[] {1, 0x2C, 7}));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentKeyCodec.Messages.invalidMarker((byte) 7, 2));
+    }
+
+    @Test
+    void decode__Trailing_bytes() {
+        byte[] key = Arrays.copyOf(codec.encode(new BranchIdent(1)), 7);
+
+        BinaryDecodeException exception = assertThrows(BinaryDecodeException.class, () -> codec.decode(key));
+
+        assertThat(exception.getMessage()).isEqualTo(DefaultDomainIdentBinaryCodec.Messages.trailingBytes(1, 6));
+    }
+
+    private void assertOrderedByKey(List<? extends DomainIdent> domainIdents) {
+        for (int i = 1; i < domainIdents.size(); i++) {
+            byte[] previousKey = codec.encode(domainIdents.get(i - 1));
+            byte[] key = codec.encode(domainIdents.get(i));
+            assertThat(Arrays.compareUnsigned(previousKey, key)).as("%s < %s", domainIdents.get(i - 1), domainIdents.get(i)).isNegative();
+        }
+    }
+
+    private boolean isInRange(DomainIdent domainIdent, byte[] lowerBound, byte[] upperBound) {
+        byte[] key = codec.encode(domainIdent);
+        return Arrays.compareUnsigned(key, lowerBound) >= 0 && Arrays.compareUnsigned(key, upperBound) < 0;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainIdentFingerprinterTest {
+
+    static final class NoteIdent extends AtomicIdent<String> {
+        NoteIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class TransferIdent extends CompositeIdent {
+        TransferIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class TransferIdentFactory implements CompositeIdentFactory<TransferIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<TransferIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(TransferIdent.class, "transfer");
+        }
+
+        @Override
+        public TransferIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new TransferIdent(first, second, further);
+        }
+    }
+
+    private final DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(newRegistry());
+    private final DomainIdentFingerprinter fingerprinter = new DomainIdentFingerprinter(converter);
+
+    private static DomainIdentCanonicalConverterSupportRegistry newRegistry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        registry.addSupport(new StringIdentCanonicalConverter<>(NoteIdent.class, "note", NoteIdent::new));
+        registry.addSupport(new TransferIdentFactory());
+        return registry;
+    }
+
+    private static Fingerprint hashOf(String canonical) {
+        return new Murmur3Appendable().append(canonical).finish();
+    }
+
+    @Test
+    void fingerprint128__is_hash_of_canonical() {
+        DomainIdent[] domainIdents = {new AccountIdent(42), new NoteIdent("a (note), 100% ä"),
+                new TransferIdent(new AccountIdent(-1), new NoteIdent("x"), new TransferIdent(new AccountIdent(2), new AccountIdent(3)))};
+
+        for (DomainIdent domainIdent : domainIdents) {
+            assertThat(fingerprinter.fingerprint128(domainIdent)).isEqualTo(hashOf(converter.toCanonical(domainIdent)));
+        }
+    }
+
+    @Test
+    void fingerprint128__stable_value() {
+        assertThat(fingerprinter.fingerprint128(new AccountIdent(42)).toHexString()).isEqualTo("c88d4b5bebfb40d0c8ec8839fe2ffb94");
+    }
+
+    @Test
+    void fingerprint64__is_first_half() {
+        NoteIdent noteIdent = new NoteIdent("note");
+
+        assertThat(fingerprinter.fingerprint64(noteIdent)).isEqualTo(fingerprinter.fingerprint128(noteIdent).h1());
+    }
+
+    @Test
+    void fingerprint128__equal_identifiers_equal_fingerprints() {
+        assertThat(fingerprinter.fingerprint128(new AccountIdent(7))).isEqualTo(fingerprinter.fingerprint128(new AccountIdent(7)));
+        assertThat(fingerprinter.fingerprint128(new AccountIdent(7))).isNotEqualTo(fingerprinter.fingerprint128(new NoteIdent("7")));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DomainIdentPartitionerTest {
+
+    private final DomainIdentFingerprinter fingerprinter = new DomainIdentFingerprinter(new DefaultDomainIdentCanonicalConverter(newRegistry()));
+
+    private static DomainIdentCanonicalConverterSupportRegistry newRegistry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        return registry;
+    }
+
+    @Test
+    void partitionOf__is_jump_hash_of_fingerprint() {
+        DomainIdentPartitioner partitioner = new DomainIdentPartitioner(fingerprinter, 12);
+
+        for (int i = 0; i < 100; i++) {
+            AccountIdent accountIdent = new AccountIdent(i);
+            assertThat(partitioner.partitionOf(accountIdent)).isEqualTo(
+                    DomainIdentPartitioner.jumpConsistentHash(fingerprinter.fingerprint64(accountIdent), 12));
+        }
+    }
+
+    @Test
+    void partitionOf__evenly_distributed() {
+        DomainIdentPartitioner partitioner = new DomainIdentPartitioner(fingerprinter, 10);
+        int[] counts = new int[10];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[partitioner.partitionOf(new AccountIdent(i))]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(9_500, 10_500);
+        }
+    }
+
+    @Test
+    void jumpConsistentHash__keys_only_move_to_new_bucket() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextLong();
+            int bucket = DomainIdentPartitioner.jumpConsistentHash(key, 1);
+            assertThat(bucket).isZero();
+            for (int bucketCount = 2; bucketCount <= 64; bucketCount++) {
+                int next = DomainIdentPartitioner.jumpConsistentHash(key, bucketCount);
+                if (next != bucket) {
+                    assertThat(next).isEqualTo(bucketCount - 1);
+                    bucket = next;
+                }
+            }
+        }
+    }
+
+    @Test
+    void constructor__Invalid_partition_count() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new DomainIdentPartitioner(fingerprinter, 0));
+
+        assertThat(exception.getMessage()).isEqualTo(DomainIdentPartitioner.Messages.invalidPartitionCount(0));
+    }
+}
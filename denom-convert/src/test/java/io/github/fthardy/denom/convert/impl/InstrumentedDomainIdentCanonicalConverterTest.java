@@ -0,0 +1,215 @@
+package io.github.fthardy.denom.convert.impl;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.LongIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstrumentedDomainIdentCanonicalConverterTest {
+
+    static final class UnregisteredIdent extends LongIdent {
+        UnregisteredIdent(long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    /** A converter which only supports batch conversions, delegating them to a given converter. */
+    static final class BatchOnlyConverter implements DomainIdentCanonicalConverter {
+
+        private final DomainIdentCanonicalConverter delegate;
+        private int batchCount;
+
+        BatchOnlyConverter(DomainIdentCanonicalConverter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public DomainIdent fromCanonical(String canonical) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toCanonical(DomainIdent domainIdent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> toCanonicalAll(Collection<? extends DomainIdent> domainIdents) {
+            batchCount++;
+            return delegate.toCanonicalAll(domainIdents);
+        }
+
+        @Override
+        public List<DomainIdent> fromCanonicalAll(List<? extends CharSequence> canonicals) {
+            batchCount++;
+            return delegate.fromCanonicalAll(canonicals);
+        }
+    }
+
+    @TempDir
+    Path tempDir;
+
+    private final DomainIdentCanonicalConverterSupportRegistry registry = newRegistry();
+    private final ConversionMetrics metrics = new ConversionMetrics();
+    private final InstrumentedDomainIdentCanonicalConverter converter = new InstrumentedDomainIdentCanonicalConverter(
+            new DefaultDomainIdentCanonicalConverter(registry), registry, metrics);
+
+    private static DomainIdentCanonicalConverterSupportRegistry newRegistry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        return registry;
+    }
+
+    @Test
+    void fromCanonical__all_variants_are_recorded() {
+        byte[] bytes = "account(3)".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(converter.fromCanonical("account(1)")).isEqualTo(new AccountIdent(1));
+        assertThat(converter.fromCanonical("[account(2)]", 1, 10)).isEqualTo(new AccountIdent(2));
+        assertThat(converter.fromCanonical(bytes, 0, bytes.length)).isEqualTo(new AccountIdent(3));
+        assertThat(converter.fromCanonical(ByteBuffer.wrap(bytes))).isEqualTo(new AccountIdent(3));
+
+        ConversionStats stats = metrics.getFromCanonicalStats().get("account");
+        assertThat(stats.count()).isEqualTo(4L);
+        assertThat(stats.failureCount()).isZero();
+    }
+
+    @Test
+    void fromCanonical__failure_is_recorded_for_type_alias() {
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonical("account(x)"));
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonical("unknown(1)"));
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonical("account".getBytes(StandardCharsets.US_ASCII), 0, 7));
+
+        assertThat(metrics.getFromCanonicalStats().get("account").failureCount()).isEqualTo(1L);
+        assertThat(metrics.getFromCanonicalStats().get(ConversionMetrics.UNKNOWN_TYPE_ALIAS).failureCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void toCanonical__all_variants_are_recorded() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        assertThat(converter.toCanonical(new AccountIdent(1))).isEqualTo("account(1)");
+        converter.appendCanonical(new AccountIdent(2), builder);
+        converter.appendCanonical(new AccountIdent(3), (Appendable) builder);
+        converter.writeCanonical(new AccountIdent(4), buffer);
+
+        assertThat(builder.toString()).isEqualTo("account(2)account(3)");
+        assertThat(buffer.position()).isEqualTo(10);
+        assertThat(metrics.getToCanonicalStats().get("account").count()).isEqualTo(4L);
+    }
+
+    @Test
+    void toCanonical__unregistered_type_is_recorded_as_failure() {
+        assertThrows(RuntimeException.class, () -> converter.toCanonical(new UnregisteredIdent(1)));
+
+        ConversionStats stats = metrics.getToCanonicalStats().get(ConversionMetrics.UNKNOWN_TYPE_ALIAS);
+        assertThat(stats.count()).isEqualTo(1L);
+        assertThat(stats.failureCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void toCanonicalAll__batch_conversion_of_delegate_is_used() {
+        BatchOnlyConverter delegate = new BatchOnlyConverter(new DefaultDomainIdentCanonicalConverter(registry));
+        InstrumentedDomainIdentCanonicalConverter batchConverter = new InstrumentedDomainIdentCanonicalConverter(delegate, registry, metrics);
+
+        assertThat(batchConverter.toCanonicalAll(List.of(new AccountIdent(1), new AccountIdent(2)))).containsExactly("account(1)", "account(2)");
+
+        assertThat(delegate.batchCount).isEqualTo(1);
+        assertThat(metrics.getToCanonicalStats().get("account").count()).isEqualTo(2L);
+    }
+
+    @Test
+    void fromCanonicalAll__batch_conversion_of_delegate_is_used() {
+        BatchOnlyConverter delegate = new BatchOnlyConverter(new DefaultDomainIdentCanonicalConverter(registry));
+        InstrumentedDomainIdentCanonicalConverter batchConverter = new InstrumentedDomainIdentCanonicalConverter(delegate, registry, metrics);
+
+        assertThat(batchConverter.fromCanonicalAll(List.of("account(1)", "account(2)"))).containsExactly(new AccountIdent(1), new AccountIdent(2));
+
+        assertThat(delegate.batchCount).isEqualTo(1);
+        assertThat(metrics.getFromCanonicalStats().get("account").count()).isEqualTo(2L);
+    }
+
+    @Test
+    void fromCanonicalAll__failed_batch_is_recorded_once() {
+        assertThrows(CanonicalParseException.class, () -> converter.fromCanonicalAll(List.of("account(1)", "account(x)")));
+
+        assertThat(metrics.getFromCanonicalStats()).containsOnlyKeys(ConversionMetrics.UNKNOWN_TYPE_ALIAS);
+        ConversionStats stats = metrics.getFromCanonicalStats().get(ConversionMetrics.UNKNOWN_TYPE_ALIAS);
+        assertThat(stats.count()).isEqualTo(1L);
+        assertThat(stats.failureCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void getMetrics() {
+        assertThat(converter.getMetrics()).isSameAs(metrics);
+        assertThat(new InstrumentedDomainIdentCanonicalConverter(converter, registry).getMetrics()).isNull();
+    }
+
+    @Test
+    void conversions_are_recorded_as_flight_recorder_events() throws IOException {
+        InstrumentedDomainIdentCanonicalConverter eventsOnly = new InstrumentedDomainIdentCanonicalConverter(
+                new DefaultDomainIdentCanonicalConverter(registry), registry);
+        Path file = tempDir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(ToCanonicalEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(FromCanonicalEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            eventsOnly.toCanonical(new AccountIdent(42));
+            assertThrows(CanonicalParseException.class, () -> eventsOnly.fromCanonical("account(x)"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).hasSize(2);
+        RecordedEvent toCanonical = events.stream().filter(event -> event.getEventType().getName().equals(ToCanonicalEvent.NAME)).findFirst().orElseThrow();
+        assertThat(toCanonical.getString("typeAlias")).isEqualTo("account");
+        assertThat(toCanonical.getInt("length")).isEqualTo(11);
+        assertThat(toCanonical.getString("failure")).isNull();
+        RecordedEvent fromCanonical = events.stream().filter(event -> event.getEventType().getName().equals(FromCanonicalEvent.NAME)).findFirst()
+                .orElseThrow();
+        assertThat(fromCanonical.getString("typeAlias")).isEqualTo("account");
+        assertThat(fromCanonical.getInt("length")).isEqualTo(10);
+        assertThat(fromCanonical.getString("failure")).startsWith(CanonicalParseException.class.getName());
+    }
+
+    @Test
+    void batch_is_recorded_as_one_flight_recorder_event() throws IOException {
+        InstrumentedDomainIdentCanonicalConverter eventsOnly = new InstrumentedDomainIdentCanonicalConverter(
+                new DefaultDomainIdentCanonicalConverter(registry), registry);
+        Path file = tempDir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(ToCanonicalEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            eventsOnly.toCanonicalAll(List.of(new AccountIdent(1), new AccountIdent(22), new AccountIdent(333)));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("typeAlias")).isEqualTo("account");
+        assertThat(events.get(0).getInt("length")).isEqualTo(33);
+        assertThat(events.get(0).getInt("count")).isEqualTo(3);
+    }
+}
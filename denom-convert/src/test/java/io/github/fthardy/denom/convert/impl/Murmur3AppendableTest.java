@@ -0,0 +1,41 @@
+package io.github.fthardy.denom.convert.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Murmur3AppendableTest {
+
+    private static String hash(CharSequence chars) {
+        return new Murmur3Appendable().append(chars).finish().toHexString();
+    }
+
+    @Test
+    void finish__reference_values() {
+        assertThat(hash("")).isEqualTo("00000000000000000000000000000000");
+        assertThat(hash("hello")).isEqualTo("029bbd41b3a7d8cb191dae486a901e5b");
+        assertThat(hash("The quick brown fox jumps over the lazy dog")).isEqualTo("6c1b07bc7bbc4be347939ac4a93c437a");
+        assertThat(hash("account(42)")).isEqualTo("c88d4b5bebfb40d0c8ec8839fe2ffb94");
+    }
+
+    @Test
+    void finish__chars_are_hashed_as_utf8() {
+        assertThat(hash("äöü€😀")).isEqualTo("b76f14c46ab163801bff6a5421781770");
+    }
+
+    @Test
+    void finish__unpaired_surrogates_are_hashed_as_question_marks() {
+        assertThat(hash("a\uD83Db\uDE00c\uD83D")).isEqualTo(hash("a?b?c?"));
+    }
+
+    @Test
+    void append__in_parts_and_char_by_char() {
+        String chars = "The quick brown fox jumps over the lazy dog";
+        Murmur3Appendable hash = new Murmur3Appendable().append(chars, 0, 17).append(chars, 17, 30);
+        for (int i = 30; i < chars.length(); i++) {
+            hash.append(chars.charAt(i));
+        }
+
+        assertThat(hash.finish()).isEqualTo(new Murmur3Appendable().append(chars).finish());
+    }
+}
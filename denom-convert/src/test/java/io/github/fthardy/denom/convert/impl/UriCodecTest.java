@@ -2,6 +2,8 @@ package io.github.fthardy.denom.convert.impl;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -50,4 +52,80 @@ class UriCodecTest {
     void decode__Invalid_hex_encoding_at_end() {
         assertThrows(IllegalArgumentException.class, () -> UriCodec.decodeUriConform("abc%0"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void encode_decode__Input_is_returned_when_nothing_to_encode_or_decode() {
+        String unencoded = "abc-XYZ_123.~";
+        assertThat(UriCodec.encodeUriConform(unencoded)).isSameAs(unencoded);
+        assertThat(UriCodec.decodeUriConform(unencoded)).isSameAs(unencoded);
+    }
+
+    @Test
+    void encode__Multibyte_characters_are_encoded_as_UTF_8_with_upper_case_hex_digits() {
+        assertThat(UriCodec.encodeUriConform("a b%ä€\uD83D\uDE00")).isEqualTo("a%20b%25%C3%A4%E2%82%AC%F0%9F%98%80");
+        assertThat(UriCodec.decodeUriConform("a%20b%25%C3%A4%E2%82%AC%F0%9F%98%80")).isEqualTo("a b%ä€\uD83D\uDE00");
+    }
+
+    @Test
+    void encode__Unpaired_surrogate_is_replaced() {
+        assertThat(UriCodec.encodeUriConform("a\uD83Db")).isEqualTo("a%3Fb");
+    }
+
+    @Test
+    void decode__Malformed_UTF_8_is_replaced() {
+        assertThat(UriCodec.decodeUriConform("a%C3b%E2%82")).isEqualTo("a\uFFFDb\uFFFD");
+    }
+
+    @Test
+    void encoder__Can_be_reused() {
+        UriCodec.Encoder encoder = UriCodec.encoder(",()");
+        assertThat(encoder.isSafe('a')).isTrue();
+        assertThat(encoder.isSafe('(')).isFalse();
+        assertThat(encoder.isSafe('%')).isFalse();
+        assertThat(encoder.isSafe('ä')).isFalse();
+        assertThat(encoder.encode("a(b)")).isEqualTo("a%28b%29");
+        assertThat(encoder.encode("c,d")).isEqualTo("c%2Cd");
+    }
+
+    @Test
+    void indexOfNonSafe__Long_ranges_are_scanned_like_single_characters() {
+        UriCodec.Encoder encoder = UriCodec.encoder(",()");
+        String nonSafeChars = "%( ä\u00ff\u0100\u0080\uD83D\u007f\u0000";
+        SplittableRandom random = new SplittableRandom(42);
+        for (int length : new int[] {31, 32, 33, 100, 128, 129, 300, 513}) {
+            for (int position = 0; position < length; position += 7) {
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = (char) ('a' + random.nextInt(26));
+                }
+                chars[position] = nonSafeChars.charAt(random.nextInt(nonSafeChars.length()));
+                String value = new String(chars);
+
+                assertThat(encoder.indexOfNonSafe(value, 0, length)).isEqualTo(position);
+                assertThat(encoder.indexOfNonSafe(new StringBuilder(value), 0, length)).isEqualTo(position);
+                assertThat(encoder.indexOfNonSafe(value, position + 1, length)).isEqualTo(-1);
+            }
+        }
+    }
+
+    @Test
+    void encode__Long_values_are_encoded_like_short_ones() {
+        SplittableRandom random = new SplittableRandom(42);
+        String safeChars = "abcXYZ019-._~!$&'*+;=:@[]";
+        String[] nonSafeChars = {"%", " ", "ä", "€", "\uD83D\uDE00"};
+        for (int length : new int[] {40, 128, 512}) {
+            StringBuilder value = new StringBuilder();
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                // escaped characters are rare, so there are long runs of safe characters
+                String part = random.nextInt(20) == 0 ? nonSafeChars[random.nextInt(nonSafeChars.length)]
+                        : safeChars.substring(random.nextInt(safeChars.length()));
+                value.append(part);
+                expected.append(UriCodec.encodeUriConform(part));
+            }
+
+            assertThat(UriCodec.encodeUriConform(value.toString())).isEqualTo(expected.toString());
+            assertThat(UriCodec.decodeUriConform(expected.toString())).isEqualTo(value.toString());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.fthardy.denom.convert.util;
+
+import io.github.fthardy.denom.AtomicIdent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DomainIdentCanonicalConverterSupportRegistryTest {
+
+    static final class Ident1 extends AtomicIdent<String> {
+        Ident1(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class Ident2 extends AtomicIdent<String> {
+        Ident2(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    @Mock
+    private AtomicIdentCanonicalConverter<Ident1> support1;
+
+    @Mock
+    private AtomicIdentCanonicalConverter<Ident2> support2;
+
+    private DomainIdentCanonicalConverterSupportRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DomainIdentCanonicalConverterSupportRegistry();
+        when(support1.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident1.class, "ident1"));
+    }
+
+    @Test
+    void snapshot__Entries_have_dense_ordinals_and_the_binding_is_obtained_once() {
+        when(support2.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident2.class, "ident2"));
+        registry.addSupport(support1);
+        registry.addSupport(support2);
+
+        DomainIdentConvertSupportSnapshot snapshot = registry.snapshot();
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.getEntry(0).support()).isSameAs(support1);
+        assertThat(snapshot.getEntry(1).support()).isSameAs(support2);
+        assertThat(snapshot.getEntryByClass(Ident2.class)).isSameAs(snapshot.getEntry(1));
+        assertThat(snapshot.getEntryByTypeAlias("ident1")).isSameAs(snapshot.getEntry(0));
+        assertThat(snapshot.getTypeAliasTrie().get("ident2")).isSameAs(support2);
+        assertThat(registry.getSupportByClass(Ident1.class)).isSameAs(support1);
+        assertThat(registry.getSupportByTypeAlias("ident2")).isSameAs(support2);
+        verify(support1, times(1)).typeClass2AliasBinding();
+        verify(support2, times(1)).typeClass2AliasBinding();
+    }
+
+    @Test
+    void snapshot__Is_reused_until_a_support_is_added() {
+        registry.addSupport(support1);
+        DomainIdentConvertSupportSnapshot snapshot = registry.snapshot();
+        assertThat(registry.snapshot()).isSameAs(snapshot);
+
+        when(support2.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident2.class, "ident2"));
+        registry.addSupport(support2);
+
+        assertThat(registry.snapshot()).isNotSameAs(snapshot);
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getEntryByClass(Ident2.class)).isNull();
+        assertThat(registry.snapshot().getEntryByClass(Ident2.class)).isNotNull();
+    }
+
+    @Test
+    void addSupport__Duplicate_type_alias() {
+        when(support2.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident2.class, "ident1"));
+        registry.addSupport(support1);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.addSupport(support2));
+        assertThat(registry.snapshot().size()).isEqualTo(1);
+    }
+
+    @Test
+    void addSupport__Alias_id_is_available_from_the_snapshot() {
+        when(support2.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident2.class, "ident2"));
+        registry.addSupport(support1, 7);
+        registry.addSupport(support2);
+
+        DomainIdentConvertSupportSnapshot snapshot = registry.snapshot();
+
+        assertThat(snapshot.getEntryByAliasId(7)).isSameAs(snapshot.getEntryByClass(Ident1.class));
+        assertThat(snapshot.getEntryByAliasId(7).aliasId()).isEqualTo(7);
+        assertThat(snapshot.getEntryByClass(Ident2.class).aliasId()).isEqualTo(DomainIdentConvertSupportSnapshot.NO_ALIAS_ID);
+        assertThat(snapshot.getEntryByAliasId(0)).isNull();
+        assertThat(snapshot.getEntryByAliasId(-1)).isNull();
+        assertThat(snapshot.getEntryByAliasId(DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID + 1)).isNull();
+    }
+
+    @Test
+    void addSupport__Invalid_alias_id() {
+        assertThrows(IllegalArgumentException.class, () -> registry.addSupport(support1, -2));
+        assertThrows(IllegalArgumentException.class, () -> registry.addSupport(support1, DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID + 1));
+        assertThat(registry.snapshot().size()).isZero();
+    }
+
+    @Test
+    void addSupport__Duplicate_alias_id() {
+        when(support2.typeClass2AliasBinding()).thenReturn(new IdentTypeClass2AliasBinding<>(Ident2.class, "ident2"));
+        registry.addSupport(support1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.addSupport(support2, 1));
+        assertThat(registry.snapshot().size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.fthardy.denom.convert.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class TypeAliasTrieTest {
+
+    @Mock
+    private AtomicIdentCanonicalConverter<?> support1;
+
+    @Mock
+    private AtomicIdentCanonicalConverter<?> support2;
+
+    @Test
+    void get__Aliases_sharing_a_prefix() {
+        TypeAliasTrie trie = new TypeAliasTrie();
+        trie.add("user", support1);
+        trie.add("user-order", support2);
+
+        assertThat(trie.get("user")).isSameAs(support1);
+        assertThat(trie.get("user-order")).isSameAs(support2);
+        assertThat(trie.get("user-")).isNull();
+        assertThat(trie.get("users")).isNull();
+        assertThat(trie.get("")).isNull();
+    }
+
+    @Test
+    void child__Walk_stops_at_first_unmatched_character() {
+        TypeAliasTrie trie = new TypeAliasTrie();
+        trie.add("order", support1);
+
+        TypeAliasTrie.Node node = trie.root().child('o');
+        assertThat(node).isNotNull();
+        assertThat(node.support()).isNull();
+        assertThat(node.child('x')).isNull();
+        assertThat(trie.root().child('x')).isNull();
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.fthardy.denom.convert;
+
+import io.github.fthardy.denom.LongIdent;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+
+/** Implementation of an atomic identifier with a {@code long} identity value for testing. */
+public final class AccountIdent extends LongIdent {
+
+    public AccountIdent(long identityValue) {
+        super(identityValue);
+    }
+
+    /**
+     * @return a new converter of the identifier with the type alias {@code account}.
+     */
+    public static LongIdentCanonicalConverter<AccountIdent> converter() {
+        return new LongIdentCanonicalConverter<>(AccountIdent.class, "account", AccountIdent::new);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.fthardy.denom.convert.impl;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scans characters for the first one which is not in a set of safe ASCII characters with the incubating Vector API, checking a whole vector of characters at
+ * once.
+ * <p>
+ * This class must only be loaded when the module {@code jdk.incubator.vector} is available, see {@code UriCodec}. It is compiled separately from the
+ * rest of the module with the incubator module and must therefore not depend on it.
+ * </p>
+ * <p>
+ * The set of safe characters is given as eight rows of 16 bits, one row for each value of the upper three bits of an ASCII character, in which the bit at the
+ * lower four bits of a character is set when the character is safe. For each lane, the row is selected by the upper bits of the character and shifted by
+ * its lower bits.
+ * </p>
+ */
+final class VectorizedSafeCharScanner {
+
+    /** The number of rows of the safe character set. */
+    static final int ROW_COUNT = 8;
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    private VectorizedSafeCharScanner() {}
+
+    /**
+     * @return the number of characters checked at once, which is at least {@link #ROW_COUNT}.
+     */
+    static int laneCount() {
+        if (SPECIES.length() < ROW_COUNT) {
+            throw new UnsupportedOperationException("The preferred vector species has less than %d lanes!".formatted(ROW_COUNT));
+        }
+        return SPECIES.length();
+    }
+
+    /**
+     * Skips the safe characters of a character array in whole vectors.
+     *
+     * @param chars the characters to scan.
+     * @param length the number of characters to scan, starting at index 0.
+     * @param safeRows the rows of the safe character set, repeated up to {@link #laneCount()} entries.
+     *
+     * @return the index of the first character which is not safe or the index of the first character which was not scanned, because it is part of the
+     * trailing characters which fill no whole vector.
+     */
+    static int skipSafe(char[] chars, int length, short[] safeRows) {
+        final ShortVector rows = ShortVector.fromArray(SPECIES, safeRows, 0);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            ShortVector row = vector.lanewise(VectorOperators.LSHR, 4).and((short) (ROW_COUNT - 1)).selectFrom(rows);
+            VectorMask<Short> nonSafe = row.lanewise(VectorOperators.LSHR, vector.and((short) 0x0F)).and((short) 1).eq((short) 0) //
+                    .or(vector.compare(VectorOperators.UNSIGNED_GE, (short) 0x80));
+            if (nonSafe.anyTrue()) {
+                return i + nonSafe.firstTrue();
+            }
+        }
+        return i;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.fthardy.denom.convert.impl;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scans bytes for the structural characters of canonicals with the incubating Vector API, checking a whole vector of bytes at once.
+ * <p>
+ * This class must only be loaded when the module {@code jdk.incubator.vector} is available, see {@code StructuralIndex}. It is compiled separately from the
+ * rest of the module with the incubator module and must therefore not depend on it, so the structural characters are given by the caller.
+ * </p>
+ */
+final class VectorizedStructuralScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorizedStructuralScanner() {}
+
+    /**
+     * @return the number of bytes checked at once.
+     */
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Adds the positions of the structural bytes of a byte array to a given array, in whole vectors.
+     *
+     * @param bytes the bytes to scan.
+     * @param length the number of bytes to scan, starting at index 0. Trailing bytes which fill no whole vector are not scanned.
+     * @param contentBegin the byte which begins a content.
+     * @param contentEnd the byte which ends a content.
+     * @param componentSeparator the byte which separates the components of a composite.
+     * @param escape the byte which begins an escape sequence.
+     * @param lineFeed the byte which ends a line.
+     * @param positions the array to add the positions to.
+     *
+     * @return the number of positions added.
+     */
+    static int scan(byte[] bytes, int length, byte contentBegin, byte contentEnd, byte componentSeparator, byte escape, byte lineFeed, int[] positions) {
+        final int bound = SPECIES.loopBound(length);
+        int size = 0;
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(SPECIES, bytes, i);
+            VectorMask<Byte> structural = vector.eq(contentBegin) //
+                    .or(vector.eq(contentEnd)) //
+                    .or(vector.eq(componentSeparator)) //
+                    .or(vector.eq(escape)) //
+                    .or(vector.eq(lineFeed)) //
+                    .or(vector.lt((byte) 0));
+            for (long bits = structural.toLong(); bits != 0; bits &= bits - 1) {
+                positions[size++] = i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return size;
+    }
+}
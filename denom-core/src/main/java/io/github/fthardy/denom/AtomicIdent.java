@@ -9,12 +9,21 @@ import java.util.Objects;
  * immutable value type. However, there is no way to ensure this for any subtype. So it is up to the implementor of a concrete subtype of this class to choose
  * such an immutable value type (like e.g. String or Integer etc.).
  * </p>
+ * <p>
+ * As the identifier is immutable, its hash code is calculated once on construction. Unequal hash codes let {@link #equals(Object)} fail without comparing
+ * the identity values.
+ * </p>
+ * <p>
+ * For identity values of a primitive type, use one of the specialized subtypes {@link LongIdent}, {@link IntIdent} or {@link UuidIdent} which store the raw
+ * value and don't box it.
+ * </p>
  *
  * @param <T> the type of the identity value.
  */
 public non-sealed abstract class AtomicIdent<T> extends DomainIdent {
 
     private final T identityValue;
+    private final int hash;
 
     /**
      * Initializes a new instance of an atomic domain identifier.
@@ -23,21 +32,36 @@ public non-sealed abstract class AtomicIdent<T> extends DomainIdent {
      */
     protected AtomicIdent(T identityValue) {
         this.identityValue = Objects.requireNonNull(identityValue);
+        this.hash = 31 * getClass().hashCode() + identityValue.hashCode();
+    }
+
+    /**
+     * Initializes a new instance of an atomic domain identifier which stores its identity value itself.
+     * <p>
+     * A subtype which uses this constructor must override {@link #getIdentityValue()}, {@link #identityValueEquals(AtomicIdent)} and
+     * {@link #identityValueToString()}.
+     * </p>
+     *
+     * @param identityValueHash the hash code of the identity value. This must be equal to the hash code of the boxed identity value.
+     */
+    AtomicIdent(int identityValueHash) {
+        this.identityValue = null;
+        this.hash = 31 * getClass().hashCode() + identityValueHash;
     }
 
     @Override
     public boolean equals(Object object) {
-        return super.equals(object) && getIdentityValue().equals(((AtomicIdent<?>) object).getIdentityValue());
+        return super.equals(object) && hash == ((AtomicIdent<?>) object).hash && identityValueEquals((AtomicIdent<?>) object);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), getIdentityValue());
+        return hash;
     }
 
     @Override
     public String toString() {
-        return "%s:%s".formatted(getClass().getSimpleName(), getIdentityValue().toString());
+        return getClass().getSimpleName() + ':' + identityValueToString();
     }
 
     /**
@@ -46,4 +70,22 @@ public non-sealed abstract class AtomicIdent<T> extends DomainIdent {
     public T getIdentityValue() {
         return identityValue;
     }
+
+    /**
+     * Compares the identity value of this identifier with the identity value of another identifier of the same type class.
+     *
+     * @param other the other identifier.
+     *
+     * @return {@code true} when the identity values are equal.
+     */
+    boolean identityValueEquals(AtomicIdent<?> other) {
+        return getIdentityValue().equals(other.getIdentityValue());
+    }
+
+    /**
+     * @return the string representation of the identity value.
+     */
+    String identityValueToString() {
+        return getIdentityValue().toString();
+    }
 }
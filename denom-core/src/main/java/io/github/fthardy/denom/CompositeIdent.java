@@ -1,13 +1,26 @@
 package io.github.fthardy.denom;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Represents a composite domain identifier.
+ * <p>
+ * As the identifier is immutable, its hash code is calculated once on construction from the hash codes of its components, which are cached by the
+ * components themselves. Unequal hash codes let {@link #equals(Object)} fail without comparing the component trees.
+ * </p>
+ * <p>
+ * The first two components are held in fields and only further components in an array, so the most common composites of two or three components need no or
+ * only a tiny array. {@link #components()} provides a list view on them.
+ * </p>
  */
 public non-sealed abstract class CompositeIdent extends DomainIdent {
 
+    private static final DomainIdent[] NO_FURTHER_COMPONENTS = new DomainIdent[0];
+
     /**
      * A utility function which aggregates a number of given domain identifiers into a <code>List</code>-Instance.
      * <p>
@@ -23,19 +36,58 @@ public non-sealed abstract class CompositeIdent extends DomainIdent {
      * @throws IllegalArgumentException when there is a duplicate domain identifier in the given list.
      */
     static List<DomainIdent> toList(DomainIdent first, DomainIdent second, DomainIdent... further) {
-        Set<DomainIdent> set = new LinkedHashSet<>();
-        set.add(Objects.requireNonNull(first));
-        set.add(Objects.requireNonNull(second));
-        if (further.length > 0) {
-            set.addAll(Arrays.stream(further).map(Objects::requireNonNull).toList());
+        checkComponents(first, second, further);
+        DomainIdent[] components = new DomainIdent[further.length + 2];
+        components[0] = first;
+        components[1] = second;
+        System.arraycopy(further, 0, components, 2, further.length);
+        return List.of(components);
+    }
+
+    /**
+     * Checks that no component is {@code null} and all components are distinct.
+     * <p>
+     * Composites have only a few components, so the components are compared pairwise instead of collecting them into a hash set. As the hash codes of domain
+     * identifiers are cached, comparing two unequal components is cheap.
+     * </p>
+     */
+    private static void checkComponents(DomainIdent first, DomainIdent second, DomainIdent[] further) {
+        if (Objects.requireNonNull(first).equals(Objects.requireNonNull(second))) {
+            throw duplicateComponent();
         }
-        if (set.size() != further.length + 2) {
-            throw new IllegalArgumentException("Duplicate identifiers detected! Each component identifier must be unique within the composite!");
+        for (int i = 0; i < further.length; i++) {
+            DomainIdent component = Objects.requireNonNull(further[i]);
+            if (component.equals(first) || component.equals(second)) {
+                throw duplicateComponent();
+            }
+            for (int j = 0; j < i; j++) {
+                if (component.equals(further[j])) {
+                    throw duplicateComponent();
+                }
+            }
         }
-        return set.stream().toList();
     }
 
-    private final List<DomainIdent> components;
+    private static IllegalArgumentException duplicateComponent() {
+        return new IllegalArgumentException("Duplicate identifiers detected! Each component identifier must be unique within the composite!");
+    }
+
+    /**
+     * Calculates the hash code of a composite identifier from its type class and its components.
+     *
+     * @param compositeClass the type class of the composite identifier.
+     * @param components the components of the composite identifier.
+     *
+     * @return the hash code.
+     */
+    static int hashCodeOf(Class<? extends CompositeIdent> compositeClass, List<DomainIdent> components) {
+        return 31 * compositeClass.hashCode() + components.hashCode();
+    }
+
+    private final DomainIdent first;
+    private final DomainIdent second;
+    private final DomainIdent[] further;
+    private final int hash;
 
     /**
      * Initializes a new instance of a composite domain identifier.
@@ -48,28 +100,80 @@ public non-sealed abstract class CompositeIdent extends DomainIdent {
      * @param further optionally any further identifiers.
      */
     protected CompositeIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
-        this.components = toList(first, second, further);
+        this.further = further.length == 0 ? NO_FURTHER_COMPONENTS : further.clone();
+        checkComponents(first, second, this.further);
+        this.first = first;
+        this.second = second;
+        int componentsHash = 31 * (31 + first.hashCode()) + second.hashCode(); // same as List.hashCode() of the components
+        for (DomainIdent component : this.further) {
+            componentsHash = 31 * componentsHash + component.hashCode();
+        }
+        this.hash = 31 * getClass().hashCode() + componentsHash;
     }
 
     @Override
     public boolean equals(Object object) {
-        return super.equals(object) && Objects.equals(components, ((CompositeIdent) object).components);
+        if (!super.equals(object)) return false;
+        CompositeIdent other = (CompositeIdent) object;
+        return hash == other.hash && first.equals(other.first) && second.equals(other.second) && Arrays.equals(further, other.further);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), components);
+        return hash;
     }
 
     @Override
     public String toString() {
-        return "%s[%s]".formatted(getClass().getSimpleName(), components.stream().map(DomainIdent::toString).collect(Collectors.joining(", ")));
+        StringBuilder builder = new StringBuilder(getClass().getSimpleName()).append('[').append(first).append(", ").append(second);
+        for (DomainIdent component : further) {
+            builder.append(", ").append(component);
+        }
+        return builder.append(']').toString();
     }
 
     /**
      * @return an immutable list of the domain identifier instances which make up the components of this composite identifier.
      */
     public List<DomainIdent> components() {
-        return components;
+        return new ComponentList();
+    }
+
+    /**
+     * @return the number of components of this composite identifier, which is at least two.
+     */
+    public int componentCount() {
+        return further.length + 2;
+    }
+
+    /**
+     * Get a component by its index.
+     *
+     * @param index the index of the component.
+     *
+     * @return the component.
+     *
+     * @throws IndexOutOfBoundsException when the index is not in the range {@code 0} to {@code componentCount() - 1}.
+     */
+    public DomainIdent component(int index) {
+        return switch (index) {
+            case 0 -> first;
+            case 1 -> second;
+            default -> further[Objects.checkIndex(index, componentCount()) - 2];
+        };
+    }
+
+    /** The immutable list view on the components. */
+    private final class ComponentList extends AbstractList<DomainIdent> implements RandomAccess {
+
+        @Override
+        public DomainIdent get(int index) {
+            return component(index);
+        }
+
+        @Override
+        public int size() {
+            return componentCount();
+        }
     }
 }
@@ -0,0 +1,201 @@
+package io.github.fthardy.denom;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An interner for domain identifiers which provides one canonical instance for all equal identifiers.
+ * <p>
+ * The interned instances are held weakly, so an interned identifier can be garbage collected as soon as it isn't referenced anywhere else. The interner is
+ * thread-safe.
+ * </p>
+ * <p>
+ * Composite identifiers are hash-consed by {@link #intern(Class, CompositeConstructor, DomainIdent, DomainIdent, DomainIdent...)}: it interns the components
+ * first and returns an existing composite made of these components without creating a new instance. As equal interned identifiers are the same instance, the
+ * comparison of their components reduces to reference comparisons. This only holds when all composites of a type are interned by that method, since
+ * {@link #intern(DomainIdent)} interns a composite with the component instances it was created with.
+ * </p>
+ */
+public final class DomainIdentInterner {
+
+    private final ConcurrentHashMap<Object, WeakEntry> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<DomainIdent> staleEntries = new ReferenceQueue<>();
+
+    /**
+     * Interns a domain identifier.
+     * <p>
+     * A composite identifier which is not interned yet is interned as it is, together with its components. Its components are not interned, since a composite
+     * can't be rebuilt from interned components without knowing its constructor. To hash-cons composites, intern them with
+     * {@link #intern(Class, CompositeConstructor, DomainIdent, DomainIdent, DomainIdent...)} instead.
+     * </p>
+     *
+     * @param domainIdent the domain identifier to intern.
+     *
+     * @param <T> the type of the domain identifier.
+     *
+     * @return the canonical instance which is equal to the given identifier. This is the given instance itself when no equal identifier was interned before.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends DomainIdent> T intern(T domainIdent) {
+        expungeStaleEntries();
+        DomainIdent interned = lookup(new IdentKey(Objects.requireNonNull(domainIdent)));
+        if (interned != null) {
+            return (T) interned; // equal identifiers are always of the same class
+        }
+
+        WeakEntry entry = new WeakEntry(domainIdent, staleEntries);
+        while (true) {
+            WeakEntry existing = entries.putIfAbsent(entry, entry);
+            if (existing == null) {
+                return domainIdent;
+            }
+            interned = existing.get();
+            if (interned != null) {
+                return (T) interned;
+            }
+            entries.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Interns a composite identifier made of the given components.
+     * <p>
+     * The components are interned first. When an equal composite identifier has been interned before, it is returned without creating a new instance.
+     * Otherwise, a new instance is created from the interned components and interned.
+     * </p>
+     *
+     * @param compositeClass the type class of the composite identifier.
+     * @param constructor the function to create a new composite identifier instance.
+     * @param first the first component.
+     * @param second the second component.
+     * @param further any further components.
+     *
+     * @param <T> the type of the composite identifier.
+     *
+     * @return the canonical instance of the composite identifier.
+     */
+    public <T extends CompositeIdent> T intern(Class<T> compositeClass, CompositeConstructor<T> constructor, DomainIdent first, DomainIdent second,
+            DomainIdent... further) {
+        DomainIdent[] components = new DomainIdent[further.length + 2];
+        components[0] = intern(first);
+        components[1] = intern(second);
+        for (int i = 0; i < further.length; i++) {
+            components[i + 2] = intern(further[i]);
+        }
+
+        DomainIdent interned = lookup(new CompositeKey(compositeClass, Arrays.asList(components)));
+        if (interned != null) {
+            return compositeClass.cast(interned);
+        }
+        return intern(constructor.create(components[0], components[1], Arrays.copyOfRange(components, 2, components.length)));
+    }
+
+    /**
+     * @return the number of interned identifiers. This includes identifiers which have been garbage collected recently but not expunged yet.
+     */
+    public int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    private DomainIdent lookup(Object key) {
+        WeakEntry entry = entries.get(key);
+        return entry == null ? null : entry.get();
+    }
+
+    private void expungeStaleEntries() {
+        for (Reference<? extends DomainIdent> reference; (reference = staleEntries.poll()) != null; ) {
+            entries.remove(reference, reference);
+        }
+    }
+
+    /**
+     * A function which creates a composite identifier from its components.
+     *
+     * @param <T> the type of the composite identifier.
+     */
+    @FunctionalInterface
+    public interface CompositeConstructor<T extends CompositeIdent> {
+
+        /**
+         * Creates a composite identifier.
+         *
+         * @param first the first component.
+         * @param second the second component.
+         * @param further any further components.
+         *
+         * @return the new composite identifier instance.
+         */
+        T create(DomainIdent first, DomainIdent second, DomainIdent... further);
+    }
+
+    /**
+     * The weakly referencing map entry. Once its referent has been collected, an entry is only equal to itself.
+     */
+    private static final class WeakEntry extends WeakReference<DomainIdent> {
+
+        private final int hash;
+
+        WeakEntry(DomainIdent domainIdent, ReferenceQueue<DomainIdent> queue) {
+            super(domainIdent, queue);
+            this.hash = domainIdent.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) return true;
+            if (!(object instanceof WeakEntry other) || hash != other.hash) return false;
+            DomainIdent domainIdent = get();
+            return domainIdent != null && domainIdent.equals(other.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** The lookup key for a given identifier instance. */
+    private record IdentKey(DomainIdent domainIdent) {
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof WeakEntry entry && entry.hash == domainIdent.hashCode() && domainIdent.equals(entry.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return domainIdent.hashCode();
+        }
+    }
+
+    /** The lookup key for a composite identifier which doesn't exist as an instance yet. */
+    private static final class CompositeKey {
+
+        private final Class<? extends CompositeIdent> compositeClass;
+        private final List<DomainIdent> components;
+        private final int hash;
+
+        CompositeKey(Class<? extends CompositeIdent> compositeClass, List<DomainIdent> components) {
+            this.compositeClass = compositeClass;
+            this.components = components;
+            this.hash = CompositeIdent.hashCodeOf(compositeClass, components);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof WeakEntry entry && entry.hash == hash && entry.get() instanceof CompositeIdent compositeIdent //
+                    && compositeIdent.getClass() == compositeClass && compositeIdent.components().equals(components);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.fthardy.denom;
+
+/**
+ * Represents an atomic domain identifier with an {@code int} identity value.
+ * <p>
+ * This is the counterpart of {@link LongIdent} for 32-bit identity values. The value is stored unboxed; {@link #getIdentityValue()} boxes it on demand.
+ * </p>
+ */
+public abstract class IntIdent extends AtomicIdent<Integer> {
+
+    private final int identityValue;
+
+    /**
+     * Initializes a new instance of an atomic domain identifier with an {@code int} identity value.
+     *
+     * @param identityValue the identity value.
+     */
+    protected IntIdent(int identityValue) {
+        super(Integer.hashCode(identityValue));
+        this.identityValue = identityValue;
+    }
+
+    /**
+     * @return the raw identity value.
+     */
+    public int intValue() {
+        return identityValue;
+    }
+
+    @Override
+    public Integer getIdentityValue() {
+        return identityValue;
+    }
+
+    @Override
+    boolean identityValueEquals(AtomicIdent<?> other) {
+        return identityValue == ((IntIdent) other).identityValue;
+    }
+
+    @Override
+    String identityValueToString() {
+        return Integer.toString(identityValue);
+    }
+}
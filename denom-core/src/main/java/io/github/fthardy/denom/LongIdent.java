@@ -0,0 +1,45 @@
+package io.github.fthardy.denom;
+
+/**
+ * Represents an atomic domain identifier with a {@code long} identity value.
+ * <p>
+ * The identity value is stored as a primitive, so equality, hashing and the string representation need no boxing. Use this as base type for identifiers
+ * like 64-bit database keys. {@link #getIdentityValue()} is only provided for compatibility with the generic {@link AtomicIdent} API and boxes the value.
+ * </p>
+ */
+public abstract class LongIdent extends AtomicIdent<Long> {
+
+    private final long identityValue;
+
+    /**
+     * Initializes a new instance of an atomic domain identifier with a {@code long} identity value.
+     *
+     * @param identityValue the identity value.
+     */
+    protected LongIdent(long identityValue) {
+        super(Long.hashCode(identityValue));
+        this.identityValue = identityValue;
+    }
+
+    /**
+     * @return the raw identity value.
+     */
+    public long longValue() {
+        return identityValue;
+    }
+
+    @Override
+    public Long getIdentityValue() {
+        return identityValue;
+    }
+
+    @Override
+    boolean identityValueEquals(AtomicIdent<?> other) {
+        return identityValue == ((LongIdent) other).identityValue;
+    }
+
+    @Override
+    String identityValueToString() {
+        return Long.toString(identityValue);
+    }
+}
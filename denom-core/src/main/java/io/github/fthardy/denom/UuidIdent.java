@@ -0,0 +1,81 @@
+package io.github.fthardy.denom;
+
+import java.util.UUID;
+
+/**
+ * Represents an atomic domain identifier with a {@link UUID} identity value.
+ * <p>
+ * The identity value is stored as its two 64-bit halves instead of a reference to a {@code UUID} instance. Equality and hashing compare these halves
+ * directly. {@link #getIdentityValue()} creates a new {@code UUID} instance on each call.
+ * </p>
+ */
+public abstract class UuidIdent extends AtomicIdent<UUID> {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    /**
+     * Initializes a new instance of an atomic domain identifier with a UUID identity value.
+     *
+     * @param mostSignificantBits the most significant 64 bits of the UUID.
+     * @param leastSignificantBits the least significant 64 bits of the UUID.
+     */
+    protected UuidIdent(long mostSignificantBits, long leastSignificantBits) {
+        super(Long.hashCode(mostSignificantBits ^ leastSignificantBits)); // equal to UUID.hashCode()
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    /**
+     * Initializes a new instance of an atomic domain identifier with a UUID identity value.
+     *
+     * @param identityValue the identity value.
+     */
+    protected UuidIdent(UUID identityValue) {
+        this(identityValue.getMostSignificantBits(), identityValue.getLeastSignificantBits());
+    }
+
+    /**
+     * @return the most significant 64 bits of the identity value.
+     */
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    /**
+     * @return the least significant 64 bits of the identity value.
+     */
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    @Override
+    public UUID getIdentityValue() {
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    boolean identityValueEquals(AtomicIdent<?> other) {
+        UuidIdent otherUuidIdent = (UuidIdent) other;
+        return mostSignificantBits == otherUuidIdent.mostSignificantBits && leastSignificantBits == otherUuidIdent.leastSignificantBits;
+    }
+
+    @Override
+    String identityValueToString() {
+        StringBuilder builder = new StringBuilder(36);
+        appendHex(builder, mostSignificantBits >>> 32, 8);
+        appendHex(builder.append('-'), mostSignificantBits >>> 16, 4);
+        appendHex(builder.append('-'), mostSignificantBits, 4);
+        appendHex(builder.append('-'), leastSignificantBits >>> 48, 4);
+        appendHex(builder.append('-'), leastSignificantBits, 12);
+        return builder.toString();
+    }
+
+    private static void appendHex(StringBuilder target, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            target.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package io.github.fthardy.denom;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,6 +65,14 @@ class CompositeIdentTest {
         assertEquals(ident.hashCode(), anotherIdent.hashCode());
     }
 
+    @Test
+    void hashCode__is_derived_from_component_hash_codes() {
+        UserOrderIdent ident = new UserOrderIdent(new UserIdent(42), new OrderIdent(666));
+
+        assertEquals(CompositeIdent.hashCodeOf(UserOrderIdent.class, List.of(new UserIdent(42), new OrderIdent(666))), ident.hashCode());
+        assertNotEquals(ident.hashCode(), new UserOrderIdent(new UserIdent(42), new OrderIdent(667)).hashCode());
+    }
+
     @Test
     void toString__equal() {
         UserOrderIdent ident = new UserOrderIdent(new UserIdent(42), new OrderIdent(666));
@@ -85,4 +95,29 @@ class CompositeIdentTest {
 
         assertThat(ident.components()).containsExactly(new UserIdent(42), new OrderIdent(666));
     }
-}
\ No newline at end of file
+
+    @Test
+    void component__by_index() {
+        UserOrderIdent ident = new UserOrderIdent(new UserIdent(42), new OrderIdent(666));
+
+        assertEquals(2, ident.componentCount());
+        assertEquals(new UserIdent(42), ident.component(0));
+        assertEquals(new OrderIdent(666), ident.component(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ident.component(2));
+    }
+
+    @Test
+    void components__view_is_immutable() {
+        UserOrderIdent ident = new UserOrderIdent(new UserIdent(42), new OrderIdent(666));
+
+        assertThrows(UnsupportedOperationException.class, () -> ident.components().set(0, new UserIdent(1)));
+        assertEquals(List.of(new UserIdent(42), new OrderIdent(666)), ident.components());
+    }
+
+    @Test
+    void constructor__no_duplicates_and_nulls_allowed() {
+        assertThrows(IllegalArgumentException.class, () -> new CompositeIdent(new UserIdent(42), new OrderIdent(42), new UserIdent(42)) {});
+        assertThrows(IllegalArgumentException.class, () -> new CompositeIdent(new UserIdent(42), new OrderIdent(42), new UserIdent(1), new UserIdent(1)) {});
+        assertThrows(NullPointerException.class, () -> new CompositeIdent(new UserIdent(42), new OrderIdent(42), (DomainIdent) null) {});
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.fthardy.denom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DomainIdentInternerTest {
+
+    private final DomainIdentInterner interner = new DomainIdentInterner();
+
+    @Test
+    void intern__equal_idents_are_interned_to_same_instance() {
+        UserIdent ident = new UserIdent(42);
+
+        assertThat(interner.intern(ident)).isSameAs(ident);
+        assertThat(interner.intern(new UserIdent(42))).isSameAs(ident);
+        assertThat(interner.intern(new OrderIdent(42))).isNotSameAs(ident);
+        assertThat(interner.size()).isEqualTo(2);
+    }
+
+    @Test
+    void intern__null_not_allowed() {
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+    }
+
+    @Test
+    void intern__composite_instance_is_interned_as_it_is() {
+        UserIdent userIdent = interner.intern(new UserIdent(42));
+        UserOrderIdent ident = new UserOrderIdent(new UserIdent(42), new OrderIdent(666));
+
+        assertThat(interner.intern(ident)).isSameAs(ident);
+        assertThat(ident.component(0)).isNotSameAs(userIdent);
+        assertThat(interner.intern(new UserOrderIdent(new UserIdent(42), new OrderIdent(666)))).isSameAs(ident);
+        assertThat(interner.size()).isEqualTo(2);
+    }
+
+    @Test
+    void intern__existing_composite_is_returned_without_creating_a_new_instance() {
+        AtomicInteger creations = new AtomicInteger();
+        DomainIdentInterner.CompositeConstructor<UserOrderIdent> constructor = (first, second, further) -> {
+            creations.incrementAndGet();
+            return new UserOrderIdent((UserIdent) first, (OrderIdent) second);
+        };
+
+        UserOrderIdent ident = interner.intern(UserOrderIdent.class, constructor, new UserIdent(42), new OrderIdent(666));
+        UserOrderIdent anotherIdent = interner.intern(UserOrderIdent.class, constructor, new UserIdent(42), new OrderIdent(666));
+
+        assertThat(anotherIdent).isSameAs(ident);
+        assertThat(creations).hasValue(1);
+        assertThat(interner.intern(new UserOrderIdent(new UserIdent(42), new OrderIdent(666)))).isSameAs(ident);
+    }
+
+    @Test
+    void intern__composite_is_built_from_interned_components() {
+        UserIdent userIdent = interner.intern(new UserIdent(42));
+
+        UserOrderIdent ident = interner.intern(UserOrderIdent.class, //
+                (first, second, further) -> new UserOrderIdent((UserIdent) first, (OrderIdent) second), new UserIdent(42), new OrderIdent(666));
+
+        assertThat(ident.component(0)).isSameAs(userIdent);
+        assertThat(ident.component(0)).isSameAs(interner.intern(new UserIdent(42)));
+        assertThat(ident.component(1)).isSameAs(interner.intern(new OrderIdent(666)));
+    }
+}
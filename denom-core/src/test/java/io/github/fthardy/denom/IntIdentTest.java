@@ -0,0 +1,33 @@
+package io.github.fthardy.denom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIdentTest {
+
+    static final class TicketIdent extends IntIdent {
+        TicketIdent(int identityValue) {
+            super(identityValue);
+        }
+    }
+
+    @Test
+    void equals_and_hashCode() {
+        TicketIdent ident = new TicketIdent(42);
+
+        assertEquals(ident, new TicketIdent(42));
+        assertEquals(ident.hashCode(), new TicketIdent(42).hashCode());
+        assertNotEquals(ident, new TicketIdent(666));
+        assertNotEquals(ident, new UserIdent(42));
+    }
+
+    @Test
+    void getIdentityValue() {
+        TicketIdent ident = new TicketIdent(-42);
+
+        assertEquals(-42, ident.intValue());
+        assertEquals(Integer.valueOf(-42), ident.getIdentityValue());
+        assertEquals("TicketIdent:-42", ident.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.fthardy.denom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIdentTest {
+
+    static final class AccountIdent extends LongIdent {
+        AccountIdent(long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class CustomerIdent extends LongIdent {
+        CustomerIdent(long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class BoxedAccountIdent extends AtomicIdent<Long> {
+        BoxedAccountIdent(Long identityValue) {
+            super(identityValue);
+        }
+    }
+
+    @Test
+    void equals() {
+        AccountIdent ident = new AccountIdent(Long.MAX_VALUE);
+
+        assertEquals(ident, new AccountIdent(Long.MAX_VALUE));
+        assertNotEquals(ident, new AccountIdent(Long.MIN_VALUE));
+        assertNotEquals(ident, new CustomerIdent(Long.MAX_VALUE));
+        assertNotEquals(ident, null);
+    }
+
+    @Test
+    void hashCode__equal_to_boxed_identity_value_hash() {
+        assertEquals(new AccountIdent(-42).hashCode() - 31 * AccountIdent.class.hashCode(),
+                new BoxedAccountIdent(-42L).hashCode() - 31 * BoxedAccountIdent.class.hashCode());
+    }
+
+    @Test
+    void getIdentityValue() {
+        AccountIdent ident = new AccountIdent(4711);
+
+        assertEquals(4711L, ident.longValue());
+        assertThat(ident.getIdentityValue()).isEqualTo(4711L);
+    }
+
+    @Test
+    void toString__same_as_generic_atomic_ident() {
+        assertEquals("AccountIdent:-4711", new AccountIdent(-4711).toString());
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.fthardy.denom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidIdentTest {
+
+    private static final UUID UUID_VALUE = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    static final class DocumentIdent extends UuidIdent {
+        DocumentIdent(UUID identityValue) {
+            super(identityValue);
+        }
+
+        DocumentIdent(long mostSignificantBits, long leastSignificantBits) {
+            super(mostSignificantBits, leastSignificantBits);
+        }
+    }
+
+    @Test
+    void constructor__no_null_identity_value_allowed() {
+        assertThrows(NullPointerException.class, () -> new DocumentIdent(null));
+    }
+
+    @Test
+    void equals_and_hashCode() {
+        DocumentIdent ident = new DocumentIdent(UUID_VALUE);
+        DocumentIdent anotherIdent = new DocumentIdent(UUID_VALUE.getMostSignificantBits(), UUID_VALUE.getLeastSignificantBits());
+
+        assertEquals(ident, anotherIdent);
+        assertEquals(ident.hashCode(), anotherIdent.hashCode());
+        assertNotEquals(ident, new DocumentIdent(UUID_VALUE.getMostSignificantBits(), 0L));
+    }
+
+    @Test
+    void getIdentityValue() {
+        DocumentIdent ident = new DocumentIdent(UUID_VALUE);
+
+        assertEquals(UUID_VALUE, ident.getIdentityValue());
+        assertEquals(UUID_VALUE.getMostSignificantBits(), ident.getMostSignificantBits());
+        assertEquals(UUID_VALUE.getLeastSignificantBits(), ident.getLeastSignificantBits());
+    }
+
+    @Test
+    void toString__contains_uuid() {
+        assertEquals("DocumentIdent:123e4567-e89b-12d3-a456-426614174000", new DocumentIdent(UUID_VALUE).toString());
+    }
+
+    @Test
+    void toString__same_as_uuid_with_leading_zeros() {
+        assertEquals("DocumentIdent:" + new UUID(0x12L, -1L), new DocumentIdent(0x12L, -1L).toString());
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CanonicalParseException;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Deserializes a domain identifier of a given type from a JSON string of its canonical representation.
+ * <p>
+ * The canonical is parsed from the character buffer of the parser, so no string is created unless the canonical is malformed or of another type.
+ * </p>
+ */
+final class DomainIdentDeserializer extends StdScalarDeserializer<DomainIdent> {
+
+    private final DomainIdentCanonicalConverter converter;
+    private final RecentDomainIdentCache cache;
+
+    /**
+     * Creates a new deserializer.
+     *
+     * @param identType the type of the identifiers to deserialize, which is {@link DomainIdent} or a subtype of it.
+     * @param converter the converter for the canonicals.
+     * @param cache the cache of the recently deserialized identifiers or {@code null} when there is none.
+     */
+    DomainIdentDeserializer(Class<?> identType, DomainIdentCanonicalConverter converter, RecentDomainIdentCache cache) {
+        super(identType);
+        this.converter = converter;
+        this.cache = cache;
+    }
+
+    @Override
+    public DomainIdent deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+            return (DomainIdent) context.handleUnexpectedToken(handledType(), parser);
+        }
+        final CharBuffer text = CharBuffer.wrap(parser.getTextCharacters());
+        final int offset = parser.getTextOffset();
+        final int length = parser.getTextLength();
+        DomainIdent domainIdent;
+        try {
+            domainIdent = cache != null ? cache.fromCanonical(text, offset, length) : converter.fromCanonical(text, offset, length);
+        } catch (CanonicalParseException | IllegalArgumentException e) {
+            return (DomainIdent) context.handleWeirdStringValue(handledType(), text.subSequence(offset, offset + length).toString(), e.getMessage());
+        }
+        if (!handledType().isInstance(domainIdent)) {
+            return (DomainIdent) context.handleWeirdStringValue(handledType(), text.subSequence(offset, offset + length).toString(),
+                    Messages.unexpectedType(domainIdent, handledType()));
+        }
+        return domainIdent;
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String unexpectedType(DomainIdent domainIdent, Class<?> identType) {
+            return "The canonical denotes a %s but a %s is expected!".formatted(domainIdent.getClass().getName(), identType.getName());
+        }
+    }
+}
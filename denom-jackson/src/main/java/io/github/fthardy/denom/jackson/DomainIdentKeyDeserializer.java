@@ -0,0 +1,46 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CanonicalParseException;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a domain identifier of a given type from a JSON field name of its canonical representation.
+ */
+final class DomainIdentKeyDeserializer extends KeyDeserializer {
+
+    private final Class<?> identType;
+    private final DomainIdentCanonicalConverter converter;
+    private final RecentDomainIdentCache cache;
+
+    /**
+     * Creates a new key deserializer.
+     *
+     * @param identType the type of the identifiers to deserialize, which is {@link DomainIdent} or a subtype of it.
+     * @param converter the converter for the canonicals.
+     * @param cache the cache of the recently deserialized identifiers or {@code null} when there is none.
+     */
+    DomainIdentKeyDeserializer(Class<?> identType, DomainIdentCanonicalConverter converter, RecentDomainIdentCache cache) {
+        this.identType = identType;
+        this.converter = converter;
+        this.cache = cache;
+    }
+
+    @Override
+    public Object deserializeKey(String key, DeserializationContext context) throws IOException {
+        DomainIdent domainIdent;
+        try {
+            domainIdent = cache != null ? cache.fromCanonical(key, 0, key.length()) : converter.fromCanonical(key);
+        } catch (CanonicalParseException | IllegalArgumentException e) {
+            return context.handleWeirdKey(identType, key, e.getMessage());
+        }
+        if (!identType.isInstance(domainIdent)) {
+            return context.handleWeirdKey(identType, key, DomainIdentDeserializer.Messages.unexpectedType(domainIdent, identType));
+        }
+        return domainIdent;
+    }
+}
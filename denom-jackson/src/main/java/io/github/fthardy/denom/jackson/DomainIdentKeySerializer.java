@@ -0,0 +1,28 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+
+import java.io.IOException;
+
+/**
+ * Serializes a domain identifier as a JSON field name of its canonical representation. As a generator only takes a field name as a string, the canonical is
+ * created as a string.
+ */
+final class DomainIdentKeySerializer extends StdSerializer<DomainIdent> {
+
+    private final DomainIdentCanonicalConverter converter;
+
+    DomainIdentKeySerializer(DomainIdentCanonicalConverter converter) {
+        super(DomainIdent.class);
+        this.converter = converter;
+    }
+
+    @Override
+    public void serialize(DomainIdent value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeFieldName(converter.toCanonical(value));
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.KeyDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CacheStats;
+
+import java.util.Objects;
+
+/**
+ * A Jackson module which (de)serializes domain identifiers, including map keys, as JSON strings of their canonical representations.
+ * <p>
+ * A canonical is written to the generator from a buffer which is reused for all identifiers of one serialization, and it is parsed from the character buffer
+ * of the parser, so no string is created per value. Map keys are the exception, since Jackson passes them as strings. A value of any subtype of
+ * {@link DomainIdent} can be deserialized; a canonical of an identifier of another type is reported as an invalid value.
+ * </p>
+ * <p>
+ * Optionally, the module caches the recently deserialized identifiers by their canonical, which saves the parsing of identifiers recurring in many payloads.
+ * As the cache is owned by the module instance, each {@code ObjectMapper} should register its own instance.
+ * </p>
+ */
+public final class DomainIdentModule extends Module {
+
+    private final DomainIdentCanonicalConverter converter;
+    private final RecentDomainIdentCache cache;
+
+    /**
+     * Creates a new module without a cache.
+     *
+     * @param converter the converter for the canonicals.
+     */
+    public DomainIdentModule(DomainIdentCanonicalConverter converter) {
+        this(converter, 0);
+    }
+
+    /**
+     * Creates a new module.
+     *
+     * @param converter the converter for the canonicals.
+     * @param cacheSize the number of recently deserialized identifiers to cache, rounded up to a power of two, or {@code 0} for no cache.
+     */
+    public DomainIdentModule(DomainIdentCanonicalConverter converter, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException(Messages.invalidCacheSize(cacheSize));
+        }
+        this.converter = Objects.requireNonNull(converter);
+        this.cache = cacheSize == 0 ? null : new RecentDomainIdentCache(converter, cacheSize);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "denom";
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        SimpleSerializers serializers = new SimpleSerializers();
+        serializers.addSerializer(DomainIdent.class, new DomainIdentSerializer(converter));
+        context.addSerializers(serializers);
+
+        SimpleSerializers keySerializers = new SimpleSerializers();
+        keySerializers.addSerializer(DomainIdent.class, new DomainIdentKeySerializer(converter));
+        context.addKeySerializers(keySerializers);
+
+        context.addDeserializers(new Deserializers.Base() {
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                return type.isTypeOrSubTypeOf(DomainIdent.class) ? new DomainIdentDeserializer(type.getRawClass(), converter, cache) : null;
+            }
+        });
+        context.addKeyDeserializers(new KeyDeserializers() {
+            @Override
+            public KeyDeserializer findKeyDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                return type.isTypeOrSubTypeOf(DomainIdent.class) ? new DomainIdentKeyDeserializer(type.getRawClass(), converter, cache) : null;
+            }
+        });
+    }
+
+    /**
+     * @return the statistics of the cache of this module or {@code null} when this module has no cache.
+     */
+    public CacheStats cacheStats() {
+        return cache == null ? null : cache.stats();
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidCacheSize(int cacheSize) {
+            return "The cache size must not be negative but is %d!".formatted(cacheSize);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+
+import java.io.IOException;
+
+/**
+ * Serializes a domain identifier as a JSON string of its canonical representation.
+ * <p>
+ * The canonical is appended to a buffer which is kept as an attribute of the serializer provider, so it is reused for all identifiers of one serialization,
+ * and written to the generator from the characters of that buffer.
+ * </p>
+ */
+final class DomainIdentSerializer extends StdSerializer<DomainIdent> {
+
+    private final DomainIdentCanonicalConverter converter;
+
+    DomainIdentSerializer(DomainIdentCanonicalConverter converter) {
+        super(DomainIdent.class);
+        this.converter = converter;
+    }
+
+    @Override
+    public void serialize(DomainIdent value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        CanonicalBuffer buffer = (CanonicalBuffer) provider.getAttribute(CanonicalBuffer.class);
+        if (buffer == null) {
+            buffer = new CanonicalBuffer();
+            provider.setAttribute(CanonicalBuffer.class, buffer);
+        }
+        buffer.builder.setLength(0);
+        converter.appendCanonical(value, buffer.builder);
+        final int length = buffer.builder.length();
+        if (buffer.chars.length < length) {
+            buffer.chars = new char[Math.max(length, 2 * buffer.chars.length)];
+        }
+        buffer.builder.getChars(0, length, buffer.chars, 0);
+        generator.writeString(buffer.chars, 0, length);
+    }
+
+    private static final class CanonicalBuffer {
+
+        final StringBuilder builder = new StringBuilder(64);
+        char[] chars = new char[64];
+    }
+}
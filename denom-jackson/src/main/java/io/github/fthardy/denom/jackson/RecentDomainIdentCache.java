@@ -0,0 +1,118 @@
+package io.github.fthardy.denom.jackson;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.DomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of recently converted domain identifiers which is looked up by a range of a character sequence, so a canonical needs no string for the lookup.
+ * <p>
+ * The cache is a table of a power of two size in which each canonical has exactly one slot, determined by its hash code. A conversion replaces the entry in
+ * the slot of its canonical, so the cache holds the most recent identifier per slot. The slots are read and written without locking: an entry is immutable
+ * and so safely published by its final fields, and concurrent conversions of canonicals with the same slot only lose one of the entries.
+ * </p>
+ */
+final class RecentDomainIdentCache {
+
+    private static final int MAXIMUM_SIZE = 1 << 30;
+
+    private final DomainIdentCanonicalConverter converter;
+    private final Entry[] entries;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param converter the converter of the canonicals which are not cached.
+     * @param size the number of slots, which is rounded up to a power of two.
+     */
+    RecentDomainIdentCache(DomainIdentCanonicalConverter converter, int size) {
+        if (size < 1 || size > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException(Messages.invalidSize(size));
+        }
+        this.converter = converter;
+        this.entries = new Entry[size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1];
+    }
+
+    /**
+     * Gets the cached identifier of a canonical or converts the canonical and caches the result.
+     *
+     * @param canonical the character sequence containing the canonical.
+     * @param offset the index of the first character of the canonical.
+     * @param length the number of characters of the canonical.
+     *
+     * @return the domain identifier.
+     */
+    DomainIdent fromCanonical(CharSequence canonical, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + canonical.charAt(i);
+        }
+        final int slot = (hash ^ hash >>> 16) & (entries.length - 1);
+        final Entry entry = entries[slot];
+        if (entry != null && entry.hash == hash && entry.matches(canonical, offset, length)) {
+            hitCount.increment();
+            return entry.domainIdent;
+        }
+        missCount.increment();
+        DomainIdent domainIdent = converter.fromCanonical(canonical, offset, length);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = canonical.charAt(offset + i);
+        }
+        if (entry != null) {
+            evictionCount.increment();
+        }
+        entries[slot] = new Entry(hash, chars, domainIdent);
+        return domainIdent;
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    int size() {
+        return entries.length;
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private static final class Entry {
+
+        final int hash;
+        final char[] canonical;
+        final DomainIdent domainIdent;
+
+        Entry(int hash, char[] canonical, DomainIdent domainIdent) {
+            this.hash = hash;
+            this.canonical = canonical;
+            this.domainIdent = domainIdent;
+        }
+
+        boolean matches(CharSequence sequence, int offset, int length) {
+            if (canonical.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (canonical[i] != sequence.charAt(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidSize(int size) {
+            return "The size must be between 1 and %d but is %d!".formatted(MAXIMUM_SIZE, size);
+        }
+    }
+}
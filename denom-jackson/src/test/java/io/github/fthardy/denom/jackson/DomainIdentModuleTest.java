@@ -0,0 +1,156 @@
+package io.github.fthardy.denom.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CacheStats;
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DomainIdentModuleTest {
+
+    static final class NoteIdent extends AtomicIdent<String> {
+        NoteIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    static final class TransferIdent extends CompositeIdent {
+        TransferIdent(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            super(first, second, further);
+        }
+    }
+
+    static final class TransferIdentFactory implements CompositeIdentFactory<TransferIdent> {
+
+        @Override
+        public IdentTypeClass2AliasBinding<TransferIdent> typeClass2AliasBinding() {
+            return new IdentTypeClass2AliasBinding<>(TransferIdent.class, "transfer");
+        }
+
+        @Override
+        public TransferIdent fromComponents(DomainIdent first, DomainIdent second, DomainIdent... further) {
+            return new TransferIdent(first, second, further);
+        }
+    }
+
+    record Payload(AccountIdent account, DomainIdent any, List<NoteIdent> notes) {}
+
+    private static final AccountIdent ACCOUNT = new AccountIdent(42);
+    private static final NoteIdent NOTE = new NoteIdent("a \"quoted\" (note)");
+    private static final TransferIdent TRANSFER = new TransferIdent(ACCOUNT, NOTE);
+
+    private final DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(newRegistry());
+
+    private static DomainIdentCanonicalConverterSupportRegistry newRegistry() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        registry.addSupport(new StringIdentCanonicalConverter<>(NoteIdent.class, "note", NoteIdent::new));
+        registry.addSupport(new TransferIdentFactory());
+        return registry;
+    }
+
+    private ObjectMapper newMapper(int cacheSize) {
+        return new ObjectMapper().registerModule(new DomainIdentModule(converter, cacheSize));
+    }
+
+    @Test
+    void writeValue__canonicals_as_strings() throws IOException {
+        String json = newMapper(0).writeValueAsString(new Payload(ACCOUNT, TRANSFER, List.of(NOTE, NOTE)));
+
+        assertThat(json).isEqualTo("{\"account\":\"%s\",\"any\":\"%s\",\"notes\":[\"%s\",\"%s\"]}".formatted(converter.toCanonical(ACCOUNT),
+                converter.toCanonical(TRANSFER), converter.toCanonical(NOTE), converter.toCanonical(NOTE)));
+    }
+
+    @Test
+    void readValue__round_trip_from_chars_and_bytes() throws IOException {
+        ObjectMapper mapper = newMapper(0);
+        Payload payload = new Payload(ACCOUNT, TRANSFER, List.of(NOTE, new NoteIdent("ü")));
+        String json = mapper.writeValueAsString(payload);
+
+        assertThat(mapper.readValue(json, Payload.class)).isEqualTo(payload);
+        assertThat(mapper.readValue(json.getBytes(StandardCharsets.UTF_8), Payload.class)).isEqualTo(payload);
+    }
+
+    @Test
+    void readValue__map_keys_round_trip() throws IOException {
+        ObjectMapper mapper = newMapper(16);
+        Map<DomainIdent, AccountIdent> map = new LinkedHashMap<>();
+        map.put(TRANSFER, ACCOUNT);
+        map.put(NOTE, new AccountIdent(7));
+        String json = mapper.writeValueAsString(map);
+
+        assertThat(json).isEqualTo("{\"%s\":\"%s\",\"%s\":\"account(7)\"}".formatted(converter.toCanonical(TRANSFER), converter.toCanonical(ACCOUNT),
+                converter.toCanonical(NOTE)));
+        assertThat(mapper.readValue(json, new TypeReference<Map<DomainIdent, AccountIdent>>() {})).isEqualTo(map);
+    }
+
+    @Test
+    void readValue__Malformed_canonical() {
+        InvalidFormatException exception = assertThrows(InvalidFormatException.class, () -> newMapper(0).readValue("\"account(42\"", AccountIdent.class));
+
+        assertThat(exception.getValue()).isEqualTo("account(42");
+    }
+
+    @Test
+    void readValue__Canonical_of_another_type() {
+        InvalidFormatException exception = assertThrows(InvalidFormatException.class, () -> newMapper(16).readValue("\"note(x)\"", AccountIdent.class));
+
+        assertThat(exception.getMessage()).contains(DomainIdentDeserializer.Messages.unexpectedType(new NoteIdent("x"), AccountIdent.class));
+    }
+
+    @Test
+    void readValue__Malformed_map_key() {
+        assertThrows(InvalidFormatException.class, () -> newMapper(0).readValue("{\"account(x)\":\"account(1)\"}",
+                new TypeReference<Map<AccountIdent, AccountIdent>>() {}));
+    }
+
+    @Test
+    void readValue__No_string() {
+        assertThrows(MismatchedInputException.class, () -> newMapper(0).readValue("42", AccountIdent.class));
+    }
+
+    @Test
+    void readValue__recurring_identifiers_are_cached() throws IOException {
+        DomainIdentModule module = new DomainIdentModule(converter, 16);
+        ObjectMapper mapper = new ObjectMapper().registerModule(module);
+
+        List<AccountIdent> accounts = mapper.readValue("[\"account(1)\",\"account(2)\",\"account(1)\",\"account(1)\"]", new TypeReference<>() {});
+
+        assertThat(accounts).containsExactly(new AccountIdent(1), new AccountIdent(2), new AccountIdent(1), new AccountIdent(1));
+        assertThat(accounts.get(2)).isSameAs(accounts.get(0));
+        CacheStats stats = module.cacheStats();
+        assertThat(stats.hitCount()).isEqualTo(2L);
+        assertThat(stats.missCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void cacheStats__No_cache() {
+        assertThat(new DomainIdentModule(converter).cacheStats()).isNull();
+    }
+
+    @Test
+    void constructor__Negative_cache_size() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new DomainIdentModule(converter, -1));
+
+        assertThat(exception.getMessage()).isEqualTo(DomainIdentModule.Messages.invalidCacheSize(-1));
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.fthardy.denom.jackson;
+
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.AccountIdent;
+import io.github.fthardy.denom.convert.impl.CacheStats;
+import io.github.fthardy.denom.convert.impl.CanonicalParseException;
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecentDomainIdentCacheTest {
+
+    private final DefaultDomainIdentCanonicalConverter converter = newConverter();
+
+    private static DefaultDomainIdentCanonicalConverter newConverter() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(AccountIdent.converter());
+        return new DefaultDomainIdentCanonicalConverter(registry);
+    }
+
+    @Test
+    void fromCanonical__hit_on_a_range_of_another_sequence() {
+        RecentDomainIdentCache cache = new RecentDomainIdentCache(converter, 8);
+        DomainIdent domainIdent = cache.fromCanonical("account(1)", 0, 10);
+
+        assertThat(domainIdent).isEqualTo(new AccountIdent(1));
+        assertThat(cache.fromCanonical(CharBuffer.wrap("[account(1)]"), 1, 10)).isSameAs(domainIdent);
+        assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 0));
+    }
+
+    @Test
+    void fromCanonical__entry_is_replaced_by_canonical_of_same_slot() {
+        RecentDomainIdentCache cache = new RecentDomainIdentCache(converter, 1);
+
+        DomainIdent first = cache.fromCanonical("account(1)", 0, 10);
+        cache.fromCanonical("account(2)", 0, 10);
+
+        assertThat(cache.fromCanonical("account(1)", 0, 10)).isNotSameAs(first);
+        assertThat(cache.stats()).isEqualTo(new CacheStats(0, 3, 2));
+    }
+
+    @Test
+    void fromCanonical__Malformed_canonical_is_not_cached() {
+        RecentDomainIdentCache cache = new RecentDomainIdentCache(converter, 8);
+
+        assertThrows(CanonicalParseException.class, () -> cache.fromCanonical("account(x)", 0, 10));
+        assertThrows(CanonicalParseException.class, () -> cache.fromCanonical("account(x)", 0, 10));
+        assertThat(cache.stats()).isEqualTo(new CacheStats(0, 2, 0));
+    }
+
+    @Test
+    void constructor__size_is_rounded_up_to_power_of_two() {
+        assertThat(new RecentDomainIdentCache(converter, 1).size()).isEqualTo(1);
+        assertThat(new RecentDomainIdentCache(converter, 8).size()).isEqualTo(8);
+        assertThat(new RecentDomainIdentCache(converter, 9).size()).isEqualTo(16);
+    }
+
+    @Test
+    void constructor__Invalid_size() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new RecentDomainIdentCache(converter, 0));
+
+        assertThat(exception.getMessage()).isEqualTo(RecentDomainIdentCache.Messages.invalidSize(0));
+    }
+}
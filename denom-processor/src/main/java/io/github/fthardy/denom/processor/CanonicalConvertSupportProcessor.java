@@ -0,0 +1,477 @@
+package io.github.fthardy.denom.processor;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.CompositeIdent;
+import io.github.fthardy.denom.DomainIdent;
+import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+import io.github.fthardy.denom.convert.atomic.BigIntegerIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.IntIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LocalDateIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.LongIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.atomic.UuidIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.CompositeIdentFactory;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupport;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An annotation processor which generates the registration of the convert supports of all domain identifier type classes which are annotated with
+ * {@link CanonicalConvertSupport}.
+ * <p>
+ * The processor checks at compile time what the registry would otherwise check when the application starts: the finality of the type classes, the format
+ * and uniqueness of the type alias names and the uniqueness of the alias IDs. It generates a class with a {@code createRegistry()} method which creates a
+ * registry pre-sized for all supports, and an {@code addSupports(registry)} method which adds them to an existing registry.
+ * </p>
+ * <p>
+ * The generated class is placed into the innermost package which contains all annotated type classes and named {@value #DEFAULT_REGISTRY_CLASS_SIMPLE_NAME}.
+ * A different fully qualified name can be given by the option {@value #REGISTRY_CLASS_OPTION}. All annotated type classes must be processed in the same
+ * round.
+ * </p>
+ */
+@SupportedAnnotationTypes(CanonicalConvertSupportProcessor.ANNOTATION_NAME)
+@SupportedOptions(CanonicalConvertSupportProcessor.REGISTRY_CLASS_OPTION)
+public final class CanonicalConvertSupportProcessor extends AbstractProcessor {
+
+    /** The name of the option for the fully qualified name of the generated class. */
+    public static final String REGISTRY_CLASS_OPTION = "denom.registryClass";
+
+    /** The simple name of the generated class when no name is given by option. */
+    public static final String DEFAULT_REGISTRY_CLASS_SIMPLE_NAME = "GeneratedConvertSupports";
+
+    static final String ANNOTATION_NAME = "io.github.fthardy.denom.convert.CanonicalConvertSupport";
+
+    private static final String UUID_TYPE_NAME = "java.util.UUID";
+
+    private static final Map<String, String> CONVERTER_BY_VALUE_TYPE = Map.of( //
+            Long.class.getName(), LongIdentCanonicalConverter.class.getName(), //
+            Integer.class.getName(), IntIdentCanonicalConverter.class.getName(), //
+            String.class.getName(), StringIdentCanonicalConverter.class.getName(), //
+            "java.math.BigInteger", BigIntegerIdentCanonicalConverter.class.getName(), //
+            "java.time.LocalDate", LocalDateIdentCanonicalConverter.class.getName(), //
+            UUID_TYPE_NAME, UuidIdentCanonicalConverter.class.getName());
+
+    private static final Map<String, String> PRIMITIVE_BY_VALUE_TYPE = Map.of(Long.class.getName(), "long", Integer.class.getName(), "int");
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION_NAME);
+        List<TypeElement> identTypes = roundEnv.getElementsAnnotatedWith(annotation).stream() //
+                .map(TypeElement.class::cast).sorted(Comparator.comparing(type -> type.getQualifiedName().toString())).toList();
+        if (identTypes.isEmpty()) {
+            return false;
+        }
+        if (generated) {
+            identTypes.forEach(identType -> error(identType, Messages.annotatedAfterGeneration()));
+            return true;
+        }
+        generated = true;
+
+        String registryClassName = processingEnv.getOptions().getOrDefault(REGISTRY_CLASS_OPTION, defaultRegistryClassName(identTypes));
+        int separator = registryClassName.lastIndexOf('.');
+        if (separator < 0) {
+            error(identTypes.getFirst(), Messages.noRegistryPackage(REGISTRY_CLASS_OPTION));
+            return true;
+        }
+        String registryPackage = registryClassName.substring(0, separator);
+
+        List<SupportDefinition> definitions = new ArrayList<>();
+        for (TypeElement identType : identTypes) {
+            SupportDefinition definition = analyze(identType, annotationOf(identType, annotation), registryPackage);
+            if (definition != null) {
+                definitions.add(definition);
+            }
+        }
+        if (definitions.size() == identTypes.size() && areUnique(definitions)) {
+            generate(registryPackage, registryClassName.substring(separator + 1), definitions, identTypes);
+        }
+        return true;
+    }
+
+    private static String defaultRegistryClassName(List<TypeElement> identTypes) {
+        String commonPackage = null;
+        for (TypeElement identType : identTypes) {
+            String identPackage = packageNameOf(identType);
+            while (commonPackage != null && !commonPackage.isEmpty() && !identPackage.equals(commonPackage) && !identPackage.startsWith(commonPackage + '.')) {
+                int separator = commonPackage.lastIndexOf('.');
+                commonPackage = separator < 0 ? "" : commonPackage.substring(0, separator);
+            }
+            commonPackage = commonPackage == null ? identPackage : commonPackage;
+        }
+        return commonPackage == null || commonPackage.isEmpty() ? DEFAULT_REGISTRY_CLASS_SIMPLE_NAME : commonPackage + '.' + DEFAULT_REGISTRY_CLASS_SIMPLE_NAME;
+    }
+
+    private SupportDefinition analyze(TypeElement identType, AnnotationMirror annotation, String registryPackage) {
+        if (identType.getKind() != ElementKind.CLASS || !identType.getModifiers().contains(Modifier.FINAL)) {
+            error(identType, Messages.notFinalClass());
+            return null;
+        }
+        if (!isSubtype(identType.asType(), DomainIdent.class) || !isAccessible(identType, registryPackage)) {
+            error(identType, Messages.notAccessibleDomainIdent(registryPackage));
+            return null;
+        }
+
+        String alias = (String) valueOf(annotation, "alias");
+        if (!IdentTypeClass2AliasBinding.isValidTypeAlias(alias)) {
+            error(identType, Messages.invalidTypeAlias(alias));
+            return null;
+        }
+        int aliasId = (Integer) valueOf(annotation, "aliasId");
+        if (aliasId != DomainIdentConvertSupportSnapshot.NO_ALIAS_ID && (aliasId < 0 || aliasId > DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID)) {
+            error(identType, Messages.invalidAliasId(aliasId));
+            return null;
+        }
+
+        TypeElement supportType = (TypeElement) ((DeclaredType) valueOf(annotation, "support")).asElement();
+        String support;
+        if (!supportType.getQualifiedName().contentEquals(DomainIdentConvertSupport.class.getName())) {
+            support = explicitSupport(identType, supportType, registryPackage);
+        } else if (isSubtype(identType.asType(), AtomicIdent.class)) {
+            support = atomicSupport(identType, alias, registryPackage);
+        } else if (isSubtype(identType.asType(), CompositeIdent.class)) {
+            support = compositeSupport(identType, alias, registryPackage);
+        } else {
+            support = null;
+            error(identType, Messages.noSupport());
+        }
+        return support == null ? null : new SupportDefinition(identType, alias, aliasId, support);
+    }
+
+    private String explicitSupport(TypeElement identType, TypeElement supportType, String registryPackage) {
+        TypeMirror supportedType = typeArgumentOf(supportType.asType(), DomainIdentConvertSupport.class);
+        if (supportedType == null || !processingEnv.getTypeUtils().isSameType(supportedType, identType.asType())) {
+            error(identType, Messages.supportForOtherType(supportType));
+            return null;
+        }
+        boolean instantiable = !supportType.getModifiers().contains(Modifier.ABSTRACT) && isAccessible(supportType, registryPackage)
+                && ElementFilter.constructorsIn(supportType.getEnclosedElements()).stream()
+                        .anyMatch(constructor -> constructor.getParameters().isEmpty() && isAccessible(constructor, registryPackage));
+        if (!instantiable) {
+            error(identType, Messages.supportNotInstantiable(supportType));
+            return null;
+        }
+        return "new %s()".formatted(supportType.getQualifiedName());
+    }
+
+    private String atomicSupport(TypeElement identType, String alias, String registryPackage) {
+        TypeMirror valueType = typeArgumentOf(identType.asType(), AtomicIdent.class);
+        String valueTypeName = valueType == null ? "?" : processingEnv.getTypeUtils().erasure(valueType).toString();
+        String converter = CONVERTER_BY_VALUE_TYPE.get(valueTypeName);
+        if (converter == null) {
+            error(identType, Messages.noStandardConverter(valueTypeName));
+            return null;
+        }
+        String identClass = identType.getQualifiedName().toString();
+        String primitiveValueTypeName = PRIMITIVE_BY_VALUE_TYPE.get(valueTypeName);
+        String factory;
+        if (valueTypeName.equals(UUID_TYPE_NAME) && findConstructor(identType, registryPackage, "long", "long") != null) {
+            factory = identClass + "::new";
+        } else if (findConstructor(identType, registryPackage, valueTypeName) != null
+                || primitiveValueTypeName != null && findConstructor(identType, registryPackage, primitiveValueTypeName) != null) {
+            factory = valueTypeName.equals(UUID_TYPE_NAME) //
+                    ? "(msb, lsb) -> new %s(new java.util.UUID(msb, lsb))".formatted(identClass)
+                    : identClass + "::new";
+        } else {
+            error(identType, Messages.noValueConstructor(valueTypeName));
+            return null;
+        }
+        return "new %s<>(%s.class, \"%s\", %s)".formatted(converter, identClass, alias, factory);
+    }
+
+    private String compositeSupport(TypeElement identType, String alias, String registryPackage) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(identType.getEnclosedElements()).stream() //
+                .filter(constructor -> isAccessible(constructor, registryPackage) && !constructor.isVarArgs() && constructor.getParameters().size() >= 2) //
+                .filter(constructor -> constructor.getParameters().stream().allMatch(parameter -> isSubtype(parameter.asType(), DomainIdent.class))) //
+                .toList();
+        if (constructors.size() != 1) {
+            error(identType, Messages.noComponentConstructor());
+            return null;
+        }
+        List<? extends VariableElement> parameters = constructors.getFirst().getParameters();
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            String component = switch (i) {
+                case 0 -> "first";
+                case 1 -> "second";
+                default -> "further[%d]".formatted(i - 2);
+            };
+            arguments.add("(%s) %s".formatted(processingEnv.getTypeUtils().erasure(parameters.get(i).asType()), component));
+        }
+        String identClass = identType.getQualifiedName().toString();
+        return """
+                new %1$s<%2$s>() {
+
+                            private final %3$s<%2$s> binding = new %3$s<>(%2$s.class, "%4$s");
+
+                            @Override
+                            public %3$s<%2$s> typeClass2AliasBinding() {
+                                return binding;
+                            }
+
+                            @Override
+                            public %2$s fromComponents(%5$s first, %5$s second, %5$s... further) {
+                                checkComponentCount(further, %6$d);
+                                return new %2$s(%7$s);
+                            }
+                        }""".formatted(CompositeIdentFactory.class.getName(), identClass, IdentTypeClass2AliasBinding.class.getName(), alias,
+                DomainIdent.class.getName(), parameters.size(), String.join(", ", arguments));
+    }
+
+    private boolean areUnique(List<SupportDefinition> definitions) {
+        boolean unique = true;
+        Map<String, SupportDefinition> definitionByAlias = new HashMap<>();
+        Map<Integer, SupportDefinition> definitionByAliasId = new HashMap<>();
+        for (SupportDefinition definition : definitions) {
+            SupportDefinition existing = definitionByAlias.putIfAbsent(definition.alias(), definition);
+            if (existing != null) {
+                error(definition.identType(), Messages.duplicateTypeAlias(definition.alias(), existing.identType()));
+                unique = false;
+            }
+            if (definition.aliasId() != DomainIdentConvertSupportSnapshot.NO_ALIAS_ID) {
+                existing = definitionByAliasId.putIfAbsent(definition.aliasId(), definition);
+                if (existing != null) {
+                    error(definition.identType(), Messages.duplicateAliasId(definition.aliasId(), existing.identType()));
+                    unique = false;
+                }
+            }
+        }
+        return unique;
+    }
+
+    private void generate(String registryPackage, String registryClassSimpleName, List<SupportDefinition> definitions, List<TypeElement> identTypes) {
+        String registry = DomainIdentCanonicalConverterSupportRegistry.class.getName();
+        String supports = definitions.stream() //
+                .map(definition -> "        registry.addSupport(%s, %d);".formatted(definition.support(), definition.aliasId())) //
+                .collect(Collectors.joining("\n"));
+        String source = """
+                package %1$s;
+
+                /**
+                 * Registers the convert supports of the domain identifier type classes which are annotated with {@code @CanonicalConvertSupport}.
+                 * <p>
+                 * This class has been generated by the {@code %2$s}. Do not edit!
+                 * </p>
+                 */
+                public final class %3$s {
+
+                    /** The number of the supports. */
+                    public static final int SUPPORT_COUNT = %4$d;
+
+                    private %3$s() {}
+
+                    /**
+                     * @return a new registry which contains all supports.
+                     */
+                    public static %5$s createRegistry() {
+                        %5$s registry = new %5$s(SUPPORT_COUNT);
+                        addSupports(registry);
+                        return registry;
+                    }
+
+                    /**
+                     * Adds all supports to a given registry.
+                     *
+                     * @param registry the registry.
+                     */
+                    public static void addSupports(%5$s registry) {
+                %6$s
+                    }
+
+                    private static void checkComponentCount(%7$s[] further, int expectedCount) {
+                        if (further.length + 2 != expectedCount) {
+                            throw new IllegalArgumentException("Expected %%d components but got %%d!".formatted(expectedCount, further.length + 2));
+                        }
+                    }
+                }
+                """.formatted(registryPackage, getClass().getSimpleName(), registryClassSimpleName, definitions.size(), registry, supports,
+                DomainIdent.class.getName());
+        try (Writer writer = processingEnv.getFiler().createSourceFile(registryPackage + '.' + registryClassSimpleName, identTypes.toArray(Element[]::new))
+                .openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, Messages.generationFailed(registryPackage + '.' + registryClassSimpleName, e));
+        }
+    }
+
+    private ExecutableElement findConstructor(TypeElement type, String registryPackage, String... parameterTypes) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (parameters.size() == parameterTypes.length && isAccessible(constructor, registryPackage)) {
+                boolean matches = true;
+                for (int i = 0; i < parameterTypes.length && matches; i++) {
+                    matches = processingEnv.getTypeUtils().erasure(parameters.get(i).asType()).toString().equals(parameterTypes[i]);
+                }
+                if (matches) {
+                    return constructor;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** @return the type argument of a generic supertype of a given type or {@code null} when the type has no such supertype. */
+    private TypeMirror typeArgumentOf(TypeMirror type, Class<?> genericSupertype) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype instanceof DeclaredType declaredType
+                    && ((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(genericSupertype.getName())) {
+                return declaredType.getTypeArguments().isEmpty() ? null : declaredType.getTypeArguments().getFirst();
+            }
+            TypeMirror typeArgument = typeArgumentOf(supertype, genericSupertype);
+            if (typeArgument != null) {
+                return typeArgument;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSubtype(TypeMirror type, Class<?> supertype) {
+        TypeElement supertypeElement = processingEnv.getElementUtils().getTypeElement(supertype.getName());
+        Types types = processingEnv.getTypeUtils();
+        return type.getKind() == TypeKind.DECLARED && supertypeElement != null
+                && types.isSubtype(types.erasure(type), types.erasure(supertypeElement.asType()));
+    }
+
+    /** @return {@code true} when the element can be used by the generated class in the given package. */
+    private static boolean isAccessible(Element element, String registryPackage) {
+        for (Element current = element; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || !modifiers.contains(Modifier.PUBLIC) && !packageNameOf(current).equals(registryPackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String packageNameOf(Element element) {
+        Element current = element;
+        while (current.getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return ((PackageElement) current).getQualifiedName().toString();
+    }
+
+    private static AnnotationMirror annotationOf(TypeElement identType, TypeElement annotation) {
+        return identType.getAnnotationMirrors().stream() //
+                .filter(mirror -> mirror.getAnnotationType().asElement().equals(annotation)).findFirst().orElseThrow();
+    }
+
+    private Object valueOf(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils()
+                .getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException(name);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private record SupportDefinition(TypeElement identType, String alias, int aliasId, String support) {}
+
+    static final class Messages {
+
+        private Messages() {}
+
+        static String notFinalClass() {
+            return "A type class annotated with @CanonicalConvertSupport must be a final class!";
+        }
+
+        static String notAccessibleDomainIdent(String registryPackage) {
+            return "The type class must be a domain identifier which is accessible from the package '%s'!".formatted(registryPackage);
+        }
+
+        static String invalidTypeAlias(String alias) {
+            return "Invalid type alias: %s".formatted(alias);
+        }
+
+        static String invalidAliasId(int aliasId) {
+            return "Invalid alias ID: %d! The ID must be in the range of 0 to %d.".formatted(aliasId, DomainIdentConvertSupportSnapshot.MAX_ALIAS_ID);
+        }
+
+        static String duplicateTypeAlias(String alias, TypeElement existingIdentType) {
+            return "The type alias '%s' is already bound to %s!".formatted(alias, existingIdentType.getQualifiedName());
+        }
+
+        static String duplicateAliasId(int aliasId, TypeElement existingIdentType) {
+            return "The alias ID %d is already assigned to %s!".formatted(aliasId, existingIdentType.getQualifiedName());
+        }
+
+        static String noSupport() {
+            return "No support can be derived for the type class! Specify a support class.";
+        }
+
+        static String supportForOtherType(TypeElement supportType) {
+            return "The support %s is not a support for the type class!".formatted(supportType.getQualifiedName());
+        }
+
+        static String supportNotInstantiable(TypeElement supportType) {
+            return "The support %s must be a concrete class with an accessible constructor without parameters!".formatted(supportType.getQualifiedName());
+        }
+
+        static String noStandardConverter(String valueType) {
+            return "There is no standard converter for the identity value type %s! Specify a support class.".formatted(valueType);
+        }
+
+        static String noValueConstructor(String valueType) {
+            return "The type class needs an accessible constructor with a single parameter of the identity value type %s!".formatted(valueType);
+        }
+
+        static String noComponentConstructor() {
+            return "The type class needs exactly one accessible constructor with at least two parameters of domain identifier types and no varargs!";
+        }
+
+        static String annotatedAfterGeneration() {
+            return "The type class has been generated after the registration class! All annotated type classes must be processed in the same round.";
+        }
+
+        static String noRegistryPackage(String option) {
+            return "The annotated type classes have no common package! Specify the fully qualified name of the generated class by the option -A%s."
+                    .formatted(option);
+        }
+
+        static String generationFailed(String className, IOException exception) {
+            return "Generating the class %s failed: %s".formatted(className, exception.getMessage());
+        }
+    }
+}
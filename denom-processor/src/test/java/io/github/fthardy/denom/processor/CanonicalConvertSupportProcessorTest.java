@@ -0,0 +1,235 @@
+package io.github.fthardy.denom.processor;
+
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import io.github.fthardy.denom.convert.util.DomainIdentConvertSupportSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanonicalConvertSupportProcessorTest {
+
+    private static final String ACCOUNT_IDENT = """
+            package test.account;
+
+            import io.github.fthardy.denom.LongIdent;
+            import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+
+            @CanonicalConvertSupport(alias = "account", aliasId = 1)
+            public final class AccountIdent extends LongIdent {
+                public AccountIdent(long identityValue) {
+                    super(identityValue);
+                }
+            }
+            """;
+
+    private static final String DEVICE_IDENT = """
+            package test.device;
+
+            import io.github.fthardy.denom.AtomicIdent;
+            import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+
+            import java.util.UUID;
+
+            @CanonicalConvertSupport(alias = "device")
+            public final class DeviceIdent extends AtomicIdent<UUID> {
+                public DeviceIdent(UUID identityValue) {
+                    super(identityValue);
+                }
+            }
+            """;
+
+    private static final String NAME_IDENT = """
+            package test.account;
+
+            import io.github.fthardy.denom.AtomicIdent;
+            import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+
+            @CanonicalConvertSupport(alias = "name", aliasId = 2)
+            final class NameIdent extends AtomicIdent<String> {
+                NameIdent(String identityValue) {
+                    super(identityValue);
+                }
+            }
+            """;
+
+    private static final String HOLDER_IDENT = """
+            package test.account;
+
+            import io.github.fthardy.denom.CompositeIdent;
+            import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+
+            @CanonicalConvertSupport(alias = "holder", aliasId = 3)
+            public final class HolderIdent extends CompositeIdent {
+                public HolderIdent(AccountIdent accountIdent, NameIdent nameIdent) {
+                    super(accountIdent, nameIdent);
+                }
+            }
+            """;
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void process__Generates_the_registration_of_derived_supports() throws Exception {
+        Compilation compilation = compile(List.of(ACCOUNT_IDENT, NAME_IDENT, HOLDER_IDENT));
+
+        assertThat(compilation.errors()).isEmpty();
+        DomainIdentCanonicalConverterSupportRegistry registry = compilation.createRegistry("test.account." //
+                + CanonicalConvertSupportProcessor.DEFAULT_REGISTRY_CLASS_SIMPLE_NAME);
+        DomainIdentConvertSupportSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getEntryByAliasId(3).binding().typeAlias()).isEqualTo("holder");
+
+        DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(registry);
+        String canonical = "holder(account(42),name(J%C3%BCrgen))";
+        assertThat(converter.toCanonical(converter.fromCanonical(canonical))).isEqualTo(canonical);
+    }
+
+    @Test
+    void process__Registration_class_name_by_option() throws Exception {
+        Compilation compilation = compile(List.of(ACCOUNT_IDENT, DEVICE_IDENT),
+                "-A" + CanonicalConvertSupportProcessor.REGISTRY_CLASS_OPTION + "=test.Supports");
+
+        assertThat(compilation.errors()).isEmpty();
+        DomainIdentCanonicalConverterSupportRegistry registry = compilation.createRegistry("test.Supports");
+        DefaultDomainIdentCanonicalConverter converter = new DefaultDomainIdentCanonicalConverter(registry);
+        String canonical = "device(123e4567-e89b-12d3-a456-426614174000)";
+        assertThat(converter.toCanonical(converter.fromCanonical(canonical))).isEqualTo(canonical);
+    }
+
+    @Test
+    void process__Explicit_support() throws Exception {
+        Compilation compilation = compile(List.of("""
+                package test;
+
+                import io.github.fthardy.denom.AtomicIdent;
+                import io.github.fthardy.denom.convert.CanonicalConvertSupport;
+
+                @CanonicalConvertSupport(alias = "code", support = CodeIdentConverter.class)
+                public final class CodeIdent extends AtomicIdent<Character> {
+                    public CodeIdent(Character identityValue) {
+                        super(identityValue);
+                    }
+                }
+                """, """
+                package test;
+
+                import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+                import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+                public final class CodeIdentConverter implements AtomicIdentCanonicalConverter<CodeIdent> {
+                    @Override
+                    public IdentTypeClass2AliasBinding<CodeIdent> typeClass2AliasBinding() {
+                        return new IdentTypeClass2AliasBinding<>(CodeIdent.class, "code");
+                    }
+
+                    @Override
+                    public CodeIdent fromCanonical(String canonical) {
+                        return new CodeIdent(canonical.charAt(0));
+                    }
+                }
+                """));
+
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.createRegistry("test." + CanonicalConvertSupportProcessor.DEFAULT_REGISTRY_CLASS_SIMPLE_NAME).getSupportByTypeAlias("code"))
+                .isNotNull();
+    }
+
+    @Test
+    void process__Type_class_is_not_final() throws IOException {
+        Compilation compilation = compile(List.of(ACCOUNT_IDENT.replace("public final class", "public class")));
+
+        assertThat(compilation.errors()).containsExactly(CanonicalConvertSupportProcessor.Messages.notFinalClass());
+    }
+
+    @Test
+    void process__Invalid_type_alias() throws IOException {
+        Compilation compilation = compile(List.of(ACCOUNT_IDENT.replace("\"account\"", "\"Account\"")));
+
+        assertThat(compilation.errors()).containsExactly(CanonicalConvertSupportProcessor.Messages.invalidTypeAlias("Account"));
+    }
+
+    @Test
+    void process__Duplicate_type_alias_and_alias_id() throws IOException {
+        Compilation compilation = compile(List.of(ACCOUNT_IDENT, NAME_IDENT.replace("\"name\", aliasId = 2", "\"account\", aliasId = 1")));
+
+        assertThat(compilation.errors()).hasSize(2).allMatch(error -> error.contains("test.account.AccountIdent"));
+    }
+
+    @Test
+    void process__No_standard_converter() throws IOException {
+        Compilation compilation = compile(List.of(DEVICE_IDENT.replace("<UUID>", "<Character>").replace("(UUID ", "(Character ")));
+
+        assertThat(compilation.errors()).containsExactly(CanonicalConvertSupportProcessor.Messages.noStandardConverter("java.lang.Character"));
+    }
+
+    @Test
+    void process__Constructor_not_accessible_from_the_registration_class() throws IOException {
+        Compilation compilation = compile(List.of(NAME_IDENT), "-A" + CanonicalConvertSupportProcessor.REGISTRY_CLASS_OPTION + "=test.Supports");
+
+        assertThat(compilation.errors()).containsExactly(CanonicalConvertSupportProcessor.Messages.notAccessibleDomainIdent("test"));
+    }
+
+    private Compilation compile(List<String> sources, String... options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(outputDir));
+            fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, List.of(outputDir));
+            List<String> arguments = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path")));
+            arguments.addAll(List.of(options));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null, sources.stream().map(Source::new).toList());
+            task.setProcessors(List.of(new CanonicalConvertSupportProcessor()));
+            task.call();
+        }
+        List<String> errors = diagnostics.getDiagnostics().stream() //
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR).map(diagnostic -> diagnostic.getMessage(null)).toList();
+        return new Compilation(errors, outputDir);
+    }
+
+    private record Compilation(List<String> errors, Path outputDir) {
+
+        DomainIdentCanonicalConverterSupportRegistry createRegistry(String className) throws Exception {
+            ClassLoader classLoader = new URLClassLoader(new URL[] {outputDir.toUri().toURL()}, getClass().getClassLoader());
+            return (DomainIdentCanonicalConverterSupportRegistry) classLoader.loadClass(className).getMethod("createRegistry").invoke(null);
+        }
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String code;
+
+        Source(String code) {
+            super(URI.create("string:///%s.java".formatted(classNameOf(code).replace('.', '/'))), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+
+        private static String classNameOf(String code) {
+            String packageName = code.substring(code.indexOf("package ") + 8, code.indexOf(';'));
+            return packageName + '.' + code.replaceFirst("(?s).*?\\bclass (\\w+).*", "$1");
+        }
+    }
+}
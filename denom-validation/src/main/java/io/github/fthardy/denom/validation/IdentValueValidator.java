@@ -0,0 +1,51 @@
+package io.github.fthardy.denom.validation;
+
+/**
+ * Validates the raw identity value of an atomic identifier against an identifier format.
+ * <p>
+ * A validator checks a range of a character sequence or of a byte array in place. Bytes are interpreted as ISO-8859-1 characters, so ASCII encoded values
+ * are checked without decoding them first. Implementations must be thread-safe.
+ * </p>
+ *
+ * @see StandardValidators
+ * @see ValidatingAtomicIdentCanonicalConverter
+ */
+public interface IdentValueValidator {
+
+    /**
+     * Checks whether a range of a given character sequence is a valid value.
+     *
+     * @param value the character sequence containing the value.
+     * @param offset the index of the first character of the value.
+     * @param length the number of characters of the value.
+     *
+     * @return {@code true} when the value is valid, {@code false} otherwise.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the character sequence.
+     */
+    boolean isValid(CharSequence value, int offset, int length);
+
+    /**
+     * Checks whether a range of a given byte array is a valid value.
+     *
+     * @param value the byte array containing the value.
+     * @param offset the index of the first byte of the value.
+     * @param length the number of bytes of the value.
+     *
+     * @return {@code true} when the value is valid, {@code false} otherwise.
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the byte array.
+     */
+    boolean isValid(byte[] value, int offset, int length);
+
+    /**
+     * Checks whether a given character sequence is a valid value.
+     *
+     * @param value the character sequence to check.
+     *
+     * @return {@code true} when the value is valid, {@code false} otherwise.
+     */
+    default boolean isValid(CharSequence value) {
+        return isValid(value, 0, value.length());
+    }
+}
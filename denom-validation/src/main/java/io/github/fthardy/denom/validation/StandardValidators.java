@@ -0,0 +1,252 @@
+package io.github.fthardy.denom.validation;
+
+import java.util.Objects;
+
+/**
+ * Validators for common identifier formats with check digits or structural rules.
+ * <p>
+ * The validators accept the compact representation of a value only, i.e. without any separating spaces or dashes unless stated otherwise. They check a value
+ * in a single pass over its characters without any allocation. Check digits are computed with {@code int} arithmetic, e.g. the mod-97 check of an IBAN is
+ * computed digit by digit instead of on a {@code BigInteger} of the rearranged value.
+ * </p>
+ */
+public enum StandardValidators implements IdentValueValidator {
+
+    /**
+     * An International Bank Account Number according to ISO 13616: a country code of two upper case letters, two check digits and a basic bank account number
+     * of up to 30 digits or upper case letters. The total length is 15 to 34 characters and the check digits must satisfy the mod-97 check of ISO 7064. The
+     * country specific length and structure of the basic bank account number is not checked.
+     */
+    IBAN {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            if (length < 15 || length > 34 || !isUpperCaseLetter(charAt(chars, bytes, offset)) || !isUpperCaseLetter(charAt(chars, bytes, offset + 1))) {
+                return false;
+            }
+            int checkDigits = digitsAt(chars, bytes, offset + 2, 2);
+            if (checkDigits < 2 || checkDigits > 98) {
+                return false;
+            }
+            // the country code and the check digits are moved to the end of the value
+            int remainder = 0;
+            for (int i = 4; i < length + 4; i++) {
+                char c = charAt(chars, bytes, offset + (i < length ? i : i - length));
+                if (isDigit(c)) {
+                    remainder = (remainder * 10 + c - '0') % 97;
+                } else if (isUpperCaseLetter(c)) {
+                    remainder = (remainder * 100 + c - 'A' + 10) % 97;
+                } else {
+                    return false;
+                }
+            }
+            return remainder == 1;
+        }
+    },
+
+    /**
+     * An ISBN-10: nine digits and a check digit, which is a digit or an upper case {@code X} for ten. The weighted sum of all digits must be divisible by 11.
+     */
+    ISBN_10 {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            if (length != 10) {
+                return false;
+            }
+            int sum = 0;
+            for (int i = 0; i < 9; i++) {
+                char c = charAt(chars, bytes, offset + i);
+                if (!isDigit(c)) {
+                    return false;
+                }
+                sum += (10 - i) * (c - '0');
+            }
+            char checkDigit = charAt(chars, bytes, offset + 9);
+            if (checkDigit == 'X') {
+                sum += 10;
+            } else if (isDigit(checkDigit)) {
+                sum += checkDigit - '0';
+            } else {
+                return false;
+            }
+            return sum % 11 == 0;
+        }
+    },
+
+    /**
+     * An ISBN-13: thirteen digits with the prefix {@code 978} or {@code 979}. The sum of the digits, alternately weighted by 1 and 3, must be divisible by 10.
+     */
+    ISBN_13 {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            if (length != 13) {
+                return false;
+            }
+            int prefix = digitsAt(chars, bytes, offset, 3);
+            if (prefix != 978 && prefix != 979) {
+                return false;
+            }
+            int sum = 0;
+            for (int i = 0; i < 13; i++) {
+                char c = charAt(chars, bytes, offset + i);
+                if (!isDigit(c)) {
+                    return false;
+                }
+                sum += (i & 1) == 0 ? c - '0' : 3 * (c - '0');
+            }
+            return sum % 10 == 0;
+        }
+    },
+
+    /**
+     * Either an {@link #ISBN_10} or an {@link #ISBN_13}, depending on the length of the value.
+     */
+    ISBN {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            return length == 10 ? ISBN_10.check(chars, bytes, offset, length) : ISBN_13.check(chars, bytes, offset, length);
+        }
+    },
+
+    /**
+     * A number of at least two digits whose last digit is a check digit according to the Luhn algorithm, e.g. a payment card number or an IMEI.
+     */
+    LUHN {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            if (length < 2) {
+                return false;
+            }
+            int sum = 0;
+            boolean doubled = false;
+            for (int i = offset + length - 1; i >= offset; i--) {
+                char c = charAt(chars, bytes, i);
+                if (!isDigit(c)) {
+                    return false;
+                }
+                int digit = c - '0';
+                if (doubled) {
+                    digit = digit < 5 ? digit * 2 : digit * 2 - 9;
+                }
+                sum += digit;
+                doubled = !doubled;
+            }
+            return sum % 10 == 0;
+        }
+    },
+
+    /**
+     * A German pension insurance number (Rentenversicherungsnummer): eight digits of the area number and the birth date, the upper case initial letter of the
+     * birth name, two digits of the serial number and a check digit. The check digit is the sum of the digit sums of the weighted digits modulo 10, where
+     * the letter counts as the two digits of its position in the alphabet.
+     */
+    DE_PENSION_INSURANCE_NUMBER {
+        private static final int[] WEIGHTS = {2, 1, 2, 5, 7, 1, 2, 1, 2, 1, 2, 1};
+
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            if (length != 12) {
+                return false;
+            }
+            char letter = charAt(chars, bytes, offset + 8);
+            if (!isUpperCaseLetter(letter)) {
+                return false;
+            }
+            int letterPosition = letter - 'A' + 1;
+            int sum = 0;
+            for (int i = 0; i < 12; i++) {
+                int digit;
+                if (i == 8) {
+                    digit = letterPosition / 10;
+                } else if (i == 9) {
+                    digit = letterPosition % 10;
+                } else {
+                    char c = charAt(chars, bytes, offset + (i < 8 ? i : i - 1));
+                    if (!isDigit(c)) {
+                        return false;
+                    }
+                    digit = c - '0';
+                }
+                int product = digit * WEIGHTS[i];
+                sum += product / 10 + product % 10;
+            }
+            char checkDigit = charAt(chars, bytes, offset + 11);
+            return isDigit(checkDigit) && sum % 10 == checkDigit - '0';
+        }
+    },
+
+    /**
+     * A US Social Security Number, either as nine digits or in the format {@code AAA-GG-SSSS}. The number has no check digit, but the area number must not
+     * be {@code 000}, {@code 666} or greater than {@code 899}, the group number must not be {@code 00} and the serial number must not be {@code 0000}.
+     */
+    US_SOCIAL_SECURITY_NUMBER {
+        @Override
+        boolean check(CharSequence chars, byte[] bytes, int offset, int length) {
+            int groupOffset;
+            int serialOffset;
+            if (length == 9) {
+                groupOffset = offset + 3;
+                serialOffset = offset + 5;
+            } else if (length == 11 && charAt(chars, bytes, offset + 3) == '-' && charAt(chars, bytes, offset + 6) == '-') {
+                groupOffset = offset + 4;
+                serialOffset = offset + 7;
+            } else {
+                return false;
+            }
+            int area = digitsAt(chars, bytes, offset, 3);
+            int group = digitsAt(chars, bytes, groupOffset, 2);
+            int serial = digitsAt(chars, bytes, serialOffset, 4);
+            return area > 0 && area != 666 && area < 900 && group > 0 && serial > 0;
+        }
+    };
+
+    @Override
+    public final boolean isValid(CharSequence value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length());
+        return check(value, null, offset, length);
+    }
+
+    @Override
+    public final boolean isValid(byte[] value, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, value.length);
+        return check(null, value, offset, length);
+    }
+
+    /**
+     * Checks a range of either a character sequence or a byte array.
+     *
+     * @param chars the character sequence containing the value or {@code null} when the value is contained by the byte array.
+     * @param bytes the byte array containing the value, only used when the character sequence is {@code null}.
+     * @param offset the index of the first character of the value.
+     * @param length the number of characters of the value.
+     *
+     * @return {@code true} when the value is valid, {@code false} otherwise.
+     */
+    abstract boolean check(CharSequence chars, byte[] bytes, int offset, int length);
+
+    private static char charAt(CharSequence chars, byte[] bytes, int index) {
+        return chars != null ? chars.charAt(index) : (char) (bytes[index] & 0xFF);
+    }
+
+    /**
+     * @return the decimal value of the given number of digits or {@code -1} when any of the characters is not a digit.
+     */
+    private static int digitsAt(CharSequence chars, byte[] bytes, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            char c = charAt(chars, bytes, i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpperCaseLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
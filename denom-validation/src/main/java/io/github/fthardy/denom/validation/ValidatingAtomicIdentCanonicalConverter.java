@@ -0,0 +1,78 @@
+package io.github.fthardy.denom.validation;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.convert.util.AtomicIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.IdentTypeClass2AliasBinding;
+
+import java.util.Objects;
+
+/**
+ * A converter decorator which validates the raw identity value of a canonical before it is converted by the decorated converter.
+ * <p>
+ * The value is validated on the range given to {@link #fromCanonical(CharSequence, int, int)}, so a value is checked while the canonical of an identifier is
+ * parsed, without creating a string of the value. When the value is invalid, an {@link IllegalArgumentException} is thrown, which the domain identifier
+ * converter reports as a parse failure. The conversion to a canonical is not validated.
+ * </p>
+ *
+ * @param <T> a concrete atomic identifier type class.
+ */
+public final class ValidatingAtomicIdentCanonicalConverter<T extends AtomicIdent<?>> implements AtomicIdentCanonicalConverter<T> {
+
+    private final AtomicIdentCanonicalConverter<T> converter;
+    private final IdentValueValidator validator;
+
+    /**
+     * Initializes a new converter instance.
+     *
+     * @param converter the converter to decorate.
+     * @param validator the validator for the raw identity values.
+     */
+    public ValidatingAtomicIdentCanonicalConverter(AtomicIdentCanonicalConverter<T> converter, IdentValueValidator validator) {
+        this.converter = Objects.requireNonNull(converter);
+        this.validator = Objects.requireNonNull(validator);
+    }
+
+    @Override
+    public IdentTypeClass2AliasBinding<T> typeClass2AliasBinding() {
+        return converter.typeClass2AliasBinding();
+    }
+
+    @Override
+    public String toCanonical(AtomicIdent<?> atomicIdent) {
+        return converter.toCanonical(atomicIdent);
+    }
+
+    @Override
+    public void appendCanonical(AtomicIdent<?> atomicIdent, StringBuilder target) {
+        converter.appendCanonical(atomicIdent, target);
+    }
+
+    @Override
+    public T fromCanonical(String canonical) {
+        if (!validator.isValid(canonical, 0, canonical.length())) {
+            throw new IllegalArgumentException(Messages.invalidValue(canonical, 0, canonical.length(), validator));
+        }
+        return converter.fromCanonical(canonical);
+    }
+
+    @Override
+    public T fromCanonical(CharSequence canonical, int offset, int length) {
+        if (!validator.isValid(canonical, offset, length)) {
+            throw new IllegalArgumentException(Messages.invalidValue(canonical, offset, length, validator));
+        }
+        return converter.fromCanonical(canonical, offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return "%s[%s, %s]".formatted(getClass().getSimpleName(), converter, validator);
+    }
+
+    static final class Messages {
+        private Messages() {}
+
+        static String invalidValue(CharSequence canonical, int offset, int length, IdentValueValidator validator) {
+            return "Invalid value '%s' for %s!".formatted(canonical.subSequence(offset, offset + length), validator);
+        }
+    }
+}
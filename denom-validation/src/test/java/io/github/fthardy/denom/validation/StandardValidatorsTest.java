@@ -0,0 +1,97 @@
+package io.github.fthardy.denom.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StandardValidatorsTest {
+
+    @Test
+    void iban() {
+        assertThat(StandardValidators.IBAN.isValid("DE89370400440532013000")).isTrue();
+        assertThat(StandardValidators.IBAN.isValid("GB82WEST12345698765432")).isTrue();
+        assertThat(StandardValidators.IBAN.isValid("NO9386011117947")).isTrue();
+
+        assertThat(StandardValidators.IBAN.isValid("DE88370400440532013000")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("DE89370400440532013001")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("de89370400440532013000")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("DE89 3704 0044 0532 0130 00")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("NO938601111794")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("")).isFalse();
+    }
+
+    @Test
+    void iban__Check_digits_out_of_range() {
+        // the check digits 00 and 01 pass the mod-97 check like their congruent check digits 97 and 98
+        assertThat(StandardValidators.IBAN.isValid("DE98370400440532000034")).isTrue();
+        assertThat(StandardValidators.IBAN.isValid("DE01370400440532000034")).isFalse();
+        assertThat(StandardValidators.IBAN.isValid("DE97370400440532000052")).isTrue();
+        assertThat(StandardValidators.IBAN.isValid("DE00370400440532000052")).isFalse();
+    }
+
+    @Test
+    void isbn() {
+        assertThat(StandardValidators.ISBN_10.isValid("0306406152")).isTrue();
+        assertThat(StandardValidators.ISBN_10.isValid("080442957X")).isTrue();
+        assertThat(StandardValidators.ISBN_10.isValid("0306406153")).isFalse();
+        assertThat(StandardValidators.ISBN_10.isValid("X306406152")).isFalse();
+
+        assertThat(StandardValidators.ISBN_13.isValid("9780306406157")).isTrue();
+        assertThat(StandardValidators.ISBN_13.isValid("9791032305690")).isTrue();
+        assertThat(StandardValidators.ISBN_13.isValid("9780306406158")).isFalse();
+        assertThat(StandardValidators.ISBN_13.isValid("9770306406150")).isFalse();
+
+        assertThat(StandardValidators.ISBN.isValid("0306406152")).isTrue();
+        assertThat(StandardValidators.ISBN.isValid("9780306406157")).isTrue();
+        assertThat(StandardValidators.ISBN.isValid("978030640615")).isFalse();
+    }
+
+    @Test
+    void luhn() {
+        assertThat(StandardValidators.LUHN.isValid("79927398713")).isTrue();
+        assertThat(StandardValidators.LUHN.isValid("4111111111111111")).isTrue();
+        assertThat(StandardValidators.LUHN.isValid("79927398710")).isFalse();
+        assertThat(StandardValidators.LUHN.isValid("7992739871a")).isFalse();
+        assertThat(StandardValidators.LUHN.isValid("0")).isFalse();
+    }
+
+    @Test
+    void dePensionInsuranceNumber() {
+        assertThat(StandardValidators.DE_PENSION_INSURANCE_NUMBER.isValid("15070649C103")).isTrue();
+        assertThat(StandardValidators.DE_PENSION_INSURANCE_NUMBER.isValid("15070649C104")).isFalse();
+        assertThat(StandardValidators.DE_PENSION_INSURANCE_NUMBER.isValid("15070649c103")).isFalse();
+        assertThat(StandardValidators.DE_PENSION_INSURANCE_NUMBER.isValid("150706491103")).isFalse();
+    }
+
+    @Test
+    void usSocialSecurityNumber() {
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("078051120")).isTrue();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("078-05-1120")).isTrue();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("000-05-1120")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("666-05-1120")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("900-05-1120")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("078-00-1120")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("078-05-0000")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("078 05 1120")).isFalse();
+        assertThat(StandardValidators.US_SOCIAL_SECURITY_NUMBER.isValid("07805112")).isFalse();
+    }
+
+    @Test
+    void isValid__Range() {
+        String value = "iban(DE89370400440532013000)";
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(StandardValidators.IBAN.isValid(value, 5, 22)).isTrue();
+        assertThat(StandardValidators.IBAN.isValid(bytes, 5, 22)).isTrue();
+        assertThat(StandardValidators.IBAN.isValid(bytes, 4, 22)).isFalse();
+    }
+
+    @Test
+    void isValid__Range_out_of_bounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> StandardValidators.LUHN.isValid("79927398713", 1, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> StandardValidators.LUHN.isValid(new byte[4], -1, 2));
+    }
+}
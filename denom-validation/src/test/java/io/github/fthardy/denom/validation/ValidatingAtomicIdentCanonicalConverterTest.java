@@ -0,0 +1,58 @@
+package io.github.fthardy.denom.validation;
+
+import io.github.fthardy.denom.AtomicIdent;
+import io.github.fthardy.denom.convert.atomic.StringIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.impl.CanonicalParseException;
+import io.github.fthardy.denom.convert.impl.DefaultDomainIdentCanonicalConverter;
+import io.github.fthardy.denom.convert.util.DomainIdentCanonicalConverterSupportRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidatingAtomicIdentCanonicalConverterTest {
+
+    static final class IbanIdent extends AtomicIdent<String> {
+        IbanIdent(String identityValue) {
+            super(identityValue);
+        }
+    }
+
+    private final ValidatingAtomicIdentCanonicalConverter<IbanIdent> converter = new ValidatingAtomicIdentCanonicalConverter<>(
+            new StringIdentCanonicalConverter<>(IbanIdent.class, "iban", IbanIdent::new), StandardValidators.IBAN);
+
+    @Test
+    void typeClass2AliasBinding() {
+        assertThat(converter.typeClass2AliasBinding().identClass()).isEqualTo(IbanIdent.class);
+        assertThat(converter.typeClass2AliasBinding().typeAlias()).isEqualTo("iban");
+    }
+
+    @Test
+    void fromCanonical() {
+        assertThat(converter.fromCanonical("DE89370400440532013000")).isEqualTo(new IbanIdent("DE89370400440532013000"));
+        assertThat(converter.fromCanonical("iban(DE89370400440532013000)", 5, 22)).isEqualTo(new IbanIdent("DE89370400440532013000"));
+    }
+
+    @Test
+    void fromCanonical__Invalid_value() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> converter.fromCanonical("DE88370400440532013000"));
+
+        assertThat(exception.getMessage()).isEqualTo(ValidatingAtomicIdentCanonicalConverter.Messages.invalidValue("DE88370400440532013000", 0, 22,
+                StandardValidators.IBAN));
+    }
+
+    @Test
+    void toCanonical_is_not_validated() {
+        assertThat(converter.toCanonical(new IbanIdent("DE88370400440532013000"))).isEqualTo("DE88370400440532013000");
+    }
+
+    @Test
+    void value_is_validated_while_parsing() {
+        DomainIdentCanonicalConverterSupportRegistry registry = new DomainIdentCanonicalConverterSupportRegistry();
+        registry.addSupport(converter);
+        DefaultDomainIdentCanonicalConverter domainIdentConverter = new DefaultDomainIdentCanonicalConverter(registry);
+
+        assertThat(domainIdentConverter.fromCanonical("iban(DE89370400440532013000)")).isEqualTo(new IbanIdent("DE89370400440532013000"));
+        assertThrows(CanonicalParseException.class, () -> domainIdentConverter.fromCanonical("iban(DE88370400440532013000)"));
+    }
+}
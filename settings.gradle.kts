@@ -1,3 +1,3 @@
 rootProject.name = "denom"
 
-include("denom-core", "denom-convert")
+include("denom-core", "denom-convert", "denom-processor", "denom-validation", "denom-jackson", "denom-benchmarks")